@@ -0,0 +1,115 @@
+package au.ellie.hyui.builders;
+
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging a template refresh of 500 labels into the existing builders, as {@code HyUInterface} does after
+ * re-parsing a template.
+ *
+ * <p>{@link #methodHandles()} is the copy behind the current {@link UIElementBuilder#applyTemplate}, done by
+ * {@link TemplateFieldCopier}. {@link #reflection()} is the previous implementation, which walked the class
+ * hierarchy and copied through {@link Field#get}/{@link Field#set} on every merge. It uses the copier's
+ * exclusions and skips transient fields, which did not exist back then, so both copy the same fields. Both
+ * return how many elements had a field change.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApplyTemplateBenchmark {
+
+    private static final int ELEMENTS = 500;
+
+    private final List<LabelBuilder> elements = new ArrayList<>(ELEMENTS);
+    private final List<LabelBuilder> templates = new ArrayList<>(ELEMENTS);
+
+    @Setup
+    public void setUp() {
+        GroupBuilder root = GroupBuilder.group();
+        for (int i = 0; i < ELEMENTS; i++) {
+            LabelBuilder element = label(i);
+            root.addChild(element);
+            elements.add(element);
+            templates.add(label(i));
+        }
+        // Built once, so only a changed value marks an element dirty again.
+        root.build(new UICommandBuilder(), null);
+    }
+
+    private static LabelBuilder label(int index) {
+        return LabelBuilder.label()
+                .withText("Row " + index)
+                .withStyle(new HyUIStyle().setTextColor("#ffffff").setFontSize(16))
+                .withAnchor(new HyUIAnchor().setHeight(24).setLeft(index))
+                .withPadding(HyUIPadding.all(4));
+    }
+
+    @Benchmark
+    public int methodHandles() {
+        int changed = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            LabelBuilder element = elements.get(i);
+            if (TemplateFieldCopier.of(element.getClass()).copy(element, templates.get(i))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    @Benchmark
+    public int reflection() {
+        int changed = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            if (copyReflectively(elements.get(i), templates.get(i))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean copyReflectively(UIElementBuilder<?> target, UIElementBuilder<?> template) {
+        boolean changed = false;
+        Class<?> type = target.getClass();
+        while (type != null && UIElementBuilder.class.isAssignableFrom(type)) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                if (TemplateFieldCopier.EXCLUSIONS.contains(field.getName())) {
+                    continue;
+                }
+                try {
+                    if (!field.canAccess(target)) {
+                        field.setAccessible(true);
+                    }
+                    Object value = field.get(template);
+                    if (!changed && !Objects.equals(field.get(target), value)) {
+                        changed = true;
+                    }
+                    field.set(target, value);
+                } catch (IllegalAccessException ignored) {
+                    // Skip fields we can't safely update.
+                }
+            }
+            if (type == UIElementBuilder.class) {
+                break;
+            }
+            type = type.getSuperclass();
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,78 @@
+package au.ellie.hyui.html;
+
+import au.ellie.hyui.builders.PageBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening a page from a {@link CompiledPage} compared with loading it with {@link PageBuilder#loadHtml}.
+ *
+ * <p>A compiled page caches the parsed and styled document; opening it still copies the document and runs the
+ * tag handlers. {@code loadHtml} caches the same document for static pages, so the static pair mostly measures
+ * the template compile and cache lookups. The rows pair uses {@code {{$variable}}} placeholders, which
+ * {@code loadHtml} renders and parses again on every open.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompiledPageBenchmark {
+
+    private static final String STATIC_PAGE = "Pages/HyUIHtmlTest.html";
+    private static final int ROWS = 100;
+
+    private CompiledPage compiledStaticPage;
+    private String rowsHtml;
+    private CompiledPage compiledRowsPage;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        compiledStaticPage = HyUIML.compile(STATIC_PAGE);
+
+        StringBuilder html = new StringBuilder();
+        html.append("<style>.row { anchor-height: 24; } .name { color: #ffffff; font-size: 16; }</style>");
+        html.append("<div class=\"container\">");
+        variables = new HashMap<>();
+        for (int i = 0; i < ROWS; i++) {
+            html.append("<div class=\"row\"><p class=\"name\">{{$name").append(i).append("}}</p>")
+                    .append("<p>{{$price").append(i).append("}}</p></div>");
+            variables.put("name" + i, "Item " + i);
+            variables.put("price" + i, i * 10);
+        }
+        html.append("</div>");
+        rowsHtml = html.toString();
+        compiledRowsPage = HyUIML.compileHtml(rowsHtml);
+        if (!compiledRowsPage.isDirect()) {
+            throw new IllegalStateException("The rows page should bind its placeholders directly");
+        }
+    }
+
+    @Benchmark
+    public PageBuilder staticLoadHtml() {
+        return PageBuilder.detachedPage().loadHtml(STATIC_PAGE);
+    }
+
+    @Benchmark
+    public PageBuilder staticFromCompiledPage() {
+        return PageBuilder.detachedPage().fromCompiledPage(compiledStaticPage);
+    }
+
+    @Benchmark
+    public PageBuilder rowsFromTemplate() {
+        return PageBuilder.detachedPage().fromTemplate(rowsHtml, variables);
+    }
+
+    @Benchmark
+    public PageBuilder rowsFromCompiledPage() {
+        return PageBuilder.detachedPage().fromCompiledPage(compiledRowsPage, variables);
+    }
+}
@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.events.UIEventActions;
@@ -12,9 +13,6 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -25,6 +23,25 @@ import java.util.function.Consumer;
 public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements 
         LayoutModeSupported<ButtonBuilder>,
         BackgroundSupported<ButtonBuilder> {
+    private static final StylePropertyFilter STYLE_FILTER = StylePropertyFilter.only(
+            "FontSize",
+            "RenderBold",
+            "RenderUppercase",
+            "TextColor",
+            "HorizontalAlignment",
+            "VerticalAlignment",
+            "Alignment",
+            "RenderItalics",
+            "FontName",
+            "Wrap",
+            "LetterSpacing",
+            "OutlineColor"
+    );
+    // The game theme's button styles fix the font size and alignment; only the plain button takes a text color.
+    private static final StylePropertyFilter GAME_THEME_BUTTON_STYLE_FILTER = STYLE_FILTER.without(
+            "FontSize", "Alignment", "HorizontalAlignment", "VerticalAlignment");
+    private static final StylePropertyFilter GAME_THEME_STYLE_FILTER = GAME_THEME_BUTTON_STYLE_FILTER.without("TextColor");
+
     private String text;
     private String layoutMode;
     private HyUIPatchStyle background;
@@ -168,6 +185,7 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
         if (elementPath.contains("BackButton"))
             return this;
         this.text = text;
+        markDirty();
         return this;
     }
 
@@ -189,6 +207,7 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
      */
     public ButtonBuilder withDisabled(boolean disabled) {
         this.disabled = disabled;
+        markDirty();
         return this;
     }
 
@@ -200,12 +219,14 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
      */
     public ButtonBuilder withOverscroll(boolean overscroll) {
         this.overscroll = overscroll;
+        markDirty();
         return this;
     }
 
     @Override
     public ButtonBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -217,6 +238,7 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
     @Override
     public ButtonBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -254,39 +276,14 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
     }
 
     @Override
-    protected boolean isStyleWhitelist() {
-        return true;
-    }
-
-    @Override
-    protected Set<String> getSupportedStyleProperties() {
+    protected StylePropertyFilter getStyleFilter() {
         if (isBackButton()) {
-            return Set.of();
+            return StylePropertyFilter.NONE;
         }
-        Set<String> supported = new HashSet<>(Set.of(
-                "FontSize",
-                "RenderBold",
-                "RenderUppercase",
-                "TextColor",
-                "HorizontalAlignment",
-                "VerticalAlignment",
-                "Alignment",
-                "RenderItalics",
-                "FontName",
-                "Wrap",
-                "LetterSpacing",
-                "OutlineColor"
-        ));
         if (this.theme == Theme.GAME_THEME) {
-            supported.remove("FontSize");
-            supported.remove("Alignment");
-            supported.remove("HorizontalAlignment");
-            supported.remove("VerticalAlignment");
-            if (!UIElements.BUTTON.equals(elementPath)) {
-                supported.remove("TextColor");
-            }
+            return UIElements.BUTTON.equals(elementPath) ? GAME_THEME_BUTTON_STYLE_FILTER : GAME_THEME_STYLE_FILTER;
         }
-        return Collections.unmodifiableSet(supported);
+        return STYLE_FILTER;
     }
 
     @Override
@@ -294,33 +291,44 @@ public class ButtonBuilder extends UIElementBuilder<ButtonBuilder> implements
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
 
-        if (text != null && isTextButtonElement()) {
-            HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
-            commands.set(selector + ".Text", text);
+        if (text != null && isTextButtonElement() && shouldSend(paths().path("Text"), text)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
+            }
+            commands.set(paths().path("Text"), text);
         }
 
-        if (disabled != null && !isBackButton()) {
-            HyUIPlugin.getLog().logFinest("Setting Disabled: " + disabled + " for " + selector);
-            commands.set(selector + ".Disabled", disabled);
+        if (disabled != null && !isBackButton() && shouldSend(paths().path("Disabled"), disabled)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Disabled: " + disabled + " for " + selector);
+            }
+            commands.set(paths().path("Disabled"), disabled);
         }
 
-        if (overscroll != null && isTextButtonElement()) {
-            HyUIPlugin.getLog().logFinest("Setting Overscroll: " + overscroll + " for " + selector);
-            commands.set(selector + ".Overscroll", overscroll);
+        if (overscroll != null && isTextButtonElement()
+                && shouldSend(paths().path("Overscroll"), overscroll)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Overscroll: " + overscroll + " for " + selector);
+            }
+            commands.set(paths().path("Overscroll"), overscroll);
         }
 
-        if (hyUIStyle == null && style != null && !isBackButton()) {
-            HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && !isBackButton() && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
 
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.Activating) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding Activating event binding: " + eventId + " for " + selector);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding Activating event binding: " + eventId + " for " + selector);
+                }
                 events.addEventBinding(CustomUIEventBindingType.Activating, selector, 
                         EventData.of("Action", UIEventActions.BUTTON_CLICKED)
                             .append("Target", eventId), 
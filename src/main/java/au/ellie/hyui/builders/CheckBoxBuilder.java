@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventActions;
 import au.ellie.hyui.elements.UIElements;
@@ -40,6 +41,7 @@ public class CheckBoxBuilder extends UIElementBuilder<CheckBoxBuilder> {
     public CheckBoxBuilder withValue(boolean value) {
         this.value = value;
         this.initialValue = value;
+        markDirty();
         return this;
     }
 
@@ -123,7 +125,9 @@ public class CheckBoxBuilder extends UIElementBuilder<CheckBoxBuilder> {
 
         if (value != null) {
             // For CheckBoxWithLabel, the actual CheckBox is a child
-            HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector + " #CheckBox");
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector + " #CheckBox");
+            }
             commands.set(selector + " #CheckBox.Value", value);
         }
 
@@ -132,9 +136,11 @@ public class CheckBoxBuilder extends UIElementBuilder<CheckBoxBuilder> {
             commands.set(selector + " Label.Text", text);
         }*/
 
-        if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -143,7 +149,9 @@ public class CheckBoxBuilder extends UIElementBuilder<CheckBoxBuilder> {
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.ValueChanged) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " #CheckBox with eventId: " + eventId);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " #CheckBox with eventId: " + eventId);
+                }
                 events.addEventBinding(CustomUIEventBindingType.ValueChanged, selector + " #CheckBox", 
                         EventData.of("@ValueBool", selector + " #CheckBox.Value")
                             .append("Target", eventId)
@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventActions;
 import au.ellie.hyui.elements.UIElements;
@@ -9,7 +10,6 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 
-import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -17,6 +17,8 @@ import java.util.function.Consumer;
  * Builder for creating ColorPicker UI element.
  */
 public class ColorPickerBuilder extends UIElementBuilder<ColorPickerBuilder> {
+    private static final StylePropertyFilter STYLE_FILTER = StylePropertyFilter.except("TextColor");
+
     private String value;
 
     /**
@@ -46,6 +48,7 @@ public class ColorPickerBuilder extends UIElementBuilder<ColorPickerBuilder> {
     public ColorPickerBuilder withValue(String hexColor) {
         this.value = hexColor;
         this.initialValue = hexColor;
+        markDirty();
         return this;
     }
 
@@ -95,8 +98,8 @@ public class ColorPickerBuilder extends UIElementBuilder<ColorPickerBuilder> {
     }
 
     @Override
-    protected Set<String> getUnsupportedStyleProperties() {
-        return Set.of("TextColor");
+    protected StylePropertyFilter getStyleFilter() {
+        return STYLE_FILTER;
     }
 
     @Override
@@ -105,13 +108,17 @@ public class ColorPickerBuilder extends UIElementBuilder<ColorPickerBuilder> {
         if (selector == null) return;
 
         if (value != null) {
-            HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
-            commands.set(selector + ".Value", value);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
+            }
+            commands.set(paths().path("Value"), value);
         }
 
-        if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -120,9 +127,11 @@ public class ColorPickerBuilder extends UIElementBuilder<ColorPickerBuilder> {
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.ValueChanged) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                }
                 events.addEventBinding(CustomUIEventBindingType.ValueChanged, selector, 
-                        EventData.of("@Value", selector + ".Value")
+                        EventData.of("@Value", paths().path("Value"))
                             .append("Target", eventId)
                             .append("Action", UIEventActions.VALUE_CHANGED), 
                         false);
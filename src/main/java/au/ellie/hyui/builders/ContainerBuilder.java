@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.elements.ScrollbarStyleSupported;
@@ -45,12 +46,14 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
      */
     public ContainerBuilder withTitleText(String titleText) {
         this.titleText = titleText;
+        markDirty();
         return this;
     }
 
     @Override
     public ContainerBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -62,6 +65,7 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
     @Override
     public ContainerBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -74,6 +78,7 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
     public ContainerBuilder withScrollbarStyle(String document, String styleReference) {
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -85,6 +90,7 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
      */
     public ContainerBuilder withClipChildren(boolean clipChildren) {
         this.clipChildren = clipChildren;
+        markDirty();
         return this;
     }
 
@@ -106,6 +112,7 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
     public ContainerBuilder addContentChild(UIElementBuilder<?> child) {
         child.inside("#Content");
         this.children.add(child);
+        markDirty();
         return this;
     }
     
@@ -117,6 +124,7 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
     public ContainerBuilder addTitleChild(UIElementBuilder<?> child) {
         child.inside("#Title");
         this.children.add(child);
+        markDirty();
         return this;
     }
     
@@ -130,17 +138,19 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
-        applyScrollbarStyle(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
+        sendScrollbarStyle(commands, selector);
 
-        if (clipChildren != null) {
-            commands.set(selector + ".ClipChildren", clipChildren);
+        if (clipChildren != null && shouldSend(paths().path("ClipChildren"), clipChildren)) {
+            commands.set(paths().path("ClipChildren"), clipChildren);
         }
 
-        if (titleText != null) {
-            String titleSelector = selector + " #Title #HyUIContainerTitle";
-            HyUIPlugin.getLog().logFinest("Setting Title Text: " + titleText + " for " + titleSelector);
+        String titleSelector = selector + " #Title #HyUIContainerTitle";
+        if (titleText != null && shouldSend(titleSelector + ".Text", titleText)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Title Text: " + titleText + " for " + titleSelector);
+            }
             commands.set(titleSelector + ".Text", titleText);
         }
     }
@@ -150,7 +160,12 @@ public class ContainerBuilder extends UIElementBuilder<ContainerBuilder> impleme
         String selector = getSelector();
         if (selector != null) {
             for (UIElementBuilder<?> child : children) {
-                HyUIPlugin.getLog().logFinest("Building child element with parent selector: " + child.parentSelector);
+                if (updateOnly && child.isClean()) {
+                    continue;
+                }
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Building child element with parent selector: " + child.parentSelector);
+                }
                 // We want to make sure children can be placed in #Title or #Content.
                 // UIElementBuilder.inside() sets parentSelector.
                 String childParent = child.parentSelector;
@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.elements.UIElements;
 import au.ellie.hyui.events.UIContext;
@@ -10,6 +11,8 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -62,22 +65,26 @@ public class CustomButtonBuilder extends UIElementBuilder<CustomButtonBuilder>
         if (buttonType == ButtonType.TEXT_BUTTON) {
             this.text = text;
         }
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withDisabled(boolean disabled) {
         this.disabled = disabled;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withOverscroll(boolean overscroll) {
         this.overscroll = overscroll;
+        markDirty();
         return this;
     }
 
     @Override
     public CustomButtonBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -88,41 +95,49 @@ public class CustomButtonBuilder extends UIElementBuilder<CustomButtonBuilder>
 
     public CustomButtonBuilder withDefaultBackground(HyUIPatchStyle background) {
         this.defaultBackground = background;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withHoveredBackground(HyUIPatchStyle background) {
         this.hoveredBackground = background;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withPressedBackground(HyUIPatchStyle background) {
         this.pressedBackground = background;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withDisabledBackground(HyUIPatchStyle background) {
         this.disabledBackground = background;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withDefaultLabelStyle(HyUIStyle style) {
         this.defaultLabelStyle = style;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withHoveredLabelStyle(HyUIStyle style) {
         this.hoveredLabelStyle = style;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withPressedLabelStyle(HyUIStyle style) {
         this.pressedLabelStyle = style;
+        markDirty();
         return this;
     }
 
     public CustomButtonBuilder withDisabledLabelStyle(HyUIStyle style) {
         this.disabledLabelStyle = style;
+        markDirty();
         return this;
     }
 
@@ -144,6 +159,20 @@ public class CustomButtonBuilder extends UIElementBuilder<CustomButtonBuilder>
         return true;
     }
 
+    @Override
+    List<Object> markupInputs() {
+        List<Object> inputs = super.markupInputs();
+        for (HyUIPatchStyle background : Arrays.asList(defaultBackground, hoveredBackground, pressedBackground,
+                disabledBackground)) {
+            inputs.add(background != null ? background.snapshot() : null);
+        }
+        for (HyUIStyle labelStyle : Arrays.asList(defaultLabelStyle, hoveredLabelStyle, pressedLabelStyle,
+                disabledLabelStyle)) {
+            inputs.add(labelStyle != null ? labelStyle.copy() : null);
+        }
+        return inputs;
+    }
+
     @Override
     protected String generateCustomInlineContent() {
         StringBuilder sb = new StringBuilder();
@@ -196,28 +225,37 @@ public class CustomButtonBuilder extends UIElementBuilder<CustomButtonBuilder>
         if (selector == null) return;
 
         if (buttonType == ButtonType.BUTTON) {
-            applyLayoutMode(commands, selector);
+            sendLayoutMode(commands, selector);
         }
 
-        if (buttonType == ButtonType.TEXT_BUTTON && text != null) {
-            HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
-            commands.set(selector + ".Text", text);
+        if (buttonType == ButtonType.TEXT_BUTTON && text != null && shouldSend(paths().path("Text"), text)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
+            }
+            commands.set(paths().path("Text"), text);
         }
 
-        if (disabled != null) {
-            HyUIPlugin.getLog().logFinest("Setting Disabled: " + disabled + " for " + selector);
-            commands.set(selector + ".Disabled", disabled);
+        if (disabled != null && shouldSend(paths().path("Disabled"), disabled)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Disabled: " + disabled + " for " + selector);
+            }
+            commands.set(paths().path("Disabled"), disabled);
         }
 
-        if (overscroll != null && buttonType == ButtonType.TEXT_BUTTON) {
-            HyUIPlugin.getLog().logFinest("Setting Overscroll: " + overscroll + " for " + selector);
-            commands.set(selector + ".Overscroll", overscroll);
+        if (overscroll != null && buttonType == ButtonType.TEXT_BUTTON
+                && shouldSend(paths().path("Overscroll"), overscroll)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Overscroll: " + overscroll + " for " + selector);
+            }
+            commands.set(paths().path("Overscroll"), overscroll);
         }
 
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.Activating) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding Activating event binding: " + eventId + " for " + selector);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding Activating event binding: " + eventId + " for " + selector);
+                }
                 events.addEventBinding(CustomUIEventBindingType.Activating, selector,
                         EventData.of("Action", UIEventActions.BUTTON_CLICKED)
                                 .append("Target", eventId),
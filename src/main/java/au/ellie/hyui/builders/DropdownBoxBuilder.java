@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.UIElements;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventActions;
@@ -56,41 +57,49 @@ public class DropdownBoxBuilder extends UIElementBuilder<DropdownBoxBuilder> {
     public DropdownBoxBuilder withValue(String value) {
         this.value = value;
         this.initialValue = value;
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder withAllowUnselection(boolean allowUnselection) {
         this.allowUnselection = allowUnselection;
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder withMaxSelection(int maxSelection) {
         this.maxSelection = maxSelection;
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder withEntryHeight(int entryHeight) {
         this.entryHeight = entryHeight;
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder withShowLabel(boolean showLabel) {
         this.showLabel = showLabel;
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder withEntries(java.util.List<DropdownEntryInfo> entries) {
         this.entries = new java.util.ArrayList<>(entries);
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder addEntry(DropdownEntryInfo entry) {
         this.entries.add(entry);
+        markDirty();
         return this;
     }
 
     public DropdownBoxBuilder addEntry(String name, String label) {
         this.entries.add(new DropdownEntryInfo(LocalizableString.fromString(label), name));
+        markDirty();
         return this;
     }
 
@@ -127,28 +136,40 @@ public class DropdownBoxBuilder extends UIElementBuilder<DropdownBoxBuilder> {
         if (selector == null) return;
 
         if (value != null) {
-            HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
-            commands.set(selector + ".Value", value);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
+            }
+            commands.set(paths().path("Value"), value);
         }
-        if (allowUnselection != null) {
-            HyUIPlugin.getLog().logFinest("Setting AllowUnselection: " + allowUnselection + " for " + selector);
-            commands.set(selector + ".AllowUnselection", allowUnselection);
+        if (allowUnselection != null && shouldSend(paths().path("AllowUnselection"), allowUnselection)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting AllowUnselection: " + allowUnselection + " for " + selector);
+            }
+            commands.set(paths().path("AllowUnselection"), allowUnselection);
         }
-        if (maxSelection != null) {
-            HyUIPlugin.getLog().logFinest("Setting MaxSelection: " + maxSelection + " for " + selector);
-            commands.set(selector + ".MaxSelection", maxSelection);
+        if (maxSelection != null && shouldSend(paths().path("MaxSelection"), maxSelection)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting MaxSelection: " + maxSelection + " for " + selector);
+            }
+            commands.set(paths().path("MaxSelection"), maxSelection);
         }
-        if (entryHeight != null) {
-            HyUIPlugin.getLog().logFinest("Setting EntryHeight: " + entryHeight + " for " + selector);
-            commands.set(selector + ".EntryHeight", entryHeight);
+        if (entryHeight != null && shouldSend(paths().path("EntryHeight"), entryHeight)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting EntryHeight: " + entryHeight + " for " + selector);
+            }
+            commands.set(paths().path("EntryHeight"), entryHeight);
         }
-        if (showLabel != null) {
-            HyUIPlugin.getLog().logFinest("Setting ShowLabel: " + showLabel + " for " + selector);
-            commands.set(selector + ".ShowLabel", showLabel);
+        if (showLabel != null && shouldSend(paths().path("ShowLabel"), showLabel)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ShowLabel: " + showLabel + " for " + selector);
+            }
+            commands.set(paths().path("ShowLabel"), showLabel);
         }
         if (!entries.isEmpty()) {
-            HyUIPlugin.getLog().logFinest("Setting Entries for " + selector);
-            commands.set(selector + ".Entries", entries);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Entries for " + selector);
+            }
+            commands.set(paths().path("Entries"), entries);
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -158,7 +179,7 @@ public class DropdownBoxBuilder extends UIElementBuilder<DropdownBoxBuilder> {
             if (listener.type() == CustomUIEventBindingType.ValueChanged) {
                 String eventId = getEffectiveId();
                 events.addEventBinding(CustomUIEventBindingType.ValueChanged, selector,
-                        EventData.of("@Value", selector + ".Value")
+                        EventData.of("@Value", paths().path("Value"))
                                 .append("Target", eventId)
                                 .append("Action", UIEventActions.VALUE_CHANGED),
                         false);
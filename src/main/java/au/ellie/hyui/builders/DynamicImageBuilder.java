@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.assets.DynamicImageAsset;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.LayoutModeSupported;
@@ -38,6 +39,7 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
 
     public DynamicImageBuilder withImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
+        markDirty();
         return this;
     }
 
@@ -52,6 +54,7 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
         texturePath = texturePath.replace("UI/Custom/", "");
         this.background.setTexturePath(texturePath);
         this.imagePathAssigned = true;
+        markDirty();
         return this;
     }
 
@@ -75,10 +78,12 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
         }
         slotIndexes.clear();
         this.imagePathAssigned = false;
+        markDirty();
     }
 
     public void invalidateImage(UUID playerUuid) {
         releaseSlotForPlayer(playerUuid);
+        markDirty();
     }
 
     public void releaseSlotForPlayer(UUID playerUuid) {
@@ -107,6 +112,7 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
     @Override
     public DynamicImageBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -118,6 +124,7 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
     @Override
     public DynamicImageBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -130,6 +137,7 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
     public DynamicImageBuilder withScrollbarStyle(String document, String styleReference) {
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -149,13 +157,17 @@ public class DynamicImageBuilder extends UIElementBuilder<DynamicImageBuilder>
         if (selector == null) return;
 
         if (imageUrl != null && !imageUrl.isBlank()) {
-            HyUIPlugin.getLog().logFinest("Building dynamic image with URL: " + imageUrl);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Building dynamic image with URL: " + imageUrl);
+            }
         } else if (this.background != null) {
-            HyUIPlugin.getLog().logFinest("Building dynamic image from path: " + this.background.getTexturePath());
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Building dynamic image from path: " + this.background.getTexturePath());
+            }
         }
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
-        applyScrollbarStyle(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
+        sendScrollbarStyle(commands, selector);
     }
 
     @Override
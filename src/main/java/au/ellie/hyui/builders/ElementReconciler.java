@@ -0,0 +1,238 @@
+package au.ellie.hyui.builders;
+
+import au.ellie.hyui.html.TemplateDocument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Merges the elements of a re-rendered template into the elements already on the client.
+ *
+ * <p>Elements are matched by their {@code key}, then by their id, then in order among unnamed elements of the
+ * same type. Matched elements keep their builder and only send what changed. New elements are scheduled to be
+ * inserted in front of the next sibling that stays in place, and unmatched old elements are scheduled for
+ * removal. Of the matched elements, the longest run that is still in the same relative order stays put; the
+ * others are removed and inserted again at their new position.</p>
+ */
+final class ElementReconciler {
+
+    /**
+     * Merges elements a {@link TemplateDocument} parsed again on their own into their current builders.
+     */
+    static final TemplateDocument.Merger TEMPLATE_MERGER = new TemplateDocument.Merger() {
+        @Override
+        public boolean canMerge(UIElementBuilder<?> current, UIElementBuilder<?> updated) {
+            return ElementReconciler.canMerge(current, updated);
+        }
+
+        @Override
+        public UnaryOperator<UIElementBuilder<?>> merge(UIElementBuilder<?> current, UIElementBuilder<?> updated) {
+            Map<UIElementBuilder<?>, UIElementBuilder<?>> matched = new IdentityHashMap<>();
+            ElementReconciler.merge(current, updated, matched::put);
+            return resolver(matched, List.of(current));
+        }
+    };
+
+    private ElementReconciler() {
+    }
+
+    /**
+     * @param current  The elements from the previous render
+     * @param updated  The elements from the new render
+     * @param owner    The element the lists belong to, or null for the top level
+     * @param removals Receives the root selector of every element that has to be removed from the client
+     * @param matched  Receives every updated element that was merged into an element of {@code current},
+     *                 together with that element
+     * @return The merged list, reusing builders from {@code current} where they match
+     */
+    static List<UIElementBuilder<?>> reconcile(List<UIElementBuilder<?>> current,
+                                              List<UIElementBuilder<?>> updated,
+                                              UIElementBuilder<?> owner,
+                                              Consumer<String> removals,
+                                              BiConsumer<UIElementBuilder<?>, UIElementBuilder<?>> matched) {
+        Map<String, Integer> currentByKey = new HashMap<>();
+        Map<Class<?>, ArrayDeque<Integer>> currentUnnamed = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) {
+            UIElementBuilder<?> element = current.get(i);
+            String key = matchKey(element);
+            if (key != null) {
+                currentByKey.putIfAbsent(key, i);
+            } else {
+                currentUnnamed.computeIfAbsent(element.getClass(), k -> new ArrayDeque<>()).add(i);
+            }
+        }
+
+        int size = updated.size();
+        List<UIElementBuilder<?>> merged = new ArrayList<>(size);
+        int[] previousIndex = new int[size];
+        boolean[] reused = new boolean[current.size()];
+        for (int i = 0; i < size; i++) {
+            UIElementBuilder<?> next = updated.get(i);
+            String key = matchKey(next);
+            Integer match;
+            if (key != null) {
+                match = currentByKey.remove(key);
+            } else {
+                ArrayDeque<Integer> candidates = currentUnnamed.get(next.getClass());
+                match = candidates != null ? candidates.poll() : null;
+            }
+
+            UIElementBuilder<?> element = match != null ? current.get(match) : null;
+            if (element != null && element.getClass().equals(next.getClass())) {
+                reused[match] = true;
+                previousIndex[i] = match;
+                String rootSelector = element.getRootSelector();
+                merge(element, next, matched);
+                if (!rootSelector.equals(element.getRootSelector())) {
+                    // Wrapping changed, so the node on the client no longer fits.
+                    removals.accept(rootSelector);
+                    previousIndex[i] = -1;
+                }
+                merged.add(element);
+            } else {
+                previousIndex[i] = -1;
+                merged.add(next);
+            }
+        }
+
+        for (int i = 0; i < current.size(); i++) {
+            if (!reused[i]) {
+                removals.accept(current.get(i).getRootSelector());
+            }
+        }
+
+        boolean[] stable = longestIncreasingRun(previousIndex);
+        for (int i = 0; i < size; i++) {
+            if (previousIndex[i] >= 0 && !stable[i]) {
+                removals.accept(merged.get(i).getRootSelector());
+            }
+        }
+
+        // Walk backwards so each inserted element knows the next sibling that is already in place.
+        Map<String, String> nextStableSibling = new HashMap<>();
+        for (int i = size - 1; i >= 0; i--) {
+            UIElementBuilder<?> element = merged.get(i);
+            String parentSelector = Objects.requireNonNullElse(element.parentSelector, "");
+            if (stable[i]) {
+                nextStableSibling.put(parentSelector, element.getRootSelector());
+            } else {
+                element.scheduleInsert(nextStableSibling.get(parentSelector), owner);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Whether an element parsed again on its own can be merged into its current builder in place, i.e. the
+     * full merge would have matched them and kept the node on the client.
+     */
+    static boolean canMerge(UIElementBuilder<?> current, UIElementBuilder<?> updated) {
+        return current.getClass().equals(updated.getClass())
+                && Objects.equals(matchKey(current), matchKey(updated))
+                && current.wrapInGroup == updated.wrapInGroup;
+    }
+
+    /**
+     * Copies the template values of {@code next} into {@code element} and reconciles their children.
+     */
+    static void merge(UIElementBuilder<?> element, UIElementBuilder<?> next,
+                      BiConsumer<UIElementBuilder<?>, UIElementBuilder<?>> matched) {
+        matched.accept(next, element);
+        element.applyTemplate(next);
+        if (!element.preserveChildrenOnTemplateMerge()) {
+            List<UIElementBuilder<?>> children = reconcile(element.children, next.children, element,
+                    element::scheduleRemoval, matched);
+            element.children.clear();
+            element.children.addAll(children);
+        }
+    }
+
+    /**
+     * Resolves the builders of a parsed template to the ones that ended up in the interface after merging.
+     *
+     * @param matched Maps each parsed builder that was merged to the builder it was merged into
+     * @param roots   The merged elements
+     * @return Maps a parsed builder to its merged builder, to itself if it was added as is, or to null if it is
+     *         not part of {@code roots}, e.g. a label a button took its text from
+     */
+    static UnaryOperator<UIElementBuilder<?>> resolver(Map<UIElementBuilder<?>, UIElementBuilder<?>> matched,
+                                                       List<UIElementBuilder<?>> roots) {
+        Set<UIElementBuilder<?>> merged = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<UIElementBuilder<?>> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            UIElementBuilder<?> element = pending.poll();
+            if (merged.add(element)) {
+                pending.addAll(element.children);
+            }
+        }
+        return parsed -> {
+            UIElementBuilder<?> element = matched.getOrDefault(parsed, parsed);
+            return merged.contains(element) ? element : null;
+        };
+    }
+
+    /**
+     * Marks the positions that form the longest strictly increasing run of previous indices. Those elements
+     * kept their relative order and do not need to move. Positions of {@code -1} are new and never stable.
+     */
+    static boolean[] longestIncreasingRun(int[] previousIndex) {
+        int size = previousIndex.length;
+        int[] tails = new int[size];
+        int[] predecessor = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            if (previousIndex[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (previousIndex[tails[mid]] < previousIndex[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            predecessor[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] stable = new boolean[size];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessor[i]) {
+            stable[i] = true;
+        }
+        return stable;
+    }
+
+    /**
+     * An explicit key wins; otherwise an id given by the author identifies the element.
+     */
+    private static String matchKey(UIElementBuilder<?> element) {
+        String key = element.getKey();
+        if (key != null && !key.isBlank()) {
+            return "key:" + key;
+        }
+
+        String userId = element.getId();
+        String effectiveId = element.getEffectiveId();
+        if (userId == null || userId.isBlank() || effectiveId == null || effectiveId.isBlank()
+                || userId.equals(effectiveId)) {
+            return null;
+        }
+        return "id:" + userId;
+    }
+}
@@ -50,6 +50,7 @@ public class GroupBuilder extends UIElementBuilder<GroupBuilder> implements
     @Override
     public GroupBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
     
@@ -61,6 +62,7 @@ public class GroupBuilder extends UIElementBuilder<GroupBuilder> implements
     @Override
     public GroupBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -73,6 +75,7 @@ public class GroupBuilder extends UIElementBuilder<GroupBuilder> implements
     public GroupBuilder withScrollbarStyle(String document, String styleReference) {
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -84,6 +87,7 @@ public class GroupBuilder extends UIElementBuilder<GroupBuilder> implements
      */
     public GroupBuilder withClipChildren(boolean clipChildren) {
         this.clipChildren = clipChildren;
+        markDirty();
         return this;
     }
 
@@ -107,12 +111,12 @@ public class GroupBuilder extends UIElementBuilder<GroupBuilder> implements
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
-        applyScrollbarStyle(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
+        sendScrollbarStyle(commands, selector);
 
-        if (clipChildren != null) {
-            commands.set(selector + ".ClipChildren", clipChildren);
+        if (clipChildren != null && shouldSend(paths().path("ClipChildren"), clipChildren)) {
+            commands.set(paths().path("ClipChildren"), clipChildren);
         }
 
     }
@@ -1,14 +1,13 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 public class HudBuilder extends InterfaceBuilder<HudBuilder> {
@@ -16,7 +15,6 @@ public class HudBuilder extends InterfaceBuilder<HudBuilder> {
     private long refreshRateMs = 0;
     private Consumer<HyUIHud> refreshListener;
     private HyUIHud lastHud;
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
     public HudBuilder(PlayerRef playerRef) {
         this.playerRef = playerRef;
@@ -42,6 +40,7 @@ public class HudBuilder extends InterfaceBuilder<HudBuilder> {
 
     /**
      * Registers a callback to be triggered when the HUD is refreshed.
+     * The callback runs on a HyUI worker thread, never while a previous refresh of the same HUD is still running.
      *
      * @param listener The listener callback.
      * @return The HudBuilder instance.
@@ -102,7 +101,9 @@ public class HudBuilder extends InterfaceBuilder<HudBuilder> {
         this.lastHud = new HyUIHud(name, playerRefParam, uiFile, getTopLevelElements(), editCallbacks, templateHtml, templateProcessor, runtimeTemplateUpdatesEnabled);
         this.lastHud.setRefreshRateMs(refreshRateMs);
         this.lastHud.setRefreshListener(refreshListener);
-        HyUIPlugin.getLog().logFinest("Adding to a MultiHud: " + name);
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("Adding to a MultiHud: " + name);
+        }
 
         // Show it.
         this.lastHud.add();
@@ -0,0 +1,436 @@
+package au.ellie.hyui.builders;
+
+import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes HUDs that refresh periodically.
+ *
+ * <p>HUDs are kept on a hashed timing wheel: a ring of buckets, one per tick. A HUD sits in the bucket of the
+ * tick it is next due on, so each tick only looks at the HUDs that are due then or a whole turn of the wheel
+ * later, and a HUD is woken once per refresh period rather than polled. HUDs without a refresh rate are never
+ * registered. The thread parks while nothing is registered.</p>
+ *
+ * <p>The HUDs due on a tick are grouped by the world their player is in. Their refresh listeners run on a
+ * pool of worker threads, see {@link #useWorkerThreads(int)} and {@link #useVirtualThreads()}. HUDs are then
+ * re-rendered on the world thread, and the HUDs of a world whose listeners finish together share one world
+ * task, so a slow listener only delays its own HUD. A HUD whose previous refresh has not finished yet skips
+ * the tick, so the refreshes of one HUD never overlap.</p>
+ *
+ * <p>{@link #getQueueDepth()} and {@link #getListenerTimings()} help to find slow refresh listeners.</p>
+ */
+public final class HudRefreshScheduler {
+
+    /**
+     * Resolution of the wheel. Refresh periods are rounded up to a whole number of ticks.
+     */
+    static final long TICK_MS = 50;
+    private static final int WHEEL_SIZE = 512;
+
+    private static final HudRefreshScheduler SHARED = new HudRefreshScheduler();
+
+    private static final Object EXECUTOR_LOCK = new Object();
+    private static ExecutorService executor;
+    private static final AtomicInteger queued = new AtomicInteger();
+
+    private final long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Registration>[] wheel = new ArrayDeque[WHEEL_SIZE];
+    private final Queue<Registration> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Registration> active = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private Thread worker;
+
+    // Only touched by the scheduler thread.
+    private long startNanos;
+    private long tick;
+    private int registered;
+
+    private HudRefreshScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    static HudRefreshScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs refresh listeners on a fixed pool of platform threads. By default the pool has one thread per two
+     * processors, and at least two.
+     *
+     * @param threads The number of worker threads
+     */
+    public static void useWorkerThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        replaceExecutor(Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "HyUI-HudRefresh-Worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Runs each refresh listener on its own virtual thread. Suits listeners that mostly wait on I/O.
+     */
+    public static void useVirtualThreads() {
+        replaceExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("HyUI-HudRefresh-Virtual-", 1).factory()));
+    }
+
+    /**
+     * @return The number of refresh listeners waiting for a worker thread.
+     */
+    public static int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return How long the refresh listener of every scheduled HUD has taken, slowest first.
+     */
+    public static List<ListenerTiming> getListenerTimings() {
+        List<ListenerTiming> timings = new ArrayList<>();
+        for (Registration registration : SHARED.active) {
+            if (!registration.cancelled) {
+                timings.add(registration.hud.getRefreshTiming());
+            }
+        }
+        timings.sort(Comparator.comparingLong(ListenerTiming::maxNanos).reversed());
+        return timings;
+    }
+
+    private static void replaceExecutor(ExecutorService replacement) {
+        ExecutorService previous;
+        synchronized (EXECUTOR_LOCK) {
+            previous = executor;
+            executor = replacement;
+        }
+        if (previous != null) {
+            // Listeners already submitted still run.
+            previous.shutdown();
+        }
+    }
+
+    private static ExecutorService executor() {
+        synchronized (EXECUTOR_LOCK) {
+            if (executor == null) {
+                useWorkerThreads(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Starts waking the HUD every {@code periodMs}, the first time one period from now.
+     *
+     * @return The registration, or null if the period is not positive.
+     */
+    Registration schedule(HyUIHud hud, long periodMs) {
+        if (periodMs <= 0) {
+            return null;
+        }
+        Registration registration = new Registration(hud, Math.max(1, (periodMs + TICK_MS - 1) / TICK_MS));
+        pending.add(registration);
+        active.add(registration);
+        Thread thread;
+        synchronized (lock) {
+            if (worker == null) {
+                worker = new Thread(this::run, "HyUI-HudRefresh");
+                worker.setDaemon(true);
+                worker.start();
+            }
+            thread = worker;
+        }
+        LockSupport.unpark(thread);
+        return registration;
+    }
+
+    private void run() {
+        startNanos = System.nanoTime();
+        while (true) {
+            drainPending();
+            if (registered == 0) {
+                LockSupport.park(this);
+                // Pick up from the current time instead of catching up on the ticks spent parked.
+                startNanos = System.nanoTime() - tick * tickNanos;
+                continue;
+            }
+
+            long wait = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+
+            tick++;
+            drainPending();
+            fire(wheel[(int) (tick & (WHEEL_SIZE - 1))]);
+        }
+    }
+
+    private void drainPending() {
+        Registration registration;
+        while ((registration = pending.poll()) != null) {
+            if (registration.cancelled) {
+                active.remove(registration);
+            } else {
+                registration.deadline = tick + registration.periodTicks;
+                place(registration);
+                registered++;
+            }
+        }
+    }
+
+    private void fire(ArrayDeque<Registration> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        Map<World, List<HyUIHud>> due = new HashMap<>();
+        for (int i = bucket.size(); i > 0; i--) {
+            Registration registration = bucket.poll();
+            if (registration.cancelled) {
+                drop(registration);
+                continue;
+            }
+            if (registration.deadline > tick) {
+                // Due on a later turn of the wheel.
+                bucket.add(registration);
+                continue;
+            }
+
+            boolean keep;
+            try {
+                keep = registration.hud.checkRefreshes(due);
+            } catch (RuntimeException e) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("HUD refresh failed, no longer refreshing it: " + e);
+                }
+                keep = false;
+            }
+            if (!keep || registration.cancelled) {
+                registration.cancelled = true;
+                drop(registration);
+                continue;
+            }
+
+            registration.deadline = tick + registration.periodTicks;
+            place(registration);
+        }
+
+        for (Map.Entry<World, List<HyUIHud>> entry : due.entrySet()) {
+            dispatch(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void place(Registration registration) {
+        wheel[(int) (registration.deadline & (WHEEL_SIZE - 1))].add(registration);
+    }
+
+    private void drop(Registration registration) {
+        registered--;
+        active.remove(registration);
+    }
+
+    /**
+     * Runs the refresh listeners of a world's due HUDs on the worker threads. HUDs are re-rendered on the world
+     * thread as their listeners finish; those that finish together share one world task.
+     */
+    private static void dispatch(World world, List<HyUIHud> huds) {
+        WorldBatch batch = new WorldBatch(world);
+        for (HyUIHud hud : huds) {
+            if (!hud.hasRefreshListener()) {
+                batch.ready.add(hud);
+                continue;
+            }
+            submit(() -> {
+                try {
+                    runListener(hud);
+                } finally {
+                    // Even if the listener threw an Error, the HUD must reach finishRefresh or it never refreshes again.
+                    hud.finishListener();
+                    batch.ready.add(hud);
+                    batch.flush();
+                }
+            });
+        }
+        batch.flush();
+    }
+
+    /**
+     * Hands a refresh listener to the worker threads. Listeners never run on the wheel thread, where a slow
+     * one would hold up every HUD.
+     */
+    private static void submit(Runnable refresh) {
+        Runnable task = () -> {
+            queued.decrementAndGet();
+            refresh.run();
+        };
+        queued.incrementAndGet();
+        ExecutorService rejecting = null;
+        while (true) {
+            ExecutorService current = executor();
+            if (current == rejecting) {
+                // Rejected without being replaced; give the listener a thread of its own.
+                Thread.ofVirtual().name("HyUI-HudRefresh-Fallback").start(task);
+                return;
+            }
+            try {
+                current.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                // The executor was replaced while submitting; try the new one.
+                rejecting = current;
+            }
+        }
+    }
+
+    private static void runListener(HyUIHud hud) {
+        long start = System.nanoTime();
+        try {
+            hud.triggerRefresh();
+        } catch (RuntimeException e) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("HUD refresh listener failed: " + e);
+            }
+        } finally {
+            hud.recordRefresh(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The HUDs of one world that are ready to be re-rendered. At most one world task is pending at a time and
+     * renders every HUD that is ready by the time it runs.
+     */
+    private static final class WorldBatch {
+        private final World world;
+        private final Queue<HyUIHud> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private WorldBatch(World world) {
+            this.world = world;
+        }
+
+        private void flush() {
+            if (ready.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            boolean queued = false;
+            try {
+                world.execute(this::render);
+                queued = true;
+            } catch (RuntimeException e) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Could not refresh HUDs on their world: " + e);
+                }
+            } finally {
+                if (!queued) {
+                    scheduled.set(false);
+                    release();
+                }
+            }
+        }
+
+        private void render() {
+            // Cleared first, so a HUD added while rendering either gets polled below or schedules a new task.
+            scheduled.set(false);
+            boolean completed = false;
+            try {
+                HyUIHud hud;
+                while ((hud = ready.poll()) != null) {
+                    try {
+                        hud.renderRefresh();
+                    } catch (RuntimeException e) {
+                        // Keep refreshing the other HUDs of the world.
+                        if (HyUIPluginLogger.IS_DEV) {
+                            HyUIPlugin.getLog().logFinest("HUD refresh failed: " + e);
+                        }
+                    } finally {
+                        hud.finishRefresh(world);
+                    }
+                }
+                // Send the refreshes now, merged with anything else queued for the world this tick.
+                HudUpdateCoalescer.flush(world);
+                completed = true;
+            } finally {
+                if (!completed) {
+                    // An Error got through; let the HUDs still waiting refresh again on their next period.
+                    release();
+                }
+            }
+        }
+
+        private void release() {
+            HyUIHud hud;
+            while ((hud = ready.poll()) != null) {
+                hud.finishRefresh(world);
+            }
+        }
+    }
+
+    /**
+     * A HUD's place on the wheel.
+     */
+    static final class Registration {
+        private final HyUIHud hud;
+        private final long periodTicks;
+        private long deadline;
+        private volatile boolean cancelled;
+
+        private Registration(HyUIHud hud, long periodTicks) {
+            this.hud = hud;
+            this.periodTicks = periodTicks;
+        }
+
+        /**
+         * Stops waking the HUD. It is dropped from the wheel the next time its bucket comes round.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * How long a HUD's refresh listener has taken so far.
+     *
+     * @param hudName    The name of the HUD
+     * @param refreshes  The number of times the listener ran
+     * @param totalNanos The time spent in the listener over all runs
+     * @param maxNanos   The longest single run
+     */
+    public record ListenerTiming(String hudName, long refreshes, long totalNanos, long maxNanos) {
+
+        /**
+         * @return The average time of one run, or 0 if the listener never ran.
+         */
+        public long averageNanos() {
+            return refreshes == 0 ? 0 : totalNanos / refreshes;
+        }
+    }
+}
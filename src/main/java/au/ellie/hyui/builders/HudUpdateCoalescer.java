@@ -0,0 +1,133 @@
+package au.ellie.hyui.builders;
+
+import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the HUD updates requested during a tick and sends them together from the world thread.
+ *
+ * <p>Game code often changes a HUD several times per tick, for example once per stat that changed. Each
+ * request only marks the HUD; the first one of a tick schedules a flush on the world thread. The flush runs
+ * one update pass per HUD, which sends every change made since the last one, and merges the passes of all of
+ * a player's HUDs into a single packet. HUDs that need a full re-render are re-rendered once, however often it
+ * was requested.</p>
+ *
+ * <p>There is one pending instance per world at a time. {@link #request} may be called from any thread. HUDs
+ * removed before the flush are skipped.</p>
+ */
+final class HudUpdateCoalescer {
+
+    private static final Map<World, HudUpdateCoalescer> PENDING = new ConcurrentHashMap<>();
+
+    private final World world;
+    /**
+     * HUDs with pending changes, in the order they were first requested, and whether they need a re-render.
+     */
+    private final Map<HyUIHud, Boolean> huds = new LinkedHashMap<>();
+    private boolean flushed;
+
+    private HudUpdateCoalescer(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Queues an update of the HUD, sent at the end of the current tick of its player's world.
+     *
+     * @param hud      The HUD that changed
+     * @param world    The world the HUD's player is in
+     * @param rerender true to re-render the HUD from scratch instead of sending its changes
+     */
+    static void request(HyUIHud hud, World world, boolean rerender) {
+        while (true) {
+            HudUpdateCoalescer created = new HudUpdateCoalescer(world);
+            HudUpdateCoalescer existing = PENDING.putIfAbsent(world, created);
+            HudUpdateCoalescer coalescer = existing != null ? existing : created;
+            if (!coalescer.add(hud, rerender)) {
+                // Flushed while we were adding; the next one picks the request up.
+                continue;
+            }
+            if (coalescer == created) {
+                try {
+                    world.execute(created::flush);
+                } catch (RuntimeException e) {
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Could not send HUD updates on their world: " + e);
+                    }
+                    PENDING.remove(world, created);
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * Sends the updates queued for the world right away. Must be called on the world thread.
+     */
+    static void flush(World world) {
+        HudUpdateCoalescer coalescer = PENDING.get(world);
+        if (coalescer != null) {
+            coalescer.flush();
+        }
+    }
+
+    private synchronized boolean add(HyUIHud hud, boolean rerender) {
+        if (flushed) {
+            return false;
+        }
+        huds.merge(hud, rerender, Boolean::logicalOr);
+        return true;
+    }
+
+    private void flush() {
+        // Removed first, so requests made while flushing either land in the snapshot or start a new batch.
+        PENDING.remove(world, this);
+        List<Map.Entry<HyUIHud, Boolean>> pending;
+        synchronized (this) {
+            if (flushed) {
+                return;
+            }
+            flushed = true;
+            pending = new ArrayList<>(huds.entrySet());
+        }
+
+        Map<UUID, List<HyUIHud>> updatesByPlayer = new LinkedHashMap<>();
+        for (Map.Entry<HyUIHud, Boolean> entry : pending) {
+            HyUIHud hud = entry.getKey();
+            if (hud.isRemoved()) {
+                continue; // Removed since the request; updating it would show it again.
+            }
+            World current = hud.getPlayerWorld();
+            if (current == null) {
+                continue; // The player left.
+            }
+            if (current != world) {
+                // The player changed worlds since the request.
+                request(hud, current, entry.getValue());
+            } else if (entry.getValue() || hud.prepareUpdate()) {
+                hud.rerenderNow();
+            } else {
+                updatesByPlayer.computeIfAbsent(hud.getPlayerRef().getUuid(), uuid -> new ArrayList<>()).add(hud);
+            }
+        }
+
+        for (List<HyUIHud> playerHuds : updatesByPlayer.values()) {
+            UICommandBuilder commands = new UICommandBuilder();
+            for (HyUIHud hud : playerHuds) {
+                hud.appendUpdates(commands);
+            }
+            if (commands.getCommands().length > 0) {
+                // The update reaches the player's HUD as a whole, so any of their HUDs can send it.
+                playerHuds.get(0).update(false, commands);
+            }
+        }
+    }
+}
@@ -3,6 +3,10 @@ package au.ellie.hyui.builders;
 import com.hypixel.hytale.server.core.ui.Anchor;
 import com.hypixel.hytale.server.core.ui.Value;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 public class HyUIAnchor {
     private Integer left = null;
     private Integer right = null;
@@ -91,6 +95,39 @@ public class HyUIAnchor {
         return this;
     }
 
+    /**
+     * @return A copy of the current values that can be compared with an earlier one.
+     */
+    List<Integer> snapshot() {
+        return Arrays.asList(left, right, top, bottom, height, full, horizontal, vertical, width, minWidth, maxWidth);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HyUIAnchor other)) {
+            return false;
+        }
+        return Objects.equals(left, other.left)
+                && Objects.equals(right, other.right)
+                && Objects.equals(top, other.top)
+                && Objects.equals(bottom, other.bottom)
+                && Objects.equals(height, other.height)
+                && Objects.equals(full, other.full)
+                && Objects.equals(horizontal, other.horizontal)
+                && Objects.equals(vertical, other.vertical)
+                && Objects.equals(width, other.width)
+                && Objects.equals(minWidth, other.minWidth)
+                && Objects.equals(maxWidth, other.maxWidth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(left, right, top, bottom, height, full, horizontal, vertical, width, minWidth, maxWidth);
+    }
+
     public Anchor toHytaleAnchor() {
         Anchor anchor = new Anchor();
         if (left != null) anchor.setLeft(Value.of(left));
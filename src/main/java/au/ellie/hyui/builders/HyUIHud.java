@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.html.TemplateProcessor;
 import au.ellie.hyui.utils.MultiHudWrapper;
@@ -10,14 +11,15 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
@@ -28,12 +30,27 @@ public class HyUIHud extends CustomUIHud implements UIContext {
     public String name;
     protected final HyUInterface delegate;
     private boolean isHidden;
+    /**
+     * Set by {@link #remove()}, so updates queued before the removal do not show the HUD again.
+     */
+    private volatile boolean removed;
     private long refreshRateMs;
-    private long lastRefreshTime;
     private Consumer<HyUIHud> refreshListener;
 
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private ScheduledFuture<?> refreshTask;
+    private boolean refreshing;
+    private HudRefreshScheduler.Registration refreshTask;
+    /**
+     * The world the running refresh was queued on, or null if none is running.
+     */
+    private final AtomicReference<World> refreshInFlight = new AtomicReference<>();
+    /**
+     * Whether the refresh listener is running on a worker thread. Unlike the render stage, it is never handed
+     * over to another world.
+     */
+    private final AtomicBoolean listenerRunning = new AtomicBoolean();
+    private long refreshCount;
+    private long refreshNanos;
+    private long maxRefreshNanos;
     
     public HyUIHud(String name, PlayerRef playerRef, 
                    String uiFile,
@@ -48,47 +65,105 @@ public class HyUIHud extends CustomUIHud implements UIContext {
     }
 
     private void startRefreshTask() {
+        refreshing = true;
         if (refreshTask == null || refreshTask.isCancelled()) {
-            refreshTask = scheduler.scheduleAtFixedRate(
-                    this::checkRefreshes, 
-                    100, 
-                    100, 
-                    TimeUnit.MILLISECONDS);
+            // HUDs without a refresh rate are never scheduled.
+            refreshTask = HudRefreshScheduler.shared().schedule(this, refreshRateMs);
         }
     }
-    
-    private void checkRefreshes() {
+
+    private void stopRefreshTask() {
+        refreshing = false;
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Called by the {@link HudRefreshScheduler} each time the refresh period elapses. A HUD that is due adds
+     * itself to the HUDs of its player's world. A HUD whose previous refresh is still running skips the tick.
+     * Once its listener has finished, a refresh still waiting to be rendered on a world the player has since
+     * left, which may never run it, is taken over by the player's current world.
+     *
+     * @param due The HUDs due this tick, by world
+     * @return false once the HUD should no longer be refreshed.
+     */
+    boolean checkRefreshes(Map<World, List<HyUIHud>> due) {
         if (isHidden) {
-            HyUIPlugin.getLog().logFinest("Hidden HUD. Not refreshing.");
-            return;
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Hidden HUD. Not refreshing.");
+            }
+            return true;
         }
         
         PlayerRef playerRef = getPlayerRef();
         if (!playerRef.isValid()) {
-            HyUIPlugin.getLog().logFinest("Player is invalid, cancelling refresh task for HUD.");
-            
             // Player is no longer valid, cancel task and cleanup.
-            if (refreshTask != null) {
+            if (HyUIPluginLogger.IS_DEV) {
                 HyUIPlugin.getLog().logFinest("Player is invalid, cancelling refresh task for HUD.");
-                refreshTask.cancel(false);
             }
-            return;
+            return false;
         }
 
-        if (playerRef.getReference() == null) {
-            return; // This might happen during world changes.
+        World world = getPlayerWorld();
+        if (world == null) {
+            return true; // This might happen during world changes.
         }
 
-        long now = System.currentTimeMillis();
-        long rate = getRefreshRateMs();
-
-        if (rate > 0) {
-            if (now - lastRefreshTime >= rate) {
-                triggerRefresh();
-                refreshOrRerender(true, false);
-                lastRefreshTime = now;
-            }
+        if (listenerRunning.get()) {
+            return true;
+        }
+        World inFlight = refreshInFlight.get();
+        if (inFlight == world || !refreshInFlight.compareAndSet(inFlight, world)) {
+            return true;
+        }
+        if (refreshListener != null) {
+            listenerRunning.set(true);
         }
+        due.computeIfAbsent(world, w -> new ArrayList<>()).add(this);
+        return true;
+    }
+
+    boolean hasRefreshListener() {
+        return refreshListener != null;
+    }
+
+    /**
+     * Queues what the refresh listener changed. The flush decides whether the HUD has to be re-rendered from
+     * scratch, see {@link #needsFullBuild()}.
+     */
+    void renderRefresh() {
+        queueUpdate(false);
+    }
+
+    /**
+     * Marks the refresh listener as finished, so a later tick may hand the render stage over to another world.
+     */
+    void finishListener() {
+        listenerRunning.set(false);
+    }
+
+    /**
+     * Allows the next refresh to start, unless a newer one was started on another world meanwhile.
+     *
+     * @param world The world the finished refresh was queued on
+     */
+    void finishRefresh(World world) {
+        refreshInFlight.compareAndSet(world, null);
+    }
+
+    synchronized void recordRefresh(long nanos) {
+        refreshCount++;
+        refreshNanos += nanos;
+        maxRefreshNanos = Math.max(maxRefreshNanos, nanos);
+    }
+
+    /**
+     * @return How long the refresh listener of this HUD has taken so far.
+     */
+    public synchronized HudRefreshScheduler.ListenerTiming getRefreshTiming() {
+        return new HudRefreshScheduler.ListenerTiming(name, refreshCount, refreshNanos, maxRefreshNanos);
     }
     
     @Override
@@ -126,6 +201,7 @@ public class HyUIHud extends CustomUIHud implements UIContext {
     /**
      * Updates the HUD with the provided builder.
      * The builder can be a completely new configuration.
+     * The HUD is re-rendered from the world thread at the end of the tick.
      * 
      * @param updatedHudBuilder The builder containing updated HUD configuration.
      */
@@ -145,14 +221,17 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         var store = getStore();
         if (store == null) return;
 
+        removed = true;
         store.getExternalData().getWorld().execute(() -> {
             var player = getPlayer();
             if (player == null) return;
 
             MultiHudWrapper.hideCustomHud(player, getPlayerRef(), this.name);
         });
-        HyUIPlugin.getLog().logFinest("HUD removed: " + this.name);
-        refreshTask.cancel(false);
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("HUD removed: " + this.name);
+        }
+        stopRefreshTask();
     }
 
     /**
@@ -166,9 +245,12 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         var player = getPlayer();
         if (player == null) return;
 
+        removed = true;
         MultiHudWrapper.hideCustomHud(player, getPlayerRef(), this.name);
-        HyUIPlugin.getLog().logFinest("HUD removed: " + this.name);
-        refreshTask.cancel(false);
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("HUD removed: " + this.name);
+        }
+        stopRefreshTask();
     }
 
     /**
@@ -177,11 +259,12 @@ public class HyUIHud extends CustomUIHud implements UIContext {
      * 
      */
     public void add() {
+        removed = false;
         this.safeAdd();
-        if (refreshTask != null && !refreshTask.isCancelled()) {
-            refreshTask.cancel(false);
+        stopRefreshTask();
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("HUD added: " + this.name);
         }
-        HyUIPlugin.getLog().logFinest("HUD added: " + this.name);
         startRefreshTask();
     }
     
@@ -194,37 +277,39 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         var player = getPlayer();
         if (player == null) return;
 
+        removed = false;
         MultiHudWrapper.setCustomHud(player, getPlayerRef(), this.name, this);
-        if (refreshTask != null && !refreshTask.isCancelled()) {
-            refreshTask.cancel(false);
+        stopRefreshTask();
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("HUD added: " + this.name);
         }
-        HyUIPlugin.getLog().logFinest("HUD added: " + this.name);
         startRefreshTask();
     }
 
     /**
-     * Hides the UI from view of player.
+     * Hides the UI from view of player. The change is sent from the world thread at the end of the tick.
      */
     public void hide() {
         setVisibilityOnFirstElement(false, false);
     }
 
     /**
-     * Hides the UI from view of player. This does NOT check thread access.
+     * Hides the UI from view of player right away. This does NOT check thread access.
      */
     public void hideUnsafe() {
         setVisibilityOnFirstElement(false, true);
     }
     
     /**
-     * Shows the UI to the player if it has previously been hidden.
+     * Shows the UI to the player if it has previously been hidden. The change is sent from the world thread at
+     * the end of the tick.
      */
     public void unhide() {
         setVisibilityOnFirstElement(true, false);
     }
 
     /**
-     * Shows the UI to the player if it has previously been hidden. This does NOT check thread access.
+     * Shows the UI to the player right away if it has previously been hidden. This does NOT check thread access.
      */
     public void unhideUnsafe() {
         setVisibilityOnFirstElement(true, true);
@@ -234,8 +319,21 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         return refreshRateMs;
     }
 
+    /**
+     * Sets how often the HUD refreshes. A HUD that is already refreshing switches to the new rate;
+     * 0 stops it refreshing.
+     *
+     * @param refreshRateMs The refresh rate in milliseconds.
+     */
     public void setRefreshRateMs(long refreshRateMs) {
+        if (this.refreshRateMs == refreshRateMs) {
+            return;
+        }
         this.refreshRateMs = refreshRateMs;
+        if (refreshing) {
+            stopRefreshTask();
+            startRefreshTask();
+        }
     }
 
     public void setRefreshListener(Consumer<HyUIHud> refreshListener) {
@@ -251,24 +349,86 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         }
     }
 
+    /**
+     * Sends the changes made to the HUD's elements, or re-renders it completely.
+     *
+     * <p>Unless {@code unsafe} is set, the request is queued and sent from the world thread at the end of the
+     * tick, together with every other change to the player's HUDs made during the tick, so calling this several
+     * times per tick is cheap. With {@code unsafe} set, it is sent right away from the calling thread, which
+     * must be the world thread.</p>
+     *
+     * <p>Re-rendering a HUD that was removed shows it again.</p>
+     *
+     * @param shouldRerender true to re-render the HUD from scratch instead of sending its changes
+     * @param unsafe         true to send right away. This does NOT check thread access.
+     */
     public void refreshOrRerender(boolean shouldRerender, boolean unsafe) {
-        if (!shouldRerender) {
-            UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-            delegate.buildFromCommandBuilder(uiCommandBuilder, true);
-            this.update(false, uiCommandBuilder);
+        if (shouldRerender) {
+            removed = false;
+        }
+        if (!unsafe) {
+            queueUpdate(shouldRerender);
+        } else if (shouldRerender || prepareUpdate()) {
+            rerenderNow();
         } else {
-            // Re-render completely.
-            if (!unsafe) {
-                this.safeAdd();
-            } else {
-                var player = getPlayer();
-                if (player == null) return;
-
-                MultiHudWrapper.setCustomHud(player, getPlayerRef(), this.name, this);
+            UICommandBuilder uiCommandBuilder = new UICommandBuilder();
+            appendUpdates(uiCommandBuilder);
+            if (uiCommandBuilder.getCommands().length > 0) {
+                this.update(false, uiCommandBuilder);
             }
-
         }
     }
+
+    private void queueUpdate(boolean rerender) {
+        World world = getPlayerWorld();
+        if (world == null) return;
+
+        HudUpdateCoalescer.request(this, world, rerender);
+    }
+
+    /**
+     * Adds the commands of an update pass to {@code commands}. Called by the {@link HudUpdateCoalescer}.
+     */
+    void appendUpdates(UICommandBuilder commands) {
+        delegate.buildFromCommandBuilder(commands, true);
+    }
+
+    /**
+     * Re-renders the HUD from scratch right away. Must be called on the world thread.
+     */
+    void rerenderNow() {
+        var player = getPlayer();
+        if (player == null) return;
+
+        MultiHudWrapper.setCustomHud(player, getPlayerRef(), this.name, this);
+    }
+
+    /**
+     * @return true if the HUD was removed and not added again since. Queued updates skip it.
+     */
+    boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * Brings the HUD's elements up to date with its template, ahead of the update pass or re-render that
+     * follows and reuses the render.
+     *
+     * @return true if the HUD has to be re-rendered from scratch, see {@link #needsFullBuild()}
+     */
+    boolean prepareUpdate() {
+        delegate.prepareUpdate();
+        return needsFullBuild();
+    }
+
+    /**
+     * @return true if an update pass cannot bring the client up to date. Call {@link #prepareUpdate()} first.
+     */
+    boolean needsFullBuild() {
+        // Updates reach the player's HUD unprefixed, so an element appended to #HyUIRoot could land in another
+        // HUD's root.
+        return delegate.needsFullBuild() || delegate.hasPendingRootAppends();
+    }
     
     @Override
     public List<String> getCommandLog() {
@@ -298,7 +458,9 @@ public class HyUIHud extends CustomUIHud implements UIContext {
             break;
         }
        
-        HyUIPlugin.getLog().logFinest("REDRAW: HUD SET VISIBILITY from single hud");
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("REDRAW: HUD SET VISIBILITY from single hud");
+        }
         this.refreshOrRerender(false, unsafe);
         // this.update(false, builder);
         isHidden = !isHidden;
@@ -324,6 +486,14 @@ public class HyUIHud extends CustomUIHud implements UIContext {
         });
     }
 
+    /**
+     * @return The world the player is in, or null if the player is gone.
+     */
+    World getPlayerWorld() {
+        var store = getStore();
+        return store != null ? store.getExternalData().getWorld() : null;
+    }
+
     private Store<EntityStore> getStore() {
         var playerRef = getPlayerRef();
         if (!playerRef.isValid()) {
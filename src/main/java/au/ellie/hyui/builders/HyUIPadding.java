@@ -1,5 +1,9 @@
 package au.ellie.hyui.builders;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Represents the padding for a UI element.
  */
@@ -77,4 +81,30 @@ public class HyUIPadding {
         this.bottom = vertical;
         return this;
     }
+
+    /**
+     * @return A copy of the current values that can be compared with an earlier one.
+     */
+    List<Integer> snapshot() {
+        return Arrays.asList(left, top, right, bottom);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HyUIPadding other)) {
+            return false;
+        }
+        return Objects.equals(left, other.left)
+                && Objects.equals(top, other.top)
+                && Objects.equals(right, other.right)
+                && Objects.equals(bottom, other.bottom);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(left, top, right, bottom);
+    }
 }
@@ -4,6 +4,10 @@ import com.hypixel.hytale.server.core.ui.Area;
 import com.hypixel.hytale.server.core.ui.PatchStyle;
 import com.hypixel.hytale.server.core.ui.Value;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Represents a PatchStyle which can be used for backgrounds.
  */
@@ -144,6 +148,38 @@ public class HyUIPatchStyle {
         return hytalePatchStyle;
     }
 
+    /**
+     * @return A copy of the current values that can be compared with an earlier one.
+     */
+    List<Object> snapshot() {
+        return Arrays.asList(color, texturePath, border, horizontalBorder, verticalBorder, areaHeight, areaWidth,
+                areaX, areaY);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HyUIPatchStyle other)) {
+            return false;
+        }
+        return Objects.equals(color, other.color)
+                && Objects.equals(texturePath, other.texturePath)
+                && Objects.equals(border, other.border)
+                && Objects.equals(horizontalBorder, other.horizontalBorder)
+                && Objects.equals(verticalBorder, other.verticalBorder)
+                && Objects.equals(areaHeight, other.areaHeight)
+                && Objects.equals(areaWidth, other.areaWidth)
+                && Objects.equals(areaX, other.areaX)
+                && Objects.equals(areaY, other.areaY);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(color, texturePath, border, horizontalBorder, verticalBorder, areaHeight, areaWidth, areaX, areaY);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("(");
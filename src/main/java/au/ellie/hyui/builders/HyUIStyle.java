@@ -1,9 +1,14 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.utils.ParseUtils;
+import org.bson.BsonDocument;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HyUIStyle {
     public enum Alignment {
@@ -27,6 +32,105 @@ public class HyUIStyle {
     private final Map<String, HyUIStyle> states = new HashMap<>();
     private final Map<String, Object> rawProperties = new HashMap<>();
 
+    private static final int MAX_INTERNED_STYLES = 2048;
+    private static final Map<HyUIStyle, HyUIStyle> INTERNED = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<HyUIStyle, HyUIStyle> eldest) {
+            return size() > MAX_INTERNED_STYLES;
+        }
+    };
+
+    /**
+     * Set on the shared instances returned by {@link #intern(HyUIStyle)}, which can no longer be modified.
+     */
+    private boolean interned;
+    /**
+     * The documents sent for an interned style, per style filter of the elements using it.
+     */
+    private Map<StylePropertyFilter, BsonDocument> documents;
+
+    /**
+     * Returns a shared, unmodifiable style equal to the given one. Elements with the same style then hold a
+     * single instance, and the document sent for it is only built once.
+     *
+     * @param style The style to share, which is copied and left modifiable
+     * @return The shared style, or null if {@code style} is null
+     */
+    public static HyUIStyle intern(HyUIStyle style) {
+        if (style == null || style.interned) {
+            return style;
+        }
+        synchronized (INTERNED) {
+            HyUIStyle shared = INTERNED.get(style);
+            if (shared == null) {
+                shared = style.copy();
+                shared.freeze();
+                INTERNED.put(shared, shared);
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * @return true if this is a shared style returned by {@link #intern(HyUIStyle)}.
+     */
+    public boolean isInterned() {
+        return interned;
+    }
+
+    /**
+     * @return A modifiable copy of this style and its states.
+     */
+    public HyUIStyle copy() {
+        HyUIStyle copy = new HyUIStyle();
+        copy.fontSize = fontSize;
+        copy.renderBold = renderBold;
+        copy.renderItalics = renderItalics;
+        copy.renderUppercase = renderUppercase;
+        copy.textColor = textColor;
+        copy.letterSpacing = letterSpacing;
+        copy.wrap = wrap;
+        copy.fontName = fontName;
+        copy.outlineColor = outlineColor;
+        copy.horizontalAlignment = horizontalAlignment;
+        copy.verticalAlignment = verticalAlignment;
+        copy.alignment = alignment;
+        copy.styleReference = styleReference;
+        copy.styleDocument = styleDocument;
+        states.forEach((state, style) -> copy.states.put(state, style.copy()));
+        copy.rawProperties.putAll(rawProperties);
+        return copy;
+    }
+
+    private void freeze() {
+        interned = true;
+        documents = new ConcurrentHashMap<>();
+        states.values().forEach(HyUIStyle::freeze);
+    }
+
+    private void checkMutable() {
+        if (interned) {
+            throw new IllegalStateException("Interned styles are shared and cannot be modified, modify a copy() instead");
+        }
+    }
+
+    /**
+     * @return The document built for this interned style and filter, or null if there is none yet.
+     */
+    BsonDocument getCachedDocument(StylePropertyFilter filter) {
+        return documents != null ? documents.get(filter) : null;
+    }
+
+    /**
+     * Keeps the document built for this style and filter, if the style is interned. The document must not be
+     * modified afterwards.
+     */
+    void cacheDocument(StylePropertyFilter filter, BsonDocument document) {
+        if (documents != null) {
+            documents.putIfAbsent(filter, document);
+        }
+    }
+
     /**
      * Cleans the input string by removing units like rem, em, pt, px, and %.
      * @param input The input string to clean
@@ -36,11 +140,13 @@ public class HyUIStyle {
         return input.replaceAll("(rem|em|pt|px|%)", "").trim();
     }
     public HyUIStyle setFontSize(float fontSize) {
+        checkMutable();
         this.fontSize = fontSize;
         return this;
     }
 
     public HyUIStyle setFontSize(String fontSize) {
+        checkMutable();
         fontSize = cleanUnits(fontSize);
         ParseUtils.parseFloat(fontSize)
                 .ifPresent(v -> this.fontSize = v);
@@ -48,50 +154,59 @@ public class HyUIStyle {
     }
 
     public HyUIStyle setRenderBold(boolean renderBold) {
+        checkMutable();
         this.renderBold = renderBold;
         return this;
     }
 
     public HyUIStyle setRenderBold(String renderBold) {
+        checkMutable();
         renderBold = cleanUnits(renderBold);
         this.renderBold = Boolean.parseBoolean(renderBold);
         return this;
     }
 
     public HyUIStyle setRenderUppercase(boolean renderUppercase) {
+        checkMutable();
         this.renderUppercase = renderUppercase;
         return this;
     }
 
     public HyUIStyle setRenderUppercase(String renderUppercase) {
+        checkMutable();
         renderUppercase = cleanUnits(renderUppercase);
         this.renderUppercase = Boolean.parseBoolean(renderUppercase);
         return this;
     }
 
     public HyUIStyle setRenderItalics(boolean renderItalics) {
+        checkMutable();
         this.renderItalics = renderItalics;
         return this;
     }
 
     public HyUIStyle setRenderItalics(String renderItalics) {
+        checkMutable();
         renderItalics = cleanUnits(renderItalics);
         this.renderItalics = Boolean.parseBoolean(renderItalics);
         return this;
     }
 
     public HyUIStyle setTextColor(String textColor) {
+        checkMutable();
         textColor = cleanUnits(textColor);
         this.textColor = textColor;
         return this;
     }
 
     public HyUIStyle setLetterSpacing(int letterSpacing) {
+        checkMutable();
         this.letterSpacing = letterSpacing;
         return this;
     }
 
     public HyUIStyle setLetterSpacing(String letterSpacing) {
+        checkMutable();
         try {
             letterSpacing = cleanUnits(letterSpacing);
             this.letterSpacing = Integer.parseInt(letterSpacing);
@@ -100,17 +215,20 @@ public class HyUIStyle {
     }
 
     public HyUIStyle setWrap(boolean wrap) {
+        checkMutable();
         this.wrap = wrap;
         return this;
     }
 
     public HyUIStyle setWrap(String wrap) {
+        checkMutable();
         wrap = cleanUnits(wrap);
         this.wrap = Boolean.parseBoolean(wrap);
         return this;
     }
 
     public HyUIStyle setFontName(String fontName) {
+        checkMutable();
         String normalized = normalizeFontName(fontName);
         if (normalized != null) {
             this.fontName = normalized;
@@ -119,39 +237,46 @@ public class HyUIStyle {
     }
 
     public HyUIStyle setOutlineColor(String outlineColor) {
+        checkMutable();
         outlineColor = cleanUnits(outlineColor);
         this.outlineColor = outlineColor;
         return this;
     }
 
     public HyUIStyle setHorizontalAlignment(Alignment horizontalAlignment) {
+        checkMutable();
         this.horizontalAlignment = horizontalAlignment;
         return this;
     }
 
     public HyUIStyle setHorizontalAlignment(String horizontalAlignment) {
+        checkMutable();
         ParseUtils.parseEnum(horizontalAlignment, Alignment.class)
                 .ifPresent(v -> this.horizontalAlignment = v);
         return this;
     }
 
     public HyUIStyle setVerticalAlignment(Alignment verticalAlignment) {
+        checkMutable();
         this.verticalAlignment = verticalAlignment;
         return this;
     }
 
     public HyUIStyle setVerticalAlignment(String verticalAlignment) {
+        checkMutable();
         ParseUtils.parseEnum(verticalAlignment, Alignment.class)
                 .ifPresent(v -> this.verticalAlignment = v);
         return this;
     }
 
     public HyUIStyle setAlignment(Alignment alignment) {
+        checkMutable();
         this.alignment = alignment;
         return this;
     }
 
     public HyUIStyle setAlignment(String alignment) {
+        checkMutable();
         alignment = cleanUnits(alignment);
         ParseUtils.parseEnum(alignment, Alignment.class)
                 .ifPresent(v -> this.alignment = v);
@@ -159,32 +284,38 @@ public class HyUIStyle {
     }
 
     public HyUIStyle withStyleReference(String reference) {
+        checkMutable();
         this.styleReference = reference;
         return this;
     }
 
     public HyUIStyle withStyleReference(String document, String reference) {
+        checkMutable();
         this.styleDocument = document;
         this.styleReference = reference;
         return this;
     }
 
     public HyUIStyle setDisabledStyle(HyUIStyle style) {
+        checkMutable();
         states.put("Disabled", style);
         return this;
     }
 
     public HyUIStyle setHoverStyle(HyUIStyle style) {
+        checkMutable();
         states.put("Hovered", style);
         return this;
     }
 
     public HyUIStyle set(String key, Object value) {
+        checkMutable();
         this.rawProperties.put(key, value);
         return this;
     }
 
     public HyUIStyle set(Map<String, Object> properties) {
+        checkMutable();
         this.rawProperties.putAll(properties);
         return this;
     }
@@ -335,11 +466,44 @@ public class HyUIStyle {
     }
 
     public Map<String, HyUIStyle> getStates() {
-        return states;
+        return interned ? Collections.unmodifiableMap(states) : states;
     }
 
     public Map<String, Object> getRawProperties() {
-        return rawProperties;
+        return interned ? Collections.unmodifiableMap(rawProperties) : rawProperties;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HyUIStyle other)) {
+            return false;
+        }
+        return Objects.equals(fontSize, other.fontSize)
+                && Objects.equals(renderBold, other.renderBold)
+                && Objects.equals(renderItalics, other.renderItalics)
+                && Objects.equals(renderUppercase, other.renderUppercase)
+                && Objects.equals(textColor, other.textColor)
+                && Objects.equals(letterSpacing, other.letterSpacing)
+                && Objects.equals(wrap, other.wrap)
+                && Objects.equals(fontName, other.fontName)
+                && Objects.equals(outlineColor, other.outlineColor)
+                && horizontalAlignment == other.horizontalAlignment
+                && verticalAlignment == other.verticalAlignment
+                && alignment == other.alignment
+                && Objects.equals(styleReference, other.styleReference)
+                && Objects.equals(styleDocument, other.styleDocument)
+                && states.equals(other.states)
+                && rawProperties.equals(other.rawProperties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fontSize, renderBold, renderItalics, renderUppercase, textColor, letterSpacing, wrap,
+                fontName, outlineColor, horizontalAlignment, verticalAlignment, alignment, styleReference,
+                styleDocument, states, rawProperties);
     }
 
     private String normalizeFontName(String fontName) {
@@ -13,7 +13,8 @@ import au.ellie.hyui.events.SlotMouseEnteredEventData;
 import au.ellie.hyui.events.SlotMouseExitedEventData;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventListener;
-import au.ellie.hyui.html.HtmlParser;
+import au.ellie.hyui.html.TemplateDocument;
+import au.ellie.hyui.html.TemplateRenderCache;
 import au.ellie.hyui.html.TemplateProcessor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -28,8 +29,10 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -45,8 +48,26 @@ public abstract class HyUInterface implements UIContext {
     protected String templateHtml;
     protected TemplateProcessor templateProcessor;
     private boolean hasBuilt;
+    /**
+     * Set when the elements or the UI file are replaced, which an update pass cannot express.
+     */
+    private boolean structureReplaced;
     private boolean runtimeTemplateUpdatesEnabled;
     private final Set<String> dirtyValueIds = new HashSet<>();
+    private final TemplateRenderCache templateRenderCache = new TemplateRenderCache();
+    /**
+     * The parsed template output the elements were last merged from, so a refresh only parses what changed.
+     */
+    private final TemplateDocument templateDocument = new TemplateDocument();
+    private String lastProcessedHtml;
+    /**
+     * Set by {@link #prepareUpdate()}, so the next build does not render the template again.
+     */
+    private boolean templatePrepared;
+    /**
+     * Root selectors of top-level elements dropped by a template refresh, removed on the next update pass.
+     */
+    private final List<String> pendingRemovals = new ArrayList<>();
 
     public HyUInterface(String uiFile,
                         List<UIElementBuilder<?>> elements,
@@ -99,64 +120,11 @@ public abstract class HyUInterface implements UIContext {
                       @Nonnull Store<EntityStore> store,
                       boolean updateOnly) {
         
-        HyUIPlugin.getLog().logFinest("REBUILD: HyUInterface build updateOnly=" + updateOnly);
-        HyUIPlugin.getLog().logFinest("Building HyUInterface" + (uiFile != null ? " from file: " + uiFile : ""));
-
-        //LoggingUICommandBuilder loggingBuilder = new LoggingUICommandBuilder();
-
-        refreshTemplate(this);
-
-        if (!updateOnly && uiFile != null) {
-            //if (HyUIPluginLogger.IS_DEV)
-            //    loggingBuilder.append(uiFile);
-            uiCommandBuilder.append(uiFile);
-        }
-
-        if (editCallbacks != null) {
-            for (Consumer<UICommandBuilder> callback : editCallbacks) {
-                //if (HyUIPluginLogger.IS_DEV)
-                //    callback.accept(loggingBuilder);
-                callback.accept(uiCommandBuilder);
-            }
-        }
-
-        if (!updateOnly) {
-            elementValues.clear();
-            dirtyValueIds.clear();
-        }
-        for (UIElementBuilder<?> element : elements) {
-            if (!updateOnly) {
-                captureInitialValues(element);
-            }
-            /*if (HyUIPluginLogger.IS_DEV) {
-                if (updateOnly) {
-                    element.buildUpdates(loggingBuilder, new UIEventBuilder());
-                } else {
-                    element.build(loggingBuilder, new UIEventBuilder());
-                }
-            }*/
-            if (updateOnly) {
-                element.buildUpdates(uiCommandBuilder, uiEventBuilder);
-            } else {
-                element.build(uiCommandBuilder, uiEventBuilder);
-            }
-        }
-
-        if (!updateOnly) {
-            // This entire process below happens because we need to update the template to mimic the page.
-            // and we capture the real values of the elements after they've been built.
-            refreshTemplate(this);
-            for (UIElementBuilder<?> element : elements) {
-                /*if (HyUIPluginLogger.IS_DEV) {
-                    element.buildUpdates(loggingBuilder, new UIEventBuilder());
-                }*/
-                // TODO: THIS IS CALLED WHICH REBUILDS THE ENTIRE UI.
-                element.buildUpdates(uiCommandBuilder, uiEventBuilder);
-            }
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("REBUILD: HyUInterface build updateOnly=" + updateOnly);
+            HyUIPlugin.getLog().logFinest("Building HyUInterface" + (uiFile != null ? " from file: " + uiFile : ""));
         }
-
-        //this.commandLog = loggingBuilder.getCommandLog();
-        this.hasBuilt = true;
+        buildElements(uiCommandBuilder, uiEventBuilder, updateOnly);
     }
 
     public void buildFromCommandBuilder(@Nonnull UICommandBuilder uiCommandBuilder) {
@@ -164,60 +132,65 @@ public abstract class HyUInterface implements UIContext {
     }
 
     public void buildFromCommandBuilder(@Nonnull UICommandBuilder uiCommandBuilder, boolean updateOnly) {
-        HyUIPlugin.getLog().logFinest("REBUILD: HyUInterface buildFromCommandBuilder updateOnly=" + updateOnly);
-        HyUIPlugin.getLog().logFinest("Building HyUInterface " + (uiFile != null ? " from file: " + uiFile : ""));
-
-        //LoggingUICommandBuilder loggingBuilder = new LoggingUICommandBuilder();
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("REBUILD: HyUInterface buildFromCommandBuilder updateOnly=" + updateOnly);
+            HyUIPlugin.getLog().logFinest("Building HyUInterface " + (uiFile != null ? " from file: " + uiFile : ""));
+        }
+        buildElements(uiCommandBuilder, null, updateOnly);
+    }
 
-        refreshTemplate(this);
+    /**
+     * Emits the commands for every element in a single pass. On a full build the initial values are
+     * captured and the template is refreshed with them first, so each element is sent once with its final
+     * state instead of being built and then updated again.
+     */
+    private void buildElements(UICommandBuilder uiCommandBuilder, UIEventBuilder uiEventBuilder, boolean updateOnly) {
+        // Runs with the values of the previous build, so runtime values survive a rebuild.
+        if (!templatePrepared) {
+            refreshTemplate(this);
+        }
+        templatePrepared = false;
 
         if (!updateOnly && uiFile != null) {
-            /*if (HyUIPluginLogger.IS_DEV)
-                loggingBuilder.append(uiFile);*/
             uiCommandBuilder.append(uiFile);
         }
 
         if (editCallbacks != null) {
             for (Consumer<UICommandBuilder> callback : editCallbacks) {
-               /* if (HyUIPluginLogger.IS_DEV)
-                    callback.accept(loggingBuilder);*/
                 callback.accept(uiCommandBuilder);
             }
         }
 
         if (!updateOnly) {
+            structureReplaced = false;
             elementValues.clear();
             dirtyValueIds.clear();
-        }
-        for (UIElementBuilder<?> element : elements) {
-            if (!updateOnly) {
+            for (UIElementBuilder<?> element : elements) {
                 captureInitialValues(element);
             }
-            /*if (HyUIPluginLogger.IS_DEV) {
-                if (updateOnly) {
-                    element.buildUpdates(loggingBuilder, null);
-                } else {
-                    element.build(loggingBuilder, null);
-                }
-            }*/
-            if (updateOnly) {
-                element.buildUpdates(uiCommandBuilder, null);
-            } else {
-                element.build(uiCommandBuilder, null);
+            // The template may read element values, so render it again with the captured ones before
+            // anything is sent.
+            refreshTemplate(this);
+        }
+
+        if (updateOnly) {
+            for (String removed : pendingRemovals) {
+                uiCommandBuilder.remove(removed);
             }
         }
+        pendingRemovals.clear();
 
-        if (!updateOnly) {
-            refreshTemplate(this);
-            for (UIElementBuilder<?> element : elements) {
-                /*if (HyUIPluginLogger.IS_DEV) {
-                    element.buildUpdates(loggingBuilder, null);
-                }*/
-                element.buildUpdates(uiCommandBuilder, null);
+        for (UIElementBuilder<?> element : elements) {
+            if (updateOnly) {
+                if (element.isClean()) {
+                    continue;
+                }
+                element.buildUpdates(uiCommandBuilder, uiEventBuilder);
+            } else {
+                element.build(uiCommandBuilder, uiEventBuilder);
             }
         }
 
-        //this.commandLog = loggingBuilder.getCommandLog();
         this.hasBuilt = true;
     }
 
@@ -373,6 +346,9 @@ public abstract class HyUInterface implements UIContext {
     }
 
     protected void setUiFile(String uiFile) {
+        if (!Objects.equals(this.uiFile, uiFile)) {
+            structureReplaced = true;
+        }
         this.uiFile = uiFile;
     }
 
@@ -381,7 +357,12 @@ public abstract class HyUInterface implements UIContext {
     }
 
     protected void setElements(List<UIElementBuilder<?>> elements) {
+        if (this.elements != elements) {
+            structureReplaced = true;
+        }
         this.elements = elements;
+        this.lastProcessedHtml = null;
+        this.templateDocument.clear();
     }
 
     public List<Consumer<UICommandBuilder>> getEditCallbacks() {
@@ -404,6 +385,42 @@ public abstract class HyUInterface implements UIContext {
         this.hasBuilt = false;
     }
 
+    /**
+     * Whether the client has to rebuild the interface from scratch. That is only the case before the first
+     * build and after the elements or the UI file were replaced; elements added, moved or removed by a
+     * template refresh or {@code addChild} are sent by an update pass.
+     *
+     * @return true if an update pass cannot bring the client up to date
+     */
+    public boolean needsFullBuild() {
+        return !hasBuilt || structureReplaced;
+    }
+
+    /**
+     * Brings the elements up to date with the template ahead of the next build, which reuses this render
+     * instead of rendering the template again.
+     */
+    void prepareUpdate() {
+        refreshTemplate(this);
+        templatePrepared = true;
+    }
+
+    /**
+     * Checks whether the next update pass appends an element to the root. The root selector is only unique
+     * within this interface, so a HUD sharing the player's client HUD with others has to be rebuilt instead.
+     * Call {@link #prepareUpdate()} first, so elements the template adds are seen.
+     *
+     * @return true if a top-level element would be appended to the root
+     */
+    boolean hasPendingRootAppends() {
+        for (UIElementBuilder<?> element : elements) {
+            if (element.appendsOnNextUpdate()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void releaseDynamicImages(UUID playerUuid) {
         getElements().forEach(element -> releaseDynamicImagesRecursive(element, playerUuid));
     }
@@ -422,106 +439,33 @@ public abstract class HyUInterface implements UIContext {
         if (!runtimeTemplateUpdatesEnabled || templateHtml == null || templateProcessor == null) {
             return;
         }
-        if (hasBuilt && dirtyValueIds.isEmpty()) {
-            //return;
-        }
-        HyUIPlugin.getLog().logFinest("REBUILD: Template refresh");
-        HtmlParser parser = new HtmlParser();
-        String processedHtml = templateProcessor.process(templateHtml, context);
-        List<UIElementBuilder<?>> updatedElements = parser.parse(processedHtml);
-        
-        this.elements = mergeElementLists(this.elements, updatedElements);
-        applyRuntimeValues(this.elements, context);
-        reapplyTabSelections(this.elements, context);
-        if (hasBuilt) {
-            //dirtyValueIds.clear();
-        }
-    }
-
-    private List<UIElementBuilder<?>> mergeElementLists(List<UIElementBuilder<?>> currentElements,
-                                                       List<UIElementBuilder<?>> updatedElements) {
-/*
-        for (var e : updatedElements) {
-            HyUIPlugin.getLog().logInfo("UPDATED ELEMENT: \n\n" + e);
-        }
-        for (var e : currentElements) {
-            HyUIPlugin.getLog().logInfo("CURRENT ELEMENT: \n\n" + e);
-        }
-*/
-
-        Map<String, UIElementBuilder<?>> currentById = new HashMap<>();
-        List<UIElementBuilder<?>> currentNoId = new ArrayList<>();
-        for (UIElementBuilder<?> element : currentElements) {
-            String id = getStableId(element);
-            if (id != null && !id.isBlank()) {
-                currentById.put(id, element);
-            } else {
-                currentNoId.add(element);
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("REBUILD: Template refresh");
+        }
+        String processedHtml = templateProcessor.process(
+                templateProcessor.compile(templateHtml), context, templateRenderCache);
+        if (processedHtml.equals(lastProcessedHtml)) {
+            // Nothing the template reads has changed, so re-parsing would produce the same elements.
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("REBUILD: Template output unchanged");
             }
-        }
-/*
-
-        HyUIPlugin.getLog().logInfo("Current elements with stable IDs:");
-        for (Map.Entry<String, UIElementBuilder<?>> entry : currentById.entrySet()) {
-            HyUIPlugin.getLog().logInfo("  ID: " + entry.getKey() + ", Element: " + entry.getValue().getClass().getSimpleName());
-        }
-        HyUIPlugin.getLog().logInfo("Current elements without stable IDs:");
-        for (UIElementBuilder<?> element : currentNoId) {
-            HyUIPlugin.getLog().logInfo("  Element: " + element.getClass().getSimpleName() + ", EffectiveId: " + element.getEffectiveId() + ", Id: " + element.getId());
-        }
-*/
-
-        List<UIElementBuilder<?>> merged = new ArrayList<>();
-        List<UIElementBuilder<?>> unusedNoId = new ArrayList<>(currentNoId);
-
-        for (UIElementBuilder<?> updated : updatedElements) {
-            //HyUIPlugin.getLog().logInfo("Processing updated element with ID: " + getStableId(updated));
-            UIElementBuilder<?> current = null;
-            String id = getStableId(updated);
-            if (id != null && !id.isBlank()) {
-                current = currentById.get(id);
-            } else {
-                UIElementBuilder<?> result = null;
-                for (int i = 0; i < unusedNoId.size(); i++) {
-                    UIElementBuilder<?> candidate = unusedNoId.get(i);
-                    if (candidate.getClass().equals(updated.getClass())) {
-                        unusedNoId.remove(i);
-                        result = candidate;
-                        break;
-                    }
-                }
-                current = result;
-            }
-
-            if (current != null && current.getClass().equals(updated.getClass())) {
-                current.applyTemplate(updated);
-                if (!(current instanceof TabNavigationBuilder)) {
-                    List<UIElementBuilder<?>> mergedChildren = mergeElementLists(current.children, updated.children);
-                    current.children.clear();
-                    current.children.addAll(mergedChildren);
-                }
-                merged.add(current);
-            } else {
-                merged.add(updated);
+        } else if (lastProcessedHtml != null
+                && templateDocument.update(processedHtml, templateRenderCache, ElementReconciler.TEMPLATE_MERGER)) {
+            // Only the elements around the changed output were parsed and merged.
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("REBUILD: Template elements updated in place");
             }
+            this.lastProcessedHtml = processedHtml;
+        } else {
+            List<UIElementBuilder<?>> updatedElements = templateDocument.parse(processedHtml);
+            Map<UIElementBuilder<?>, UIElementBuilder<?>> matched = new IdentityHashMap<>();
+            this.elements = ElementReconciler.reconcile(this.elements, updatedElements, null, pendingRemovals::add,
+                    matched::put);
+            templateDocument.bind(ElementReconciler.resolver(matched, this.elements));
+            this.lastProcessedHtml = processedHtml;
         }
-
-        return merged;
-    }
-
-    private String getStableId(UIElementBuilder<?> element) {
-        if (element == null) {
-            return null;
-        }
-
-        String userId = element.getId();
-        String effectiveId = element.getEffectiveId();
-
-        if (userId == null || userId.isBlank() || effectiveId == null || effectiveId.isBlank() || userId.equals(effectiveId)) {
-            return null;
-        }
-
-        return userId;
+        applyRuntimeValues(this.elements, context);
+        reapplyTabSelections(this.elements, context);
     }
 
     private void applyRuntimeValues(List<UIElementBuilder<?>> elements, UIContext context) {
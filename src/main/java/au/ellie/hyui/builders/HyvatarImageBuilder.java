@@ -19,6 +19,7 @@ public class HyvatarImageBuilder extends DynamicImageBuilder {
 
     public HyvatarImageBuilder withUsername(String username) {
         this.username = username;
+        markDirty();
         return this;
     }
 
@@ -30,6 +31,7 @@ public class HyvatarImageBuilder extends DynamicImageBuilder {
         if (renderType != null) {
             this.renderType = renderType;
         }
+        markDirty();
         return this;
     }
 
@@ -39,6 +41,7 @@ public class HyvatarImageBuilder extends DynamicImageBuilder {
 
     public HyvatarImageBuilder withSize(Integer size) {
         this.size = size;
+        markDirty();
         return this;
     }
 
@@ -48,6 +51,7 @@ public class HyvatarImageBuilder extends DynamicImageBuilder {
 
     public HyvatarImageBuilder withRotate(Integer rotate) {
         this.rotate = rotate;
+        markDirty();
         return this;
     }
 
@@ -57,6 +61,7 @@ public class HyvatarImageBuilder extends DynamicImageBuilder {
 
     public HyvatarImageBuilder withCape(String cape) {
         this.cape = cape;
+        markDirty();
         return this;
     }
 
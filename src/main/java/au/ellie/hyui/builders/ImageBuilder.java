@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.elements.UIElements;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
@@ -37,12 +38,14 @@ public class ImageBuilder extends UIElementBuilder<ImageBuilder> implements Layo
      */
     public ImageBuilder withImage(String imagePath) {
         this.imagePath = imagePath;
+        markDirty();
         return this;
     }
 
     @Override
     public ImageBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
     
@@ -62,12 +65,13 @@ public class ImageBuilder extends UIElementBuilder<ImageBuilder> implements Layo
         String selector = getSelector();
         if (selector == null) return;
 
-        String wrappingGroupSelector = "#" + getWrappingGroupId();
-        applyLayoutMode(commands, wrappingGroupSelector);
+        sendLayoutMode(commands, wrappingGroupPaths());
 
-        if (imagePath != null) {
-            HyUIPlugin.getLog().logFinest("Setting AssetPath on " + selector + " to " + imagePath);
-            commands.set(selector + ".AssetPath", "UI/Custom/" + imagePath);
+        if (imagePath != null && shouldSend(paths().path("AssetPath"), "UI/Custom/" + imagePath)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting AssetPath on " + selector + " to " + imagePath);
+            }
+            commands.set(paths().path("AssetPath"), "UI/Custom/" + imagePath);
         }
     }
 }
@@ -3,7 +3,9 @@ package au.ellie.hyui.builders;
 import au.ellie.hyui.HyUIPlugin;
 import au.ellie.hyui.assets.DynamicImageAsset;
 import au.ellie.hyui.events.UIContext;
+import au.ellie.hyui.html.CompiledPage;
 import au.ellie.hyui.html.HtmlParser;
+import au.ellie.hyui.html.HyUIML;
 import au.ellie.hyui.html.TemplateProcessor;
 import au.ellie.hyui.utils.HyvatarUtils;
 import au.ellie.hyui.utils.PngDownloadUtils;
@@ -12,11 +14,6 @@ import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,10 +45,16 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
     }
 
     public T fromHtml(String html) {
+        return fromHtml(html, null);
+    }
+
+    private T fromHtml(String html, String sourcePath) {
         this.templateHtml = null;
         this.templateProcessor = null;
         this.runtimeTemplateUpdatesEnabled = false;
-        new HtmlParser().parseToInterface(this, html);
+        HtmlParser parser = new HtmlParser();
+        parser.setSourcePath(sourcePath);
+        parser.parseToInterface(this, html);
         return self();
     }
 
@@ -73,42 +76,19 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
      * @return This builder instance for method chaining
      */
     public T fromTemplate(String html, TemplateProcessor template) {
+        return fromTemplate(html, template, null);
+    }
+
+    private T fromTemplate(String html, TemplateProcessor template, String sourcePath) {
         this.templateHtml = html;
         this.templateProcessor = template;
         HtmlParser parser = new HtmlParser();
         parser.setTemplateProcessor(template);
+        parser.setSourcePath(sourcePath);
         parser.parseToInterface(this, html);
         return self();
     }
     
-    private String loadHtmlFromResources(String resourceFileName) {
-        String normalized = resourceFileName.startsWith("/") ? resourceFileName.substring(1) : resourceFileName;
-        List<Path> candidatePaths = List.of(
-                Paths.get("src/main/resources").resolve(normalized),
-                Paths.get("..", "src", "main", "resources").resolve(normalized),
-                Paths.get("build/resources/main").resolve(normalized),
-                Paths.get("..", "build", "resources", "main").resolve(normalized),
-                Paths.get(normalized)
-        );
-        for (Path path : candidatePaths) {
-            if (Files.isRegularFile(path)) {
-                try {
-                    return Files.readString(path, StandardCharsets.UTF_8);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to load HTML from file: " + path, e);
-                }
-            }
-        }
-        try (InputStream inputStream = InterfaceBuilder.class.getResourceAsStream(resourceFileName)) {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("Resource not found: " + resourceFileName);
-            }
-            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load HTML from resource: " + resourceFileName, e);
-        }
-    }
-
     /**
      * Loads an HTML file from resources under Common/UI/Custom and parses it into this interface.
      *
@@ -116,8 +96,8 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
      * @return This builder instance for method chaining
      */
     public T loadHtml(String resourcePath) {
-        String html = loadHtmlFromResources(resolveCustomResourcePath(resourcePath));
-        return fromHtml(html);
+        String resourceFileName = HyUIML.resolveResourcePath(resourcePath);
+        return fromHtml(HyUIML.readResource(resourceFileName), resourceFileName);
     }
 
     /**
@@ -128,8 +108,8 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
      * @return This builder instance for method chaining
      */
     public T loadHtml(String resourcePath, TemplateProcessor template) {
-        String html = loadHtmlFromResources(resolveCustomResourcePath(resourcePath));
-        return fromTemplate(html, template);
+        String resourceFileName = HyUIML.resolveResourcePath(resourcePath);
+        return fromTemplate(HyUIML.readResource(resourceFileName), template, resourceFileName);
     }
 
     /**
@@ -140,8 +120,47 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
      * @return This builder instance for method chaining
      */
     public T loadHtml(String resourcePath, Map<String, ?> variables) {
-        String html = loadHtmlFromResources(resolveCustomResourcePath(resourcePath));
-        return fromTemplate(html, variables);
+        String resourceFileName = HyUIML.resolveResourcePath(resourcePath);
+        return fromTemplate(HyUIML.readResource(resourceFileName), new TemplateProcessor().setVariables(variables), resourceFileName);
+    }
+
+    /**
+     * Builds this interface from a page compiled with {@link HyUIML#compile(String)}.
+     *
+     * @param page The compiled page
+     * @return This builder instance for method chaining
+     */
+    public T fromCompiledPage(CompiledPage page) {
+        this.templateHtml = null;
+        this.templateProcessor = null;
+        this.runtimeTemplateUpdatesEnabled = false;
+        page.instantiate(null).forEach(this::addElement);
+        return self();
+    }
+
+    /**
+     * Builds this interface from a page compiled with {@link HyUIML#compile(String)} with a template processor.
+     *
+     * @param page     The compiled page
+     * @param template The template processor with variables set
+     * @return This builder instance for method chaining
+     */
+    public T fromCompiledPage(CompiledPage page, TemplateProcessor template) {
+        this.templateHtml = page.getHtml();
+        this.templateProcessor = template;
+        page.instantiate(template).forEach(this::addElement);
+        return self();
+    }
+
+    /**
+     * Builds this interface from a page compiled with {@link HyUIML#compile(String)} with variables.
+     *
+     * @param page      The compiled page
+     * @param variables Map of variable names to values
+     * @return This builder instance for method chaining
+     */
+    public T fromCompiledPage(CompiledPage page, Map<String, ?> variables) {
+        return fromCompiledPage(page, new TemplateProcessor().setVariables(variables));
     }
 
     public T enableRuntimeTemplateUpdates(boolean enabled) {
@@ -160,14 +179,6 @@ public abstract class InterfaceBuilder<T extends InterfaceBuilder<T>> {
         return fromTemplate(html, new TemplateProcessor().setVariables(variables));
     }
 
-    private String resolveCustomResourcePath(String resourcePath) {
-        if (resourcePath == null || resourcePath.isBlank()) {
-            throw new IllegalArgumentException("Resource path cannot be null or blank.");
-        }
-        String trimmed = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
-        return "/Common/UI/Custom/" + trimmed;
-    }
-
     /**
      * Add an element inside the root node (#HyUIRoot) of the interface.
      * @param element The element to add to the root node.
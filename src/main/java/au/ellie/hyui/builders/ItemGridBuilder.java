@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.elements.ScrollbarStyleSupported;
@@ -16,7 +17,6 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Builder for the ItemGrid UI element.
@@ -25,6 +25,26 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
         LayoutModeSupported<ItemGridBuilder>,
         BackgroundSupported<ItemGridBuilder>,
         ScrollbarStyleSupported<ItemGridBuilder> {
+    private static final StylePropertyFilter STYLE_FILTER = StylePropertyFilter.only(
+            "SlotSpacing",
+            "SlotSize",
+            "SlotIconSize",
+            "SlotBackground",
+            "QuantityPopupSlotOverlay",
+            "BrokenSlotBackgroundOverlay",
+            "BrokenSlotIconOverlay",
+            "DefaultItemIcon",
+            "DurabilityBar",
+            "DurabilityBarBackground",
+            "DurabilityBarAnchor",
+            "DurabilityBarColorStart",
+            "DurabilityBarColorEnd",
+            "CursedIconPatch",
+            "CursedIconAnchor",
+            "ItemStackHoveredSound",
+            "ItemStackActivateSound"
+    );
+
     private String layoutMode;
     private String backgroundMode;
     private HyUIPatchStyle background;
@@ -57,6 +77,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
     @Override
     public ItemGridBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -67,12 +88,14 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
 
     public ItemGridBuilder withBackgroundMode(String backgroundMode) {
         this.backgroundMode = backgroundMode;
+        markDirty();
         return this;
     }
 
     @Override
     public ItemGridBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -85,6 +108,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
     public ItemGridBuilder withScrollbarStyle(String document, String styleReference) {
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -100,26 +124,31 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
 
     public ItemGridBuilder withRenderItemQualityBackground(boolean renderItemQualityBackground) {
         this.renderItemQualityBackground = renderItemQualityBackground;
+        markDirty();
         return this;
     }
 
     public ItemGridBuilder withAreItemsDraggable(boolean areItemsDraggable) {
         this.areItemsDraggable = areItemsDraggable;
+        markDirty();
         return this;
     }
 
     public ItemGridBuilder withKeepScrollPosition(boolean keepScrollPosition) {
         this.keepScrollPosition = keepScrollPosition;
+        markDirty();
         return this;
     }
 
     public ItemGridBuilder withShowScrollbar(boolean showScrollbar) {
         this.showScrollbar = showScrollbar;
+        markDirty();
         return this;
     }
 
     public ItemGridBuilder withSlotsPerRow(int slotsPerRow) {
         this.slotsPerRow = slotsPerRow;
+        markDirty();
         return this;
     }
 
@@ -128,6 +157,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
         if (slots != null) {
             this.slots.addAll(slots);
         }
+        markDirty();
         return this;
     }
 
@@ -135,6 +165,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
         if (slot != null) {
             this.slots.add(slot);
         }
+        markDirty();
         return this;
     }
 
@@ -151,6 +182,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
             return this;
         }
         this.slots.set(index, updatedSlot);
+        markDirty();
         return this;
     }
     
@@ -159,6 +191,7 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
             return this;
         }
         this.slots.remove(index.intValue());
+        markDirty();
         return this;
     }
     
@@ -175,28 +208,8 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
     }
     
     @Override
-    protected boolean isStyleWhitelist() { return true; }
-
-    protected Set<String> getSupportedStyleProperties() {
-        return Set.of(
-                "SlotSpacing",
-                "SlotSize",
-                "SlotIconSize",
-                "SlotBackground",
-                "QuantityPopupSlotOverlay",
-                "BrokenSlotBackgroundOverlay",
-                "BrokenSlotIconOverlay",
-                "DefaultItemIcon",
-                "DurabilityBar",
-                "DurabilityBarBackground",
-                "DurabilityBarAnchor",
-                "DurabilityBarColorStart",
-                "DurabilityBarColorEnd",
-                "CursedIconPatch",
-                "CursedIconAnchor",
-                "ItemStackHoveredSound",
-                "ItemStackActivateSound"
-        );
+    protected StylePropertyFilter getStyleFilter() {
+        return STYLE_FILTER;
     }
 
     @Override
@@ -204,40 +217,57 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
-        applyScrollbarStyle(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
+        sendScrollbarStyle(commands, selector);
         
-        if (backgroundMode != null) {
-            HyUIPlugin.getLog().logFinest("Setting BackgroundMode: " + backgroundMode + " for " + selector);
-            commands.set(selector + ".BackgroundMode", backgroundMode);
+        if (backgroundMode != null && shouldSend(paths().path("BackgroundMode"), backgroundMode)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting BackgroundMode: " + backgroundMode + " for " + selector);
+            }
+            commands.set(paths().path("BackgroundMode"), backgroundMode);
         }
-        if (renderItemQualityBackground != null) {
-            HyUIPlugin.getLog().logFinest("Setting RenderItemQualityBackground: " + renderItemQualityBackground + " for " + selector);
-            commands.set(selector + ".RenderItemQualityBackground", renderItemQualityBackground);
+        if (renderItemQualityBackground != null
+                && shouldSend(paths().path("RenderItemQualityBackground"), renderItemQualityBackground)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting RenderItemQualityBackground: " + renderItemQualityBackground + " for " + selector);
+            }
+            commands.set(paths().path("RenderItemQualityBackground"), renderItemQualityBackground);
         }
         if (areItemsDraggable != null) {
-            HyUIPlugin.getLog().logFinest("Setting AreItemsDraggable: " + areItemsDraggable + " for " + selector);
-            commands.set(selector + ".AreItemsDraggable", areItemsDraggable);
+            if (shouldSend(paths().path("AreItemsDraggable"), areItemsDraggable)) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting AreItemsDraggable: " + areItemsDraggable + " for " + selector);
+                }
+                commands.set(paths().path("AreItemsDraggable"), areItemsDraggable);
+            }
             if (areItemsDraggable) {
                 setAllSlotsActivatable();
             }
         }
-        if (keepScrollPosition != null) {
-            HyUIPlugin.getLog().logFinest("Setting KeepScrollPosition: " + keepScrollPosition + " for " + selector);
-            commands.set(selector + ".KeepScrollPosition", keepScrollPosition);
+        if (keepScrollPosition != null && shouldSend(paths().path("KeepScrollPosition"), keepScrollPosition)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting KeepScrollPosition: " + keepScrollPosition + " for " + selector);
+            }
+            commands.set(paths().path("KeepScrollPosition"), keepScrollPosition);
         }
-        if (showScrollbar != null) {
-            HyUIPlugin.getLog().logFinest("Setting ShowScrollbar: " + showScrollbar + " for " + selector);
-            commands.set(selector + ".ShowScrollbar", showScrollbar);
+        if (showScrollbar != null && shouldSend(paths().path("ShowScrollbar"), showScrollbar)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ShowScrollbar: " + showScrollbar + " for " + selector);
+            }
+            commands.set(paths().path("ShowScrollbar"), showScrollbar);
         }
-        if (slotsPerRow != null) {
-            HyUIPlugin.getLog().logFinest("Setting SlotsPerRow: " + slotsPerRow + " for " + selector);
-            commands.set(selector + ".SlotsPerRow", slotsPerRow);
+        if (slotsPerRow != null && shouldSend(paths().path("SlotsPerRow"), slotsPerRow)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting SlotsPerRow: " + slotsPerRow + " for " + selector);
+            }
+            commands.set(paths().path("SlotsPerRow"), slotsPerRow);
         }
         if (!slots.isEmpty()) {
-            HyUIPlugin.getLog().logFinest("Setting Slots for " + selector);
-            commands.set(selector + ".Slots", slots);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Slots for " + selector);
+            }
+            commands.set(paths().path("Slots"), slots);
         }
         
         listeners.forEach(listener -> {
@@ -259,7 +289,9 @@ public class ItemGridBuilder extends UIElementBuilder<ItemGridBuilder> implement
                 )
                 return;
             String eventId = getEffectiveId();
-            HyUIPlugin.getLog().logFinest("Adding " + type.name());
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Adding " + type.name());
+            }
             events.addEventBinding(type, selector,
                     EventData.of("Action", type.name())
                             .append("Target", eventId),
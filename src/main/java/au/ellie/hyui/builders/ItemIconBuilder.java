@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.UIElements;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
@@ -34,6 +35,7 @@ public class ItemIconBuilder extends UIElementBuilder<ItemIconBuilder> {
      */
     public ItemIconBuilder withItemId(String itemId) {
         this.itemId = itemId;
+        markDirty();
         return this;
     }
 
@@ -47,9 +49,11 @@ public class ItemIconBuilder extends UIElementBuilder<ItemIconBuilder> {
         String selector = getSelector();
         if (selector == null) return;
 
-        if (itemId != null) {
-            HyUIPlugin.getLog().logFinest("Setting ItemId on " + selector + " to " + itemId);
-            commands.set(selector + ".ItemId", itemId);
+        if (itemId != null && shouldSend(paths().path("ItemId"), itemId)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ItemId on " + selector + " to " + itemId);
+            }
+            commands.set(paths().path("ItemId"), itemId);
         }
     }
 }
@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.UIElements;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
@@ -36,6 +37,7 @@ public class ItemSlotBuilder extends UIElementBuilder<ItemSlotBuilder> {
      */
     public ItemSlotBuilder withItemId(String itemId) {
         this.itemId = itemId;
+        markDirty();
         return this;
     }
 
@@ -47,6 +49,7 @@ public class ItemSlotBuilder extends UIElementBuilder<ItemSlotBuilder> {
      */
     public ItemSlotBuilder withShowQualityBackground(boolean showQualityBackground) {
         this.showQualityBackground = showQualityBackground;
+        markDirty();
         return this;
     }
 
@@ -58,6 +61,7 @@ public class ItemSlotBuilder extends UIElementBuilder<ItemSlotBuilder> {
      */
     public ItemSlotBuilder withShowQuantity(boolean showQuantity) {
         this.showQuantity = showQuantity;
+        markDirty();
         return this;
     }
 
@@ -71,17 +75,23 @@ public class ItemSlotBuilder extends UIElementBuilder<ItemSlotBuilder> {
         String selector = getSelector();
         if (selector == null) return;
 
-        if (showQualityBackground != null) {
-            HyUIPlugin.getLog().logFinest("Setting ShowQualityBackground: " + showQualityBackground + " for " + selector);
-            commands.set(selector + ".ShowQualityBackground", showQualityBackground);
+        if (showQualityBackground != null && shouldSend(paths().path("ShowQualityBackground"), showQualityBackground)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ShowQualityBackground: " + showQualityBackground + " for " + selector);
+            }
+            commands.set(paths().path("ShowQualityBackground"), showQualityBackground);
         }
-        if (showQuantity != null) {
-            HyUIPlugin.getLog().logFinest("Setting ShowQuantity: " + showQuantity + " for " + selector);
-            commands.set(selector + ".ShowQuantity", showQuantity);
+        if (showQuantity != null && shouldSend(paths().path("ShowQuantity"), showQuantity)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ShowQuantity: " + showQuantity + " for " + selector);
+            }
+            commands.set(paths().path("ShowQuantity"), showQuantity);
         }
-        if (itemId != null) {
-            HyUIPlugin.getLog().logFinest("Setting ItemId on " + selector + " to " + itemId);
-            commands.set(selector + ".ItemId", itemId);
+        if (itemId != null && shouldSend(paths().path("ItemId"), itemId)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting ItemId on " + selector + " to " + itemId);
+            }
+            commands.set(paths().path("ItemId"), itemId);
         }
 
         // There are LITERALLY NO EVENTS that work on ItemSlot!?!?
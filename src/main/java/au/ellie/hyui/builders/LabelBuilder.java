@@ -1,18 +1,33 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.UIElements;
 import au.ellie.hyui.theme.Theme;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
-import java.util.Set;
 
 /**
  * Builder for creating label UI elements. 
  * Labels are used to display text or other static content.
  */
 public class LabelBuilder extends UIElementBuilder<LabelBuilder> implements BackgroundSupported<LabelBuilder> {
+    private static final StylePropertyFilter STYLE_FILTER = StylePropertyFilter.only(
+            "FontSize",
+            "RenderBold",
+            "RenderUppercase",
+            "TextColor",
+            "HorizontalAlignment",
+            "VerticalAlignment",
+            "Alignment",
+            "RenderItalics",
+            "FontName",
+            "Wrap",
+            "LetterSpacing",
+            "OutlineColor"
+    );
+
     private String text;
     private HyUIPatchStyle background;
 
@@ -50,6 +65,7 @@ public class LabelBuilder extends UIElementBuilder<LabelBuilder> implements Back
      */
     public LabelBuilder withText(String text) {
         this.text = text;
+        markDirty();
         return this;
     }
 
@@ -60,6 +76,7 @@ public class LabelBuilder extends UIElementBuilder<LabelBuilder> implements Back
     @Override
     public LabelBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -74,26 +91,8 @@ public class LabelBuilder extends UIElementBuilder<LabelBuilder> implements Back
     }
 
     @Override
-    protected boolean isStyleWhitelist() {
-        return true;
-    }
-
-    @Override
-    protected Set<String> getSupportedStyleProperties() {
-        return Set.of(
-                "FontSize",
-                "RenderBold",
-                "RenderUppercase",
-                "TextColor",
-                "HorizontalAlignment",
-                "VerticalAlignment",
-                "Alignment",
-                "RenderItalics",
-                "FontName",
-                "Wrap",
-                "LetterSpacing",
-                "OutlineColor"
-        );
+    protected StylePropertyFilter getStyleFilter() {
+        return STYLE_FILTER;
     }
 
     @Override
@@ -146,16 +145,20 @@ public class LabelBuilder extends UIElementBuilder<LabelBuilder> implements Back
         String selector = getSelector();
         if (selector == null) return;
 
-        applyBackground(commands, selector);
+        sendBackground(commands, selector);
 
-        if (text != null) {
-            HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
-            commands.set(selector + ".Text", text);
+        if (text != null && shouldSend(paths().path("Text"), text)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Text: " + text + " for " + selector);
+            }
+            commands.set(paths().path("Text"), text);
         }
 
-        if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Raw Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Raw Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
     }
 }
@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventActions;
 import au.ellie.hyui.elements.UIElements;
@@ -59,6 +60,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
     public NumberFieldBuilder withValue(double value) {
         this.value = value;
         this.initialValue = value;
+        markDirty();
         return this;
     }
 
@@ -70,6 +72,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
      */
     public NumberFieldBuilder withFormat(String format) {
         this.format = format;
+        markDirty();
         return this;
     }
 
@@ -81,6 +84,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
      */
     public NumberFieldBuilder withMaxDecimalPlaces(double maxDecimalPlaces) {
         this.maxDecimalPlaces = maxDecimalPlaces;
+        markDirty();
         return this;
     }
 
@@ -92,6 +96,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
      */
     public NumberFieldBuilder withMinValue(double minValue) {
         this.minValue = minValue;
+        markDirty();
         return this;
     }
 
@@ -103,6 +108,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
      */
     public NumberFieldBuilder withMaxValue(double maxValue) {
         this.maxValue = maxValue;
+        markDirty();
         return this;
     }
 
@@ -114,6 +120,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
      */
     public NumberFieldBuilder withStep(double step) {
         this.step = step;
+        markDirty();
         return this;
     }
 
@@ -222,22 +229,32 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
         if (selector == null) return;
 
         if (value != null) {
-            HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
-            commands.set(selector + ".Value", value);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
+            }
+            commands.set(paths().path("Value"), value);
         }
         
         if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
-        } else if (hyUIStyle == null) {
-            commands.set(selector + ".Style", Value.ref("Common.ui", "DefaultInputFieldStyle"));
+            if (shouldSend(paths().path("Style"), style)) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
+                }
+                commands.set(paths().path("Style"), style);
+            }
+        } else if (hyUIStyle == null
+                && shouldSend(paths().path("Style"), "Common.ui", "DefaultInputFieldStyle")) {
+            commands.set(paths().path("Style"), Value.ref("Common.ui", "DefaultInputFieldStyle"));
         }
 
-        if (!secondaryStyles.containsKey("PlaceholderStyle")) {
-            commands.set(selector + ".PlaceholderStyle", Value.ref("Common.ui", "DefaultInputFieldPlaceholderStyle"));
+        if (!secondaryStyles.containsKey("PlaceholderStyle") && shouldSend(paths().path("PlaceholderStyle"),
+                "Common.ui", "DefaultInputFieldPlaceholderStyle")) {
+            commands.set(paths().path("PlaceholderStyle"), Value.ref("Common.ui", "DefaultInputFieldPlaceholderStyle"));
         }
         
-        commands.set(selector + ".Background", Value.ref("Common.ui", "InputBoxBackground"));
+        if (shouldSend(paths().path("Background"), "Common.ui", "InputBoxBackground")) {
+            commands.set(paths().path("Background"), Value.ref("Common.ui", "InputBoxBackground"));
+        }
 
         if (anchor == null || anchor.getHeight() < 38) {
             if (anchor == null) {
@@ -245,7 +262,7 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
             }
             anchor.setHeight(38);
             // Need to force anchor setting.
-            commands.setObject(selector + ".Anchor", anchor.toHytaleAnchor());
+            commands.setObject(paths().path("Anchor"), anchor.toHytaleAnchor());
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -259,9 +276,11 @@ public class NumberFieldBuilder extends UIElementBuilder<NumberFieldBuilder> {
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.ValueChanged) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                }
                 events.addEventBinding(CustomUIEventBindingType.ValueChanged, selector, 
-                        EventData.of("@ValueDouble", selector + ".Value")
+                        EventData.of("@ValueDouble", paths().path("Value"))
                             .append("Target", eventId)
                             .append("Action", UIEventActions.VALUE_CHANGED), 
                         false);
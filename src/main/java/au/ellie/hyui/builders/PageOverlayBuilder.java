@@ -35,6 +35,7 @@ public class PageOverlayBuilder extends UIElementBuilder<PageOverlayBuilder> imp
     @Override
     public PageOverlayBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -46,6 +47,7 @@ public class PageOverlayBuilder extends UIElementBuilder<PageOverlayBuilder> imp
     @Override
     public PageOverlayBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -58,6 +60,7 @@ public class PageOverlayBuilder extends UIElementBuilder<PageOverlayBuilder> imp
     public PageOverlayBuilder withScrollbarStyle(String document, String styleReference) {
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -69,6 +72,7 @@ public class PageOverlayBuilder extends UIElementBuilder<PageOverlayBuilder> imp
      */
     public PageOverlayBuilder withClipChildren(boolean clipChildren) {
         this.clipChildren = clipChildren;
+        markDirty();
         return this;
     }
 
@@ -92,12 +96,12 @@ public class PageOverlayBuilder extends UIElementBuilder<PageOverlayBuilder> imp
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
-        applyScrollbarStyle(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
+        sendScrollbarStyle(commands, selector);
 
-        if (clipChildren != null) {
-            commands.set(selector + ".ClipChildren", clipChildren);
+        if (clipChildren != null && shouldSend(paths().path("ClipChildren"), clipChildren)) {
+            commands.set(paths().path("ClipChildren"), clipChildren);
         }
     }
 }
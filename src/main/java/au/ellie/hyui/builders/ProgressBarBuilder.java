@@ -8,6 +8,8 @@ import au.ellie.hyui.theme.Theme;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 
+import java.util.Objects;
+
 /**
  * Builder for creating progress bar UI elements.
  * Progress bars are used to display the completion status of a task or process.
@@ -28,6 +30,11 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
     private HyUIPatchStyle bar;
     private String layoutMode;
     private HyUIAnchor outerAnchor;
+    /**
+     * Paths of the outer group, kept while the parent selector stays the same.
+     */
+    private transient PropertyPaths outerPaths;
+    private transient String outerPathsParent;
 
     public ProgressBarBuilder() {
         super(UIElements.PROGRESS_BAR, "#HyUIProgressBar");
@@ -75,6 +82,7 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
         } else {
             withUiFile("Pages/Elements/ProgressBar.ui");
         }
+        markDirty();
         return this;
     }
 
@@ -87,21 +95,25 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
     public ProgressBarBuilder withValue(float value) {
         this.value = value;
         this.initialValue = value;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withBarTexturePath(String barTexturePath) {
         this.barTexturePath = barTexturePath;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withEffectTexturePath(String effectTexturePath) {
         this.effectTexturePath = effectTexturePath;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withMaskTexturePath(String maskTexturePath) {
         this.maskTexturePath = maskTexturePath;
+        markDirty();
         return this;
     }
 
@@ -113,21 +125,25 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
      */
     public ProgressBarBuilder withColor(String color) {
         this.color = color;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withEffectWidth(int effectWidth) {
         this.effectWidth = effectWidth;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withEffectHeight(int effectHeight) {
         this.effectHeight = effectHeight;
+        markDirty();
         return this;
     }
 
     public ProgressBarBuilder withEffectOffset(int effectOffset) {
         this.effectOffset = effectOffset;
+        markDirty();
         return this;
     }
 
@@ -139,12 +155,14 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
      */
     public ProgressBarBuilder withDirection(String direction) {
         this.direction = direction;
+        markDirty();
         return this;
     }
 
     @Override
     public ProgressBarBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -155,6 +173,7 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
 
     public ProgressBarBuilder withBar(HyUIPatchStyle bar) {
         this.bar = bar;
+        markDirty();
         return this;
     }
 
@@ -210,12 +229,14 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
      */
     public ProgressBarBuilder withAlignment(String alignment) {
         this.alignment = alignment;
+        markDirty();
         return this;
     }
 
     @Override
     public ProgressBarBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -232,6 +253,7 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
      */
     public ProgressBarBuilder withOuterAnchor(HyUIAnchor outerAnchor) {
         this.outerAnchor = outerAnchor;
+        markDirty();
         return this;
     }
     
@@ -249,63 +271,68 @@ public class ProgressBarBuilder extends UIElementBuilder<ProgressBarBuilder> imp
         this.anchor = originalAnchor;
     }
     
+    private PropertyPaths outerPaths() {
+        if (outerPaths == null || !Objects.equals(outerPathsParent, parentSelector)) {
+            outerPaths = new PropertyPaths(parentSelector != null
+                    ? parentSelector + " #HyUIOuterProgressBar" : "#HyUIOuterProgressBar");
+            outerPathsParent = parentSelector;
+        }
+        return outerPaths;
+    }
+
     @Override
     protected void onBuild(UICommandBuilder commands, UIEventBuilder events) {
         String selector = getSelector();
         if (selector == null) return;
 
         // Apply LayoutMode and Background to the outer group if it exists
-        String outerSelector = "#HyUIOuterProgressBar";
-        if (parentSelector != null) {
-            outerSelector = parentSelector + " " + outerSelector;
-        }
-
-        applyLayoutMode(commands, outerSelector);
-        applyBackground(commands, outerSelector);
+        PropertyPaths outer = outerPaths();
+        sendLayoutMode(commands, outer);
+        sendBackground(commands, outer);
 
         // Use outerAnchor if provided, otherwise fallback to the standard anchor
         HyUIAnchor effectiveOuterAnchor = (outerAnchor != null) ? outerAnchor : anchor;
-        if (effectiveOuterAnchor != null) {
-            commands.setObject(outerSelector + ".Anchor", effectiveOuterAnchor.toHytaleAnchor());
+        if (effectiveOuterAnchor != null && shouldSend(outer.path("Anchor"), effectiveOuterAnchor.snapshot())) {
+            commands.setObject(outer.path("Anchor"), effectiveOuterAnchor.toHytaleAnchor());
         }
 
-        if (value != 0.0f) {
-            commands.set(selector + ".Value", value);
+        if (value != 0.0f && shouldSend(paths().path("Value"), value)) {
+            commands.set(paths().path("Value"), value);
         }
 /*      if (barTexturePath != null) {
-            commands.set(selector + ".BarTexturePath", barTexturePath);
+            commands.set(paths().path("BarTexturePath"), barTexturePath);
         }
         if (effectTexturePath != null) {
             if (!circular) {
-                commands.set(selector + ".EffectTexturePath", effectTexturePath);
+                commands.set(paths().path("EffectTexturePath"), effectTexturePath);
             }
         }*/
         if (effectWidth != null) {
-            if (!circular) {
-                commands.set(selector + ".EffectWidth", effectWidth);
+            if (!circular && shouldSend(paths().path("EffectWidth"), effectWidth)) {
+                commands.set(paths().path("EffectWidth"), effectWidth);
             }
         }
         if (effectHeight != null) {
-            if (!circular) {
-                commands.set(selector + ".EffectHeight", effectHeight);
+            if (!circular && shouldSend(paths().path("EffectHeight"), effectHeight)) {
+                commands.set(paths().path("EffectHeight"), effectHeight);
             }
         }
         if (effectOffset != null) {
-            if (!circular) {
-                commands.set(selector + ".EffectOffset", effectOffset);
+            if (!circular && shouldSend(paths().path("EffectOffset"), effectOffset)) {
+                commands.set(paths().path("EffectOffset"), effectOffset);
             }
         }
-        if (direction != null) {
-            commands.set(selector + ".Direction", direction);
+        if (direction != null && shouldSend(paths().path("Direction"), direction)) {
+            commands.set(paths().path("Direction"), direction);
         }
-        if (alignment != null) {
-            commands.set(selector + ".Alignment", alignment);
+        if (alignment != null && shouldSend(paths().path("Alignment"), alignment)) {
+            commands.set(paths().path("Alignment"), alignment);
         }
-        if (bar != null) {
-            commands.setObject(selector + ".Bar", bar.getHytalePatchStyle());
+        if (bar != null && shouldSend(paths().path("Bar"), bar.snapshot())) {
+            commands.setObject(paths().path("Bar"), bar.getHytalePatchStyle());
         }
-        if (color != null) {
-            commands.set(selector + ".Color", color);
+        if (color != null && shouldSend(paths().path("Color"), color)) {
+            commands.set(paths().path("Color"), color);
         }
     }
 }
@@ -0,0 +1,56 @@
+package au.ellie.hyui.builders;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A selector together with the property paths built from it, such as {@code #MyLabel.Style.TextColor}.
+ *
+ * <p>Each path is concatenated the first time it is used and then reused, so rebuilding an element sends
+ * the same path strings instead of building new ones for every property. Reusing the same instances also
+ * keeps their hash codes cached when they are used as keys. Nested paths are handles of their own, so
+ * {@code paths.child("Style").child("Hovered").path("Background")} allocates nothing once it has been
+ * resolved.</p>
+ *
+ * <p>Instances belong to a single element and are not thread-safe.</p>
+ */
+final class PropertyPaths {
+
+    private final String selector;
+    private Map<String, PropertyPaths> children;
+
+    PropertyPaths(String selector) {
+        this.selector = selector;
+    }
+
+    /**
+     * @return The selector or property path this handle stands for.
+     */
+    String selector() {
+        return selector;
+    }
+
+    /**
+     * @param property A property name, or several joined with dots
+     * @return The handle for {@code selector.property}.
+     */
+    PropertyPaths child(String property) {
+        if (children == null) {
+            children = new HashMap<>();
+        }
+        PropertyPaths child = children.get(property);
+        if (child == null) {
+            child = new PropertyPaths(selector + "." + property);
+            children.put(property, child);
+        }
+        return child;
+    }
+
+    /**
+     * @param property A property name, or several joined with dots
+     * @return The path {@code selector.property}.
+     */
+    String path(String property) {
+        return child(property).selector;
+    }
+}
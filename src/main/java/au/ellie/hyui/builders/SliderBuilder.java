@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventActions;
 import au.ellie.hyui.elements.UIElements;
@@ -55,21 +56,25 @@ public class SliderBuilder extends UIElementBuilder<SliderBuilder> {
 
     public SliderBuilder withMin(int min) {
         this.min = min;
+        markDirty();
         return this;
     }
 
     public SliderBuilder withMax(int max) {
         this.max = max;
+        markDirty();
         return this;
     }
 
     public SliderBuilder withStep(int step) {
         this.step = step;
+        markDirty();
         return this;
     }
 
     public SliderBuilder withValue(int value) {
         this.value = value;
+        markDirty();
         return this;
     }
 
@@ -130,25 +135,31 @@ public class SliderBuilder extends UIElementBuilder<SliderBuilder> {
         String selector = getSelector();
         if (selector == null) return;
 
-        if (min != null) {
-            commands.set(selector + ".Min", min);
+        if (min != null && shouldSend(paths().path("Min"), min)) {
+            commands.set(paths().path("Min"), min);
         }
-        if (max != null) {
-            commands.set(selector + ".Max", max);
+        if (max != null && shouldSend(paths().path("Max"), max)) {
+            commands.set(paths().path("Max"), max);
         }
-        if (step != null) {
-            commands.set(selector + ".Step", step);
+        if (step != null && shouldSend(paths().path("Step"), step)) {
+            commands.set(paths().path("Step"), step);
         }
         if (value != null) {
-            commands.set(selector + ".Value", value);
+            commands.set(paths().path("Value"), value);
         }
 
         if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Style for Slider " + selector);
-            commands.set(selector + ".Style", style);
-        } else {
-            HyUIPlugin.getLog().logFinest("Setting Style for Slider to DefaultSliderStyle " + selector);
-            commands.set(selector + ".Style", Value.ref("Common.ui", "DefaultSliderStyle"));
+            if (shouldSend(paths().path("Style"), style)) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting Style for Slider " + selector);
+                }
+                commands.set(paths().path("Style"), style);
+            }
+        } else if (shouldSend(paths().path("Style"), "Common.ui", "DefaultSliderStyle")) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style for Slider to DefaultSliderStyle " + selector);
+            }
+            commands.set(paths().path("Style"), Value.ref("Common.ui", "DefaultSliderStyle"));
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -157,9 +168,11 @@ public class SliderBuilder extends UIElementBuilder<SliderBuilder> {
         listeners.forEach(listener -> {
             if (listener.type() == CustomUIEventBindingType.ValueChanged) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding ValueChanged event binding for " + selector + " with eventId: " + eventId);
+                }
                 events.addEventBinding(CustomUIEventBindingType.ValueChanged, selector,
-                        EventData.of("@ValueInt", selector + ".Value")
+                        EventData.of("@ValueInt", paths().path("Value"))
                             .append("Target", eventId)
                             .append("Action", UIEventActions.VALUE_CHANGED),
                         false);
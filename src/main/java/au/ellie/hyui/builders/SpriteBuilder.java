@@ -59,6 +59,7 @@ public class SpriteBuilder extends UIElementBuilder<SpriteBuilder> implements La
      */
     public SpriteBuilder withTexture(String texturePath) {
         this.texturePath = texturePath;
+        markDirty();
         return this;
     }
 
@@ -73,6 +74,7 @@ public class SpriteBuilder extends UIElementBuilder<SpriteBuilder> implements La
      */
     public SpriteBuilder withFrame(int width, int height, int perRow, int count) {
         this.frame = new Frame(width, height, perRow, count);
+        markDirty();
         return this;
     }
 
@@ -84,12 +86,14 @@ public class SpriteBuilder extends UIElementBuilder<SpriteBuilder> implements La
      */
     public SpriteBuilder withFramesPerSecond(int fps) {
         this.framesPerSecond = fps;
+        markDirty();
         return this;
     }
 
     @Override
     public SpriteBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -134,7 +138,6 @@ public class SpriteBuilder extends UIElementBuilder<SpriteBuilder> implements La
         String selector = getSelector();
         if (selector == null) return;
 
-        String wrappingGroupSelector = "#" + getWrappingGroupId();
-        applyLayoutMode(commands, wrappingGroupSelector);
+        sendLayoutMode(commands, wrappingGroupPaths());
     }
 }
@@ -0,0 +1,19 @@
+package au.ellie.hyui.builders;
+
+/**
+ * The typed properties of a {@link HyUIStyle}. Each constant is named after the property it sets on the client.
+ */
+public enum StyleProperty {
+    FontSize,
+    RenderBold,
+    RenderUppercase,
+    RenderItalics,
+    TextColor,
+    LetterSpacing,
+    Wrap,
+    FontName,
+    OutlineColor,
+    HorizontalAlignment,
+    VerticalAlignment,
+    Alignment
+}
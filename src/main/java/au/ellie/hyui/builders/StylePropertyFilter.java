@@ -0,0 +1,75 @@
+package au.ellie.hyui.builders;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides which style properties an element sends, either as a list of the only allowed properties or as a
+ * list of excluded ones. Typed properties are checked against an {@link EnumSet}; raw properties set with
+ * {@link HyUIStyle#set(String, Object)} by name.
+ *
+ * <p>Filters are immutable. Builders keep theirs in static fields, so applying a style allocates nothing.</p>
+ */
+public final class StylePropertyFilter {
+
+    /**
+     * Allows every property.
+     */
+    public static final StylePropertyFilter ALL = except();
+    /**
+     * Allows no property.
+     */
+    public static final StylePropertyFilter NONE = only();
+
+    private final boolean whitelist;
+    private final Set<String> names;
+    private final EnumSet<StyleProperty> allowed;
+
+    private StylePropertyFilter(boolean whitelist, Set<String> names) {
+        this.whitelist = whitelist;
+        this.names = Set.copyOf(names);
+        this.allowed = EnumSet.noneOf(StyleProperty.class);
+        for (StyleProperty property : StyleProperty.values()) {
+            if (allows(property.name())) {
+                allowed.add(property);
+            }
+        }
+    }
+
+    /**
+     * @param names The only properties to send
+     */
+    public static StylePropertyFilter only(String... names) {
+        return new StylePropertyFilter(true, Set.of(names));
+    }
+
+    /**
+     * @param names The properties not to send
+     */
+    public static StylePropertyFilter except(String... names) {
+        return new StylePropertyFilter(false, Set.of(names));
+    }
+
+    /**
+     * @return A filter that also rejects the given properties.
+     */
+    public StylePropertyFilter without(String... removed) {
+        Set<String> updated = new HashSet<>(names);
+        if (whitelist) {
+            Arrays.asList(removed).forEach(updated::remove);
+        } else {
+            updated.addAll(Arrays.asList(removed));
+        }
+        return new StylePropertyFilter(whitelist, updated);
+    }
+
+    public boolean allows(StyleProperty property) {
+        return allowed.contains(property);
+    }
+
+    public boolean allows(String name) {
+        return whitelist == names.contains(name);
+    }
+}
@@ -29,6 +29,7 @@ public class TabContentBuilder extends UIElementBuilder<TabContentBuilder>
      */
     public TabContentBuilder withTabId(String tabId) {
         this.tabId = tabId;
+        markDirty();
         return this;
     }
 
@@ -37,6 +38,7 @@ public class TabContentBuilder extends UIElementBuilder<TabContentBuilder>
      */
     public TabContentBuilder withTabNavigationId(String tabNavigationId) {
         this.tabNavigationId = tabNavigationId;
+        markDirty();
         return this;
     }
 
@@ -51,6 +53,7 @@ public class TabContentBuilder extends UIElementBuilder<TabContentBuilder>
     @Override
     public TabContentBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -62,6 +65,7 @@ public class TabContentBuilder extends UIElementBuilder<TabContentBuilder>
     @Override
     public TabContentBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -75,8 +79,8 @@ public class TabContentBuilder extends UIElementBuilder<TabContentBuilder>
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
     }
 
     @Override
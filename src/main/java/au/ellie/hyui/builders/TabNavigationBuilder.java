@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.LayoutModeSupported;
 import au.ellie.hyui.elements.UIElements;
@@ -121,6 +122,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
      */
     public TabNavigationBuilder withSelectedTab(String tabId) {
         this.selectedTabId = tabId;
+        markDirty();
         return this;
     }
 
@@ -129,6 +131,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
      */
     public TabNavigationBuilder withSelectedTabStyle(HyUIStyle style) {
         this.selectedTabStyle = style;
+        markDirty();
         return this;
     }
 
@@ -137,6 +140,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
      */
     public TabNavigationBuilder withUnselectedTabStyle(HyUIStyle style) {
         this.unselectedTabStyle = style;
+        markDirty();
         return this;
     }
 
@@ -145,6 +149,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
      */
     public TabNavigationBuilder withTabSpacing(int spacing) {
         this.tabSpacing = spacing;
+        markDirty();
         return this;
     }
 
@@ -257,6 +262,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
     @Override
     public TabNavigationBuilder withLayoutMode(String layoutMode) {
         this.layoutMode = layoutMode;
+        markDirty();
         return this;
     }
 
@@ -268,6 +274,7 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
     @Override
     public TabNavigationBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -292,8 +299,8 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
         String selector = getSelector();
         if (selector == null) return;
 
-        applyLayoutMode(commands, selector);
-        applyBackground(commands, selector);
+        sendLayoutMode(commands, selector);
+        sendBackground(commands, selector);
 
         if ((selectedTabId == null || !hasTab(selectedTabId)) && !tabs.isEmpty()) {
             selectedTabId = tabs.get(0).id();
@@ -336,7 +343,9 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
             this.addChild(tabButton);
             tabButtons.add(tabButton);
 
-            HyUIPlugin.getLog().logFinest("Added tab: " + tab.id() + " (selected: " + isSelected + ")");
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Added tab: " + tab.id() + " (selected: " + isSelected + ")");
+            }
         }
     }
 
@@ -409,12 +418,16 @@ public class TabNavigationBuilder extends UIElementBuilder<TabNavigationBuilder>
 
     private void markTabsDirty() {
         tabsVersion++;
+        markDirty();
     }
 
     private void clearTabButtons() {
         if (tabButtons.isEmpty()) {
             return;
         }
+        for (UIElementBuilder<?> tabButton : tabButtons) {
+            removeBuiltChild(tabButton);
+        }
         children.removeAll(tabButtons);
         tabButtons.clear();
     }
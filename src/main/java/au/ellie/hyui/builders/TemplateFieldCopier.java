@@ -0,0 +1,123 @@
+package au.ellie.hyui.builders;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Copies the template-controlled fields of one builder onto another, through method handles resolved once per
+ * builder class.
+ *
+ * <p>Every non-static, non-final, non-transient field declared by the class and its builder superclasses is
+ * copied, except the ones that identify the element on the client or track its build state. Fields that
+ * cannot be made accessible are skipped.</p>
+ */
+final class TemplateFieldCopier {
+
+    /**
+     * Fields that are never copied.
+     */
+    static final Set<String> EXCLUSIONS = Set.of(
+            "listeners",
+            "children",
+            "id",
+            "userId",
+            "theme",
+            "parentSelector",
+            "editAfterCallbacks",
+            "editBeforeCallbacks",
+            "parent",
+            "dirty",
+            "dirtyDescendant",
+            "pendingInsert",
+            "built",
+            "insertBeforeSelector",
+            "lastBuiltTabsVersion",
+            "tabsVersion",
+            "selectedTabId"
+    );
+
+    private static final ClassValue<TemplateFieldCopier> COPIERS = new ClassValue<>() {
+        @Override
+        protected TemplateFieldCopier computeValue(Class<?> type) {
+            return new TemplateFieldCopier(type);
+        }
+    };
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+
+    private TemplateFieldCopier(Class<?> type) {
+        List<MethodHandle> resolvedGetters = new ArrayList<>();
+        List<MethodHandle> resolvedSetters = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        Class<?> current = type;
+        while (current != null && UIElementBuilder.class.isAssignableFrom(current)) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)
+                        || field.isSynthetic() || EXCLUSIONS.contains(field.getName())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER);
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER);
+                    resolvedGetters.add(getter);
+                    resolvedSetters.add(setter);
+                } catch (IllegalAccessException | RuntimeException ignored) {
+                    // Skip fields we can't safely update.
+                }
+            }
+            if (current == UIElementBuilder.class) {
+                break;
+            }
+            current = current.getSuperclass();
+        }
+
+        this.getters = resolvedGetters.toArray(new MethodHandle[0]);
+        this.setters = resolvedSetters.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * @param type The builder class
+     * @return The shared copier for the class.
+     */
+    static TemplateFieldCopier of(Class<?> type) {
+        return COPIERS.get(type);
+    }
+
+    /**
+     * Copies every field from {@code source} onto {@code target}, which must be of the same class.
+     *
+     * @return true if any copied value differs from the one {@code target} had.
+     */
+    boolean copy(Object target, Object source) {
+        boolean changed = false;
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                Object value = (Object) getters[i].invokeExact(source);
+                if (!changed && !Objects.equals((Object) getters[i].invokeExact(target), value)) {
+                    changed = true;
+                }
+                setters[i].invokeExact(target, value);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // Field accessors do not throw checked exceptions.
+            throw new IllegalStateException(e);
+        }
+        return changed;
+    }
+}
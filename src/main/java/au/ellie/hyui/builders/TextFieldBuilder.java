@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.ScrollbarStyleSupported;
@@ -12,7 +13,6 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 
-import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -21,6 +21,8 @@ import java.util.function.Consumer;
  */
 public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
         implements BackgroundSupported<TextFieldBuilder>, ScrollbarStyleSupported<TextFieldBuilder> {
+    private static final StylePropertyFilter STYLE_FILTER = StylePropertyFilter.except("TextColor");
+
     private String value;
     private String placeholderText;
     private Integer maxLength;
@@ -110,6 +112,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
     public TextFieldBuilder withValue(String value) {
         this.value = value;
         this.initialValue = value;
+        markDirty();
         return this;
     }
 
@@ -120,6 +123,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withPlaceholderText(String placeholderText) {
         this.placeholderText = placeholderText;
+        markDirty();
         return this;
     }
 
@@ -139,6 +143,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withMaxLength(int maxLength) {
         this.maxLength = maxLength;
+        markDirty();
         return this;
     }
 
@@ -149,6 +154,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withMaxVisibleLines(int maxVisibleLines) {
         this.maxVisibleLines = maxVisibleLines;
+        markDirty();
         return this;
     }
 
@@ -159,6 +165,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withReadOnly(boolean readOnly) {
         this.readOnly = readOnly;
+        markDirty();
         return this;
     }
 
@@ -169,6 +176,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withPassword(boolean password) {
         this.password = password;
+        markDirty();
         return this;
     }
 
@@ -179,6 +187,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withPasswordChar(String passwordChar) {
         this.passwordChar = passwordChar;
+        markDirty();
         return this;
     }
 
@@ -189,6 +198,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
      */
     public TextFieldBuilder withAutoGrow(boolean autoGrow) {
         this.autoGrow = autoGrow;
+        markDirty();
         return this;
     }
 
@@ -201,6 +211,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
     public TextFieldBuilder withBackground(HyUIPatchStyle background) {
         if (!isMultiline) return this;
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -229,6 +240,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
         if (!isMultiline) return this;
         this.backgroundStyleDocument = document;
         this.backgroundStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -240,6 +252,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
     public TextFieldBuilder withContentPadding(HyUIPadding padding) {
         if (!isMultiline) return this;
         this.contentPadding = padding;
+        markDirty();
         return this;
     }
 
@@ -248,6 +261,7 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
         if (!isMultiline) return this;
         this.scrollbarStyleDocument = document;
         this.scrollbarStyleReference = styleReference;
+        markDirty();
         return this;
     }
 
@@ -305,8 +319,8 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
     }
 
     @Override
-    protected Set<String> getUnsupportedStyleProperties() {
-        return Set.of("TextColor");
+    protected StylePropertyFilter getStyleFilter() {
+        return STYLE_FILTER;
     }
 
     @Override
@@ -315,56 +329,66 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
         if (selector == null) return;
 
         if (value != null) {
-            HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
-            commands.set(selector + ".Value", value);
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Value: " + value + " for " + selector);
+            }
+            commands.set(paths().path("Value"), value);
         }
 
-        if (placeholderText != null) {
-            commands.set(selector + ".PlaceholderText", placeholderText);
+        if (placeholderText != null && shouldSend(paths().path("PlaceholderText"), placeholderText)) {
+            commands.set(paths().path("PlaceholderText"), placeholderText);
         }
         
-        if (maxLength != null) {
-            commands.set(selector + ".MaxLength", maxLength);
+        if (maxLength != null && shouldSend(paths().path("MaxLength"), maxLength)) {
+            commands.set(paths().path("MaxLength"), maxLength);
         }
 
-        if (maxVisibleLines != null) {
-            commands.set(selector + ".MaxVisibleLines", maxVisibleLines);
+        if (maxVisibleLines != null && shouldSend(paths().path("MaxVisibleLines"), maxVisibleLines)) {
+            commands.set(paths().path("MaxVisibleLines"), maxVisibleLines);
         }
 
-        if (readOnly != null) {
-            commands.set(selector + ".ReadOnly", readOnly);
+        if (readOnly != null && shouldSend(paths().path("ReadOnly"), readOnly)) {
+            commands.set(paths().path("ReadOnly"), readOnly);
         }
 
-        if (password != null) {
-            commands.set(selector + ".Password", password);
+        if (password != null && shouldSend(paths().path("Password"), password)) {
+            commands.set(paths().path("Password"), password);
         }
 
-        if (passwordChar != null) {
-            commands.set(selector + ".PasswordChar", passwordChar);
+        if (passwordChar != null && shouldSend(paths().path("PasswordChar"), passwordChar)) {
+            commands.set(paths().path("PasswordChar"), passwordChar);
         }
 
-        if (autoGrow != null) {
-            commands.set(selector + ".AutoGrow", autoGrow);
+        if (autoGrow != null && shouldSend(paths().path("AutoGrow"), autoGrow)) {
+            commands.set(paths().path("AutoGrow"), autoGrow);
         }
 
         if (backgroundStyleReference != null && backgroundStyleDocument != null) {
-            commands.set(selector + ".Background", Value.ref(backgroundStyleDocument, backgroundStyleReference));
+            if (shouldSend(paths().path("Background"), backgroundStyleDocument, backgroundStyleReference)) {
+                commands.set(paths().path("Background"), Value.ref(backgroundStyleDocument, backgroundStyleReference));
+            }
         } else {
-            applyBackground(commands, selector);
+            sendBackground(commands, selector);
         }
 
-        applyScrollbarStyle(commands, selector);
+        sendScrollbarStyle(commands, selector);
 
         if (contentPadding != null) {
-            if (contentPadding.getLeft() != null) commands.set(selector + ".ContentPadding.Left", contentPadding.getLeft());
-            if (contentPadding.getTop() != null) commands.set(selector + ".ContentPadding.Top", contentPadding.getTop());
-            if (contentPadding.getRight() != null) commands.set(selector + ".ContentPadding.Right", contentPadding.getRight());
-            if (contentPadding.getBottom() != null) commands.set(selector + ".ContentPadding.Bottom", contentPadding.getBottom());
+            Integer left = contentPadding.getLeft();
+            Integer top = contentPadding.getTop();
+            Integer right = contentPadding.getRight();
+            Integer bottom = contentPadding.getBottom();
+            if (left != null && shouldSend(paths().path("ContentPadding.Left"), left)) commands.set(paths().path("ContentPadding.Left"), left);
+            if (top != null && shouldSend(paths().path("ContentPadding.Top"), top)) commands.set(paths().path("ContentPadding.Top"), top);
+            if (right != null && shouldSend(paths().path("ContentPadding.Right"), right)) commands.set(paths().path("ContentPadding.Right"), right);
+            if (bottom != null && shouldSend(paths().path("ContentPadding.Bottom"), bottom)) commands.set(paths().path("ContentPadding.Bottom"), bottom);
         }
 
-        if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
         if (listeners.isEmpty()) {
             // To handle data back to the .getValue, we need to add at least one listener.
@@ -382,9 +406,11 @@ public class TextFieldBuilder extends UIElementBuilder<TextFieldBuilder>
                     listener.type() == CustomUIEventBindingType.Validating ||
                     listener.type() == CustomUIEventBindingType.FocusGained) {
                 String eventId = getEffectiveId();
-                HyUIPlugin.getLog().logFinest("Adding " + listener.type() + " event binding for " + selector + " with eventId: " + eventId);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Adding " + listener.type() + " event binding for " + selector + " with eventId: " + eventId);
+                }
                 events.addEventBinding(listener.type(), selector,
-                        EventData.of("@Value", selector + ".Value")
+                        EventData.of("@Value", paths().path("Value"))
                                 .append("Target", eventId)
                                 .append("Action", listener.type().name()),
                         false);
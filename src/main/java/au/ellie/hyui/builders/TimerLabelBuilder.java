@@ -1,6 +1,7 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.elements.BackgroundSupported;
 import au.ellie.hyui.elements.UIElements;
 import au.ellie.hyui.theme.Theme;
@@ -59,6 +60,7 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
     public TimerLabelBuilder withTimeMs(long milliseconds) {
         this.timeValueMs = milliseconds;
         this.text = null; // Clear manual text
+        markDirty();
         return this;
     }
 
@@ -81,6 +83,7 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
      */
     public TimerLabelBuilder withFormat(TimerFormat format) {
         this.format = format;
+        markDirty();
         return this;
     }
 
@@ -89,6 +92,7 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
      */
     public TimerLabelBuilder withPrefix(String prefix) {
         this.prefix = prefix != null ? prefix : "";
+        markDirty();
         return this;
     }
 
@@ -97,6 +101,7 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
      */
     public TimerLabelBuilder withSuffix(String suffix) {
         this.suffix = suffix != null ? suffix : "";
+        markDirty();
         return this;
     }
 
@@ -105,12 +110,14 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
      */
     public TimerLabelBuilder withText(String text) {
         this.text = text;
+        markDirty();
         return this;
     }
 
     @Override
     public TimerLabelBuilder withBackground(HyUIPatchStyle background) {
         this.background = background;
+        markDirty();
         return this;
     }
 
@@ -172,15 +179,21 @@ public class TimerLabelBuilder extends UIElementBuilder<TimerLabelBuilder> imple
         String selector = getSelector();
         if (selector == null) return;
 
-        applyBackground(commands, selector);
+        sendBackground(commands, selector);
 
         String displayText = getDisplayText();
-        HyUIPlugin.getLog().logFinest("Setting Timer Text: " + displayText + " for " + selector);
-        commands.set(selector + ".Text", displayText);
+        if (shouldSend(paths().path("Text"), displayText)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Timer Text: " + displayText + " for " + selector);
+            }
+            commands.set(paths().path("Text"), displayText);
+        }
 
-        if (hyUIStyle == null && style != null) {
-            HyUIPlugin.getLog().logFinest("Setting Raw Style: " + style + " for " + selector);
-            commands.set(selector + ".Style", style);
+        if (hyUIStyle == null && style != null && shouldSend(paths().path("Style"), style)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Raw Style: " + style + " for " + selector);
+            }
+            commands.set(paths().path("Style"), style);
         }
     }
 }
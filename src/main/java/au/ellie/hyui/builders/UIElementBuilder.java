@@ -1,24 +1,33 @@
 package au.ellie.hyui.builders;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
+import au.ellie.hyui.elements.BackgroundSupported;
+import au.ellie.hyui.elements.LayoutModeSupported;
+import au.ellie.hyui.elements.ScrollbarStyleSupported;
 import au.ellie.hyui.theme.Theme;
 import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.events.UIEventListener;
 import au.ellie.hyui.utils.BsonDocumentHelper;
 import au.ellie.hyui.utils.PropertyBatcher;
+import com.hypixel.hytale.codec.EmptyExtraInfo;
 import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import org.bson.BsonDocument;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 
 /**
  * A builder class for constructing UI elements with a hierarchical structure and configurable 
@@ -27,11 +36,17 @@ import java.lang.reflect.Modifier;
  * to be extended and further customized.
  */
 public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
+    /**
+     * Style filters built from the deprecated style hooks, per builder class.
+     */
+    private static final Map<Class<?>, StylePropertyFilter> LEGACY_STYLE_FILTERS = new ConcurrentHashMap<>();
+
     protected final Theme theme;
     protected String elementPath;
     protected String uiFilePath;
     protected String id;
     protected String userId;
+    protected String key;
     protected String style;
     protected HyUIStyle hyUIStyle;
     protected final List<UIEventListener<?>> listeners = new ArrayList<>();
@@ -49,24 +64,89 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     protected final List<BiConsumer<UICommandBuilder, String>> editAfterCallbacks = new ArrayList<>();
     protected final List<BiConsumer<UICommandBuilder, String>> editBeforeCallbacks = new ArrayList<>();
     protected final Map<String, HyUIStyle> secondaryStyles = new HashMap<>();
-    private static final Set<String> TEMPLATE_FIELD_EXCLUSIONS = Set.of(
-            "listeners",
-            "children",
-            "id",
-            "userId",
-            "theme",
-            "parentSelector",
-            "editAfterCallbacks",
-            "editBeforeCallbacks",
-            "lastBuiltTabsVersion",
-            "tabsVersion",
-            "selectedTabId"
-    );
+    /**
+     * The last value sent to the client for each property path, so update passes only emit what changed.
+     */
+    private final Map<String, Object> sentValues = new HashMap<>();
 
     private static int idCounter = 0;
+    private static final VarHandle DIRTY;
+
+    static {
+        try {
+            DIRTY = MethodHandles.lookup().findVarHandle(UIElementBuilder.class, "dirty", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
     
     protected boolean isUpdateOnly = false;
 
+    /**
+     * The element this one was last built inside, used to flag ancestors when this element changes.
+     */
+    private UIElementBuilder<?> parent;
+    /**
+     * Whether this element changed since it was last sent. New elements have never been sent.
+     *
+     * <p>HUD refresh listeners may change an element on a worker thread while the world thread builds it.
+     * Both flags are volatile and cleared before the element is read, so a change made during a build marks
+     * the element again and is sent by the next pass instead of being lost.</p>
+     */
+    private volatile boolean dirty = true;
+    /**
+     * Whether an element below this one is dirty, so update passes know which subtrees to enter.
+     */
+    private volatile boolean dirtyDescendant = true;
+    /**
+     * Set by template reconciliation when this element is new or moved, so the next update pass creates it
+     * on the client instead of only sending changed properties.
+     */
+    private boolean pendingInsert;
+    /**
+     * Whether this element has been created on the client. An update pass creates elements that have not,
+     * such as children added with {@link #addChild} after the interface was shown.
+     */
+    private boolean built;
+    /**
+     * The root selector of the sibling this element is created in front of, or null to append it.
+     */
+    private String insertBeforeSelector;
+    /**
+     * Root selectors of children removed by template reconciliation, sent on the next update pass.
+     */
+    private final List<String> pendingRemovals = new ArrayList<>();
+    /**
+     * The selector and property paths of this element, rebuilt when its id, wrapping or type selector changes.
+     * Transient fields are caches and are not copied from templates.
+     */
+    private transient PropertyPaths paths;
+    private transient String pathsId;
+    private transient boolean pathsWrapped;
+    private transient String pathsTypeSelector;
+    private transient PropertyPaths wrappingGroupPaths;
+    private transient String wrappingGroupPathsId;
+    /**
+     * The paths last passed to {@link #applyRawStyleProperties(UICommandBuilder, String, HyUIStyle)}.
+     */
+    private transient PropertyPaths rawStylePaths;
+    /**
+     * The last selector outside this element's own paths that properties were sent to, see {@link #resolvePaths}.
+     */
+    private transient PropertyPaths foreignPaths;
+    /**
+     * The tooltip last encoded for comparison, and its encoding, so the tooltip is only encoded once.
+     */
+    private transient Message encodedTooltipSource;
+    private transient Object encodedTooltip;
+    /**
+     * Counts calls to {@link #markDirty()}, so generated markup knows when the element changed.
+     */
+    private transient int changeCount;
+    private transient CachedMarkup basicMarkup;
+    private transient CachedMarkup customMarkup;
+    private transient CachedMarkup wrappingGroupMarkup;
+
     public UIElementBuilder(String elementPath, String typeSelector) {
         this(Theme.RAW, elementPath, typeSelector);
     }
@@ -91,11 +171,13 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     
     public T withUiFile(String uiFilePath) {
         this.uiFilePath = uiFilePath;
+        markDirty();
         return (T) this;
     }
 
     public T addChild(UIElementBuilder<?> child) {
         this.children.add(child);
+        markDirty();
         return (T) this;
     }
     
@@ -120,35 +202,37 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
             return;
         }
 
-        Class<?> type = getClass();
-        while (type != null && UIElementBuilder.class.isAssignableFrom(type)) {
-            for (Field field : type.getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
-                    continue;
-                }
-                if (TEMPLATE_FIELD_EXCLUSIONS.contains(field.getName())) {
-                    continue;
-                }
-                try {
-                    if (!field.canAccess(this)) {
-                        field.setAccessible(true);
-                    }
-                    field.set(this, field.get(template));
-                } catch (IllegalAccessException ignored) {
-                    // Skip fields we can't safely update.
-                }
-            }
-            if (type == UIElementBuilder.class) {
-                break;
-            }
-            type = type.getSuperclass();
+        boolean changed = TemplateFieldCopier.of(getClass()).copy(this, template);
+        if (changed) {
+            markDirty();
         }
     }
 
+    /**
+     * @return the element's style. A shared style from {@link #internStyles()} is first replaced by a copy
+     * of its own, so changes made through the returned style only affect this element.
+     */
     public HyUIStyle getHyUIStyle() {
+        if (hyUIStyle != null && hyUIStyle.isInterned()) {
+            hyUIStyle = hyUIStyle.copy();
+            markDirty();
+        }
         return hyUIStyle;
     }
 
+    /**
+     * Replaces the element's styles with shared instances, see {@link HyUIStyle#intern(HyUIStyle)}. Elements
+     * parsed from HyUIML are interned once parsed, so long lists with the same styles share them.
+     *
+     * @return the builder instance for method chaining
+     */
+    @SuppressWarnings("unchecked")
+    public T internStyles() {
+        hyUIStyle = HyUIStyle.intern(hyUIStyle);
+        secondaryStyles.replaceAll((property, style) -> HyUIStyle.intern(style));
+        return (T) this;
+    }
+
     /**
      * @return true if the element uses the @Value (or data-type equiv.) (RefValue) property for its value in events.
      */
@@ -183,9 +267,29 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
         if (style != null) {
             this.secondaryStyles.put(property, style);
         }
+        markDirty();
+        return (T) this;
+    }
+
+    /**
+     * Sets the key used to match this element against the previous render when a template is refreshed.
+     * Give every row of a repeated list a unique key so rows keep their state when the list is reordered,
+     * grows or shrinks.
+     *
+     * @param key the key, unique among the element's siblings
+     * @return the builder instance for method chaining
+     */
+    @SuppressWarnings("unchecked")
+    public T withKey(String key) {
+        this.key = key;
+        markDirty();
         return (T) this;
     }
 
+    public String getKey() {
+        return key;
+    }
+
     /**
      * @param id the id to set for the element, without leading #.
      * @return the builder instance for method chaining
@@ -196,6 +300,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
             this.userId = id;
             this.id = sanitizeId(id);
         }
+        markDirty();
         return (T) this;
     }
 
@@ -222,6 +327,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withStyle(String style) {
         this.style = style;
+        markDirty();
         return (T) this;
     }
 
@@ -236,6 +342,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
         if (supportsStyling()) {
             this.hyUIStyle = style;
         }
+        markDirty();
         return (T) this;
     }
 
@@ -276,6 +383,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withAnchor(HyUIAnchor anchor) {
         this.anchor = anchor;
+        markDirty();
         return (T) this;
     }
 
@@ -292,6 +400,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withPadding(HyUIPadding padding) {
         this.padding = padding;
+        markDirty();
         return (T) this;
     }
 
@@ -304,6 +413,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withVisible(boolean visible) {
         this.visible = visible;
+        markDirty();
         return (T) this;
     }
 
@@ -317,6 +427,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withTooltipTextSpan(Message message) {
         this.tooltipTextSpan = message;
+        markDirty();
         return (T) this;
     }
 
@@ -331,6 +442,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
         if (tooltipText != null) {
             this.tooltipTextSpan = Message.raw(tooltipText);
         }
+        markDirty();
         return (T) this;
     }
 
@@ -343,6 +455,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withHitTestVisible(boolean hitTestVisible) {
         this.hitTestVisible = hitTestVisible;
+        markDirty();
         return (T) this;
     }
 
@@ -357,6 +470,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T withFlexWeight(int weight) {
         this.flexWeight = weight;
+        markDirty();
         return (T) this;
     }
 
@@ -374,6 +488,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T editElementAfter(BiConsumer<UICommandBuilder, String> callback) {
         this.editAfterCallbacks.add(callback);
+        markDirty();
         return (T) this;
     }
 
@@ -391,6 +506,7 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     @SuppressWarnings("unchecked")
     public T editElementBefore(BiConsumer<UICommandBuilder, String> callback) {
         this.editBeforeCallbacks.add(callback);
+        markDirty();
         return (T) this;
     }
 
@@ -412,41 +528,34 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     }
 
     protected void build(UICommandBuilder commands, UIEventBuilder events, boolean updateOnly) {
+        if ((pendingInsert || !built) && updateOnly) {
+            // New or moved: the client does not have it where it belongs yet.
+            updateOnly = false;
+        } else if (!updateOnly) {
+            // A full build recreates everything in order, so no position needs fixing.
+            insertBeforeSelector = null;
+        }
+        pendingInsert = false;
+        built = true;
+        if (updateOnly && !needsUpdate()) {
+            return;
+        }
         if (wrapInGroup && parentSelector != null) {
             String wrappingGroupId = getWrappingGroupId();
             if (!updateOnly) {
-                HyUIPlugin.getLog().logFinest("Creating wrapping group: #" + wrappingGroupId + " for element: " + (typeSelector != null ? typeSelector : elementPath));
-
-                StringBuilder inlineMarkup = new StringBuilder();
-                inlineMarkup.append("Group #").append(wrappingGroupId).append(" { ");
-
-                if (padding != null) {
-                    StringBuilder paddingMarkup = new StringBuilder();
-                    if (padding.getLeft() != null) paddingMarkup.append("Left: ").append(padding.getLeft());
-                    if (padding.getTop() != null) {
-                        if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
-                        paddingMarkup.append("Top: ").append(padding.getTop());
-                    }
-                    if (padding.getRight() != null) {
-                        if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
-                        paddingMarkup.append("Right: ").append(padding.getRight());
-                    }
-                    if (padding.getBottom() != null) {
-                        if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
-                        paddingMarkup.append("Bottom: ").append(padding.getBottom());
-                    }
-                    if (paddingMarkup.length() > 0) {
-                        inlineMarkup.append("Padding: (").append(paddingMarkup).append("); ");
-                    }
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Creating wrapping group: #" + wrappingGroupId + " for element: " + (typeSelector != null ? typeSelector : elementPath));
                 }
 
-                inlineMarkup.append("}");
-                commands.appendInline(parentSelector, inlineMarkup.toString());
+                if (!isCurrent(wrappingGroupMarkup)) {
+                    wrappingGroupMarkup = cacheMarkup(generateWrappingGroupMarkup(wrappingGroupId));
+                }
+                appendRootInline(commands, wrappingGroupMarkup.markup());
             }
 
             // The inner element should be inside the wrapping group
             String originalParent = parentSelector;
-            parentSelector = "#" + wrappingGroupId;
+            parentSelector = wrappingGroupPaths().selector();
             executeBuild(commands, events, updateOnly);
             parentSelector = originalParent;
         } else {
@@ -454,6 +563,143 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
         }
     }
 
+    /**
+     * Appends the element's root to its parent, or inserts it in front of the sibling chosen by template
+     * reconciliation. Only the root is positioned; anything appended inside it afterwards is appended.
+     */
+    private void appendRootInline(UICommandBuilder commands, String markup) {
+        if (insertBeforeSelector != null) {
+            commands.insertBeforeInline(insertBeforeSelector, markup);
+            insertBeforeSelector = null;
+        } else {
+            commands.appendInline(parentSelector, markup);
+        }
+    }
+
+    private void appendRootFile(UICommandBuilder commands, String path) {
+        if (insertBeforeSelector != null) {
+            commands.insertBefore(insertBeforeSelector, path);
+            insertBeforeSelector = null;
+        } else {
+            commands.append(parentSelector, path);
+        }
+    }
+
+    /**
+     * @return the selector of the outermost node this element creates on the client.
+     */
+    String getRootSelector() {
+        return (wrapInGroup ? wrappingGroupPaths() : paths()).selector();
+    }
+
+    /**
+     * Schedules this element to be created on the next update pass.
+     *
+     * @param beforeSelector the root selector of the sibling to insert it in front of, or null to append it
+     * @param owner          the element it will be built inside, or null at the top level
+     */
+    void scheduleInsert(String beforeSelector, UIElementBuilder<?> owner) {
+        if (owner != null) {
+            this.parent = owner;
+        }
+        this.pendingInsert = true;
+        this.insertBeforeSelector = beforeSelector;
+        markDirty();
+    }
+
+    boolean isPendingInsert() {
+        return pendingInsert;
+    }
+
+    /**
+     * @return true if the next update pass appends this element to the end of its parent, rather than
+     *         updating it in place or inserting it in front of a sibling.
+     */
+    boolean appendsOnNextUpdate() {
+        return (pendingInsert || !built) && insertBeforeSelector == null;
+    }
+
+    /**
+     * Schedules the removal of a former child on the next update pass.
+     */
+    void scheduleRemoval(String rootSelector) {
+        pendingRemovals.add(rootSelector);
+        markDirty();
+    }
+
+    /**
+     * Schedules the removal of a child that is being dropped from {@link #children}, if the client has it.
+     * Added back later, it is created again.
+     */
+    void removeBuiltChild(UIElementBuilder<?> child) {
+        if (child.built) {
+            scheduleRemoval(child.getRootSelector());
+            child.built = false;
+        }
+    }
+
+    private String generateWrappingGroupMarkup(String wrappingGroupId) {
+        StringBuilder inlineMarkup = new StringBuilder();
+        inlineMarkup.append("Group #").append(wrappingGroupId).append(" { ");
+
+        if (padding != null) {
+            StringBuilder paddingMarkup = new StringBuilder();
+            if (padding.getLeft() != null) paddingMarkup.append("Left: ").append(padding.getLeft());
+            if (padding.getTop() != null) {
+                if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
+                paddingMarkup.append("Top: ").append(padding.getTop());
+            }
+            if (padding.getRight() != null) {
+                if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
+                paddingMarkup.append("Right: ").append(padding.getRight());
+            }
+            if (padding.getBottom() != null) {
+                if (paddingMarkup.length() > 0) paddingMarkup.append(", ");
+                paddingMarkup.append("Bottom: ").append(padding.getBottom());
+            }
+            if (paddingMarkup.length() > 0) {
+                inlineMarkup.append("Padding: (").append(paddingMarkup).append("); ");
+            }
+        }
+
+        inlineMarkup.append("}");
+        return inlineMarkup.toString();
+    }
+
+    /**
+     * Inline markup generated for the element's state, reused by later full builds until the element changes.
+     */
+    private record CachedMarkup(String markup, int changeCount, String id, String elementPath,
+                                boolean wrapInGroup, List<Object> inputs) {}
+
+    private boolean isCurrent(CachedMarkup cached) {
+        // Fields assigned without a with* call still invalidate the markup, as long as the value is replaced.
+        // Objects edited in place, such as a padding whose top was changed, are compared by value.
+        return cached != null
+                && cached.changeCount() == changeCount
+                && cached.id() == id
+                && cached.elementPath() == elementPath
+                && cached.wrapInGroup() == wrapInGroup
+                && cached.inputs().equals(markupInputs());
+    }
+
+    private CachedMarkup cacheMarkup(String markup) {
+        return new CachedMarkup(markup, changeCount, id, elementPath, wrapInGroup, markupInputs());
+    }
+
+    /**
+     * Returns the current values of the mutable objects the inline markup is generated from. Subclasses that
+     * generate markup from more of them add theirs.
+     */
+    List<Object> markupInputs() {
+        List<Object> inputs = new ArrayList<>(2);
+        inputs.add(padding != null ? padding.snapshot() : null);
+        if (this instanceof BackgroundSupported<?> supported && supported.getBackground() != null) {
+            inputs.add(supported.getBackground().snapshot());
+        }
+        return inputs;
+    }
+
     protected boolean hasCustomInlineContent() {
         return false;
     }
@@ -463,15 +709,20 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     }
 
     protected void buildBase(UICommandBuilder commands, UIEventBuilder events, boolean updateOnly) {
-        String selector = getSelector();
-        HyUIPlugin.getLog().logFinest("Building element: " + (typeSelector != null ? typeSelector : elementPath) + " with ID: " + id + " at selector: " + selector);
+        PropertyPaths paths = paths();
+        String selector = paths.selector();
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("Building element: " + (typeSelector != null ? typeSelector : elementPath) + " with ID: " + id + " at selector: " + selector);
+        }
 
         if (parentSelector != null) {
             if (!updateOnly) {
                 String path = getAppendPath();
                 if (path != null && path.endsWith(".ui") && !hasCustomInlineContent()) {
-                    HyUIPlugin.getLog().logFinest("Appending UI file: " + path + " to " + parentSelector);
-                    commands.append(parentSelector, path);
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Appending UI file: " + path + " to " + parentSelector);
+                    }
+                    appendRootFile(commands, path);
 
                     // If it's a file but NOT wrapped, we need to set the ID of the root element in that file
                     // if it's not already correct.
@@ -480,95 +731,304 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
                          // Let's assume for now that if it's not wrapped, it's a singleton or handled by user.
                     }
                 } else if (hasCustomInlineContent()) {
-                    String inline = generateCustomInlineContent();
-                    HyUIPlugin.getLog().logFinest("Appending custom inline: " + inline + " to " + parentSelector);
-                    commands.appendInline(parentSelector, inline);
+                    if (!isCurrent(customMarkup)) {
+                        customMarkup = cacheMarkup(generateCustomInlineContent());
+                    }
+                    String inline = customMarkup.markup();
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Appending custom inline: " + inline + " to " + parentSelector);
+                    }
+                    appendRootInline(commands, inline);
                 } else {
-                    String inline = generateBasicInlineMarkup();
-                    HyUIPlugin.getLog().logFinest("Appending inline: " + inline + " to " + parentSelector);
-                    commands.appendInline(parentSelector, inline);
+                    if (!isCurrent(basicMarkup)) {
+                        basicMarkup = cacheMarkup(generateBasicInlineMarkup());
+                    }
+                    String inline = basicMarkup.markup();
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Appending inline: " + inline + " to " + parentSelector);
+                    }
+                    appendRootInline(commands, inline);
                 }
             }
             
-            if (anchor != null) {
-                HyUIPlugin.getLog().logFinest("Setting Anchor for " + selector);
-                commands.setObject(selector + ".Anchor", anchor.toHytaleAnchor());
+            if (anchor != null && shouldSend(paths.path("Anchor"), anchor.snapshot())) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting Anchor for " + selector);
+                }
+                commands.setObject(paths.path("Anchor"), anchor.toHytaleAnchor());
             }
 
             if (padding != null) {
                 if (!wrapInGroup) {
-                    HyUIPlugin.getLog().logFinest("Setting Padding for " + selector);
-                    if (padding.getLeft() != null) commands.set(selector + ".Padding.Left", padding.getLeft());
-                    if (padding.getTop() != null) commands.set(selector + ".Padding.Top", padding.getTop());
-                    if (padding.getRight() != null) commands.set(selector + ".Padding.Right", padding.getRight());
-                    if (padding.getBottom() != null) commands.set(selector + ".Padding.Bottom", padding.getBottom());
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Setting Padding for " + selector);
+                    }
+                    applyPadding(commands, paths);
                 } else if (updateOnly) {
-                    String groupSelector = "#" + getWrappingGroupId();
-                    HyUIPlugin.getLog().logFinest("Setting Padding for " + groupSelector);
-                    if (padding.getLeft() != null) commands.set(groupSelector + ".Padding.Left", padding.getLeft());
-                    if (padding.getTop() != null) commands.set(groupSelector + ".Padding.Top", padding.getTop());
-                    if (padding.getRight() != null) commands.set(groupSelector + ".Padding.Right", padding.getRight());
-                    if (padding.getBottom() != null) commands.set(groupSelector + ".Padding.Bottom", padding.getBottom());
+                    PropertyPaths groupPaths = wrappingGroupPaths();
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Setting Padding for " + groupPaths.selector());
+                    }
+                    applyPadding(commands, groupPaths);
                 }
             }
 
-            if (visible != null) {
-                HyUIPlugin.getLog().logFinest("Setting Visible: " + visible + " for " + selector);
-                commands.set(selector + ".Visible", visible);
+            if (visible != null && shouldSend(paths.path("Visible"), visible)) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting Visible: " + visible + " for " + selector);
+                }
+                commands.set(paths.path("Visible"), visible);
             }
 
-            if (tooltipTextSpan != null) {
-                HyUIPlugin.getLog().logFinest("Setting TooltipTextSpans for " + selector);
-                commands.set(selector + ".TooltipTextSpans", tooltipTextSpan);
+            if (tooltipTextSpan != null && shouldSend(paths.path("TooltipTextSpans"), encodedTooltip())) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting TooltipTextSpans for " + selector);
+                }
+                commands.set(paths.path("TooltipTextSpans"), tooltipTextSpan);
             }
 
-            if (hitTestVisible != null) {
-                HyUIPlugin.getLog().logFinest("Setting HitTestVisible: " + hitTestVisible + " for " + selector);
-                commands.set(selector + ".HitTestVisible", hitTestVisible);
+            if (hitTestVisible != null && shouldSend(paths.path("HitTestVisible"), hitTestVisible)) {
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Setting HitTestVisible: " + hitTestVisible + " for " + selector);
+                }
+                commands.set(paths.path("HitTestVisible"), hitTestVisible);
             }
 
             if (flexWeight != null) {
-                String flexSelector = wrapInGroup ? "#" + getWrappingGroupId() : selector;
-                HyUIPlugin.getLog().logFinest("Setting FlexWeight: " + flexWeight + " for " + flexSelector);
-                commands.set(flexSelector + ".FlexWeight", flexWeight);
+                String flexPath = (wrapInGroup ? wrappingGroupPaths() : paths).path("FlexWeight");
+                if (shouldSend(flexPath, flexWeight)) {
+                    if (HyUIPluginLogger.IS_DEV) {
+                        HyUIPlugin.getLog().logFinest("Setting FlexWeight: " + flexWeight + " for " + flexPath);
+                    }
+                    commands.set(flexPath, flexWeight);
+                }
             }
 
             if (hyUIStyle != null) {
-                BsonDocumentHelper doc = PropertyBatcher.beginSet();
-                applyStyle(commands, selector + ".Style", hyUIStyle, doc);
-                PropertyBatcher.endSet(selector + ".Style", doc, commands);
-                applyRawStyleProperties(commands, selector + ".Style", hyUIStyle);
-                hyUIStyle.getStates().forEach((state, nestedStyle) -> {
-                    BsonDocumentHelper innerDoc = PropertyBatcher.beginSet();
-                    applyStyle(commands, selector + ".Style." + state, nestedStyle, innerDoc);
-                    PropertyBatcher.endSet(selector + ".Style." + state, doc, commands);
-                    applyRawStyleProperties(commands, selector + ".Style." + state, nestedStyle);
-                });
-            }
-
-            secondaryStyles.forEach((property, style) -> {
-                BsonDocumentHelper doc = PropertyBatcher.beginSet();
-                applyStyle(commands, selector + "." + property, style, doc);
-                PropertyBatcher.endSet(selector + "." + property, doc, commands);
-                applyRawStyleProperties(commands, selector + "." + property, style);
-                style.getStates().forEach((state, nestedStyle) -> {
-                    BsonDocumentHelper innerDoc = PropertyBatcher.beginSet();
-                    applyStyle(commands, selector + "." + property + "." + state, nestedStyle, innerDoc);
-                    PropertyBatcher.endSet(selector + "." + property + "." + state, doc, commands);
-                    applyRawStyleProperties(commands, selector + "." + property + "." + state, nestedStyle);
-                });
-            });
+                applyStyleSet(commands, paths.child("Style"), hyUIStyle);
+            }
+
+            secondaryStyles.forEach((property, style) -> applyStyleSet(commands, paths.child(property), style));
+        }
+    }
+
+    /**
+     * Sends a style with its raw properties and states, e.g. {@code .Style} and {@code .Style.Hovered}, as a
+     * single document. Styles that use a style reference cannot be merged into a document, so they and
+     * anything layered on top of them are set on their own.
+     */
+    private void applyStyleSet(UICommandBuilder commands, PropertyPaths stylePaths, HyUIStyle style) {
+        if (style.getStyleReference() != null) {
+            applyStyle(commands, stylePaths.selector(), style, null);
+            applyRawStyleProperties(commands, stylePaths, style);
+            style.getStates().forEach((state, nestedStyle) ->
+                    applyStyleSet(commands, stylePaths.child(state), nestedStyle));
+            return;
         }
+
+        // An interned style is shared by many elements; build its document once per filter.
+        StylePropertyFilter filter = getStyleFilter();
+        BsonDocument document = style.getCachedDocument(filter);
+        if (document == null) {
+            BsonDocumentHelper doc = PropertyBatcher.beginSet();
+            collectStyle(commands, stylePaths, style, doc);
+            document = doc.getDocument();
+            style.cacheDocument(filter, document);
+        }
+        // Documents are never modified once built, so the sent value can be kept without a copy.
+        if (!document.isEmpty() && shouldSend(stylePaths.selector(), document)) {
+            PropertyBatcher.set(stylePaths.selector(), document, commands);
+        }
+        applyReferencedStates(commands, stylePaths, style);
+    }
+
+    private void collectStyle(UICommandBuilder commands, PropertyPaths stylePaths, HyUIStyle style,
+                              BsonDocumentHelper doc) {
+        applyStyle(commands, stylePaths.selector(), style, doc);
+        collectRawStyleProperties(style, doc);
+        style.getStates().forEach((state, nestedStyle) -> {
+            if (nestedStyle.getStyleReference() != null) {
+                return;
+            }
+            BsonDocumentHelper innerDoc = PropertyBatcher.beginSet();
+            collectStyle(commands, stylePaths.child(state), nestedStyle, innerDoc);
+            if (!innerDoc.getDocument().isEmpty()) {
+                doc.set(state, innerDoc.getDocument());
+            }
+        });
+    }
+
+    /**
+     * Sends the states left out of a merged style document because they use a style reference.
+     */
+    private void applyReferencedStates(UICommandBuilder commands, PropertyPaths stylePaths, HyUIStyle style) {
+        style.getStates().forEach((state, nestedStyle) -> {
+            if (nestedStyle.getStyleReference() != null) {
+                applyStyleSet(commands, stylePaths.child(state), nestedStyle);
+            } else {
+                applyReferencedStates(commands, stylePaths.child(state), nestedStyle);
+            }
+        });
     }
 
+    private void applyPadding(UICommandBuilder commands, PropertyPaths paths) {
+        Integer left = padding.getLeft();
+        Integer top = padding.getTop();
+        Integer right = padding.getRight();
+        Integer bottom = padding.getBottom();
+        if (left != null && shouldSend(paths.path("Padding.Left"), left)) commands.set(paths.path("Padding.Left"), left);
+        if (top != null && shouldSend(paths.path("Padding.Top"), top)) commands.set(paths.path("Padding.Top"), top);
+        if (right != null && shouldSend(paths.path("Padding.Right"), right)) commands.set(paths.path("Padding.Right"), right);
+        if (bottom != null && shouldSend(paths.path("Padding.Bottom"), bottom)) commands.set(paths.path("Padding.Bottom"), bottom);
+    }
+
+    /**
+     * Records a value about to be sent for a property path and decides whether it needs sending. A full
+     * build always sends; an update pass skips values equal to the last one sent for the same path.
+     *
+     * @param path  The full property path, e.g. {@code #MyLabel.Text}
+     * @param value The value, or a snapshot of it that is not modified afterwards
+     * @return true if the command should be emitted
+     */
+    protected boolean shouldSend(String path, Object value) {
+        boolean known = sentValues.containsKey(path);
+        Object previous = sentValues.put(path, value);
+        return !isUpdateOnly || !known || !Objects.equals(previous, value);
+    }
+
+    /**
+     * Like {@link #shouldSend(String, Object)} for a value made of two parts, such as a document and a
+     * reference into it. The parts are only copied into a new entry when they changed.
+     */
+    protected boolean shouldSend(String path, Object first, Object second) {
+        if (isUpdateOnly && sentValues.get(path) instanceof List<?> previous && previous.size() == 2
+                && Objects.equals(previous.get(0), first) && Objects.equals(previous.get(1), second)) {
+            return false;
+        }
+        sentValues.put(path, Arrays.asList(first, second));
+        return true;
+    }
+
+    /**
+     * Sends the layout mode of an element that supports one through
+     * {@link LayoutModeSupported#applyLayoutMode}, unless it was already sent to {@code selector}.
+     */
+    protected void sendLayoutMode(UICommandBuilder commands, String selector) {
+        if (selector != null) {
+            sendLayoutMode(commands, resolvePaths(selector));
+        }
+    }
+
+    void sendLayoutMode(UICommandBuilder commands, PropertyPaths target) {
+        if (this instanceof LayoutModeSupported<?> supported && supported.getLayoutMode() != null
+                && shouldSend(target.path("LayoutMode"), supported.getLayoutMode())) {
+            supported.applyLayoutMode(commands, target.selector());
+        }
+    }
+
+    /**
+     * Sends the background of an element that supports one through {@link BackgroundSupported#applyBackground},
+     * unless it was already sent to {@code selector}.
+     */
+    protected void sendBackground(UICommandBuilder commands, String selector) {
+        if (selector != null) {
+            sendBackground(commands, resolvePaths(selector));
+        }
+    }
+
+    void sendBackground(UICommandBuilder commands, PropertyPaths target) {
+        if (this instanceof BackgroundSupported<?> supported && supported.getBackground() != null
+                && shouldSend(target.path("Background"), supported.getBackground().snapshot())) {
+            supported.applyBackground(commands, target.selector());
+        }
+    }
+
+    /**
+     * Sends the scrollbar style of an element that supports one through
+     * {@link ScrollbarStyleSupported#applyScrollbarStyle}, unless it was already sent to {@code selector}.
+     */
+    protected void sendScrollbarStyle(UICommandBuilder commands, String selector) {
+        if (selector != null) {
+            sendScrollbarStyle(commands, resolvePaths(selector));
+        }
+    }
+
+    void sendScrollbarStyle(UICommandBuilder commands, PropertyPaths target) {
+        if (this instanceof ScrollbarStyleSupported<?> supported && supported.getScrollbarStyleReference() != null
+                && supported.getScrollbarStyleDocument() != null
+                && shouldSend(target.path("ScrollbarStyle"), supported.getScrollbarStyleDocument(),
+                        supported.getScrollbarStyleReference())) {
+            supported.applyScrollbarStyle(commands, target.selector());
+        }
+    }
+
+    /**
+     * @return The tooltip encoded for comparison with the one last sent, encoded once per tooltip.
+     */
+    private Object encodedTooltip() {
+        if (encodedTooltipSource != tooltipTextSpan) {
+            encodedTooltip = Message.CODEC.encode(tooltipTextSpan, EmptyExtraInfo.EMPTY);
+            encodedTooltipSource = tooltipTextSpan;
+        }
+        return encodedTooltip;
+    }
+
+    /**
+     * Forgets every value sent to the client, so the next update pass sends all properties again.
+     * Use this when the client-side element was recreated outside of a full build.
+     */
+    public void clearSentValues() {
+        sentValues.clear();
+        for (UIElementBuilder<?> child : children) {
+            child.clearSentValues();
+        }
+    }
+
+    /**
+     * The style properties this element sends. Called for every style applied, so return a filter kept in a
+     * static field rather than building one.
+     *
+     * <p>By default the filter is built from {@link #isStyleWhitelist()}, {@link #getSupportedStyleProperties()}
+     * and {@link #getUnsupportedStyleProperties()}, once per builder class, so those hooks must not depend on
+     * the element's state.</p>
+     *
+     * @return the filter for this element's current state
+     */
+    protected StylePropertyFilter getStyleFilter() {
+        return LEGACY_STYLE_FILTERS.computeIfAbsent(getClass(), type -> legacyStyleFilter());
+    }
+
+    @SuppressWarnings("deprecation")
+    private StylePropertyFilter legacyStyleFilter() {
+        if (isStyleWhitelist()) {
+            return StylePropertyFilter.only(getSupportedStyleProperties().toArray(String[]::new));
+        }
+        Set<String> unsupported = getUnsupportedStyleProperties();
+        return unsupported.isEmpty()
+                ? StylePropertyFilter.ALL
+                : StylePropertyFilter.except(unsupported.toArray(String[]::new));
+    }
+
+    /**
+     * @deprecated Override {@link #getStyleFilter()} instead. Only read once per builder class.
+     */
+    @Deprecated
     protected Set<String> getUnsupportedStyleProperties() {
         return Set.of();
     }
 
+    /**
+     * @deprecated Override {@link #getStyleFilter()} instead. Only read once per builder class.
+     */
+    @Deprecated
     protected boolean isStyleWhitelist() {
         return false;
     }
 
+    /**
+     * @deprecated Override {@link #getStyleFilter()} instead. Only read once per builder class.
+     */
+    @Deprecated
     protected Set<String> getSupportedStyleProperties() {
         return Set.of();
     }
@@ -616,10 +1076,27 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
     }
 
     protected String getSelector() {
-        if (wrapInGroup) {
-            return "#" + id + " " + typeSelector;
+        return paths().selector();
+    }
+
+    PropertyPaths paths() {
+        // Identity checks are enough here: a new string only costs rebuilding the paths once.
+        if (paths == null || pathsId != id || pathsWrapped != wrapInGroup || pathsTypeSelector != typeSelector) {
+            paths = new PropertyPaths(wrapInGroup ? "#" + id + " " + typeSelector : "#" + id);
+            pathsId = id;
+            pathsWrapped = wrapInGroup;
+            pathsTypeSelector = typeSelector;
+        }
+        return paths;
+    }
+
+    PropertyPaths wrappingGroupPaths() {
+        String groupId = getWrappingGroupId();
+        if (wrappingGroupPaths == null || wrappingGroupPathsId != groupId) {
+            wrappingGroupPaths = new PropertyPaths("#" + groupId);
+            wrappingGroupPathsId = groupId;
         }
-        return "#" + id;
+        return wrappingGroupPaths;
     }
 
     /**
@@ -631,87 +1108,141 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
      */
     protected void applyStyle(UICommandBuilder commands, String prefix, HyUIStyle style, BsonDocumentHelper doc) {
         if (style.getStyleReference() != null) {
-            HyUIPlugin.getLog().logFinest("Applying style reference: " + style.getStyleDocument() + " -> " + style.getStyleReference() + " to " + prefix);
+            if (!shouldSend(prefix, style.getStyleDocument(), style.getStyleReference())) {
+                return;
+            }
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Applying style reference: " + style.getStyleDocument() + " -> " + style.getStyleReference() + " to " + prefix);
+            }
             commands.set(prefix, com.hypixel.hytale.server.core.ui.Value.ref(style.getStyleDocument(), style.getStyleReference()));
             return;
         }
 
-        boolean whitelist = isStyleWhitelist();
-        Set<String> supported = whitelist ? getSupportedStyleProperties() : Set.of();
-        Set<String> unsupported = whitelist ? Set.of() : getUnsupportedStyleProperties();
-        java.util.function.Predicate<String> isAllowed = property -> {
-            if (whitelist) {
-                return supported.contains(property);
-            }
-            return !unsupported.contains(property);
-        };
+        StylePropertyFilter filter = getStyleFilter();
         
-        if (style.getFontSize() != null && isAllowed.test("FontSize")) {
-            HyUIPlugin.getLog().logFinest("Setting Style FontSize: " + style.getFontSize() + " for " + prefix);
+        if (style.getFontSize() != null && filter.allows(StyleProperty.FontSize)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style FontSize: " + style.getFontSize() + " for " + prefix);
+            }
             doc.set("FontSize", style.getFontSize().doubleValue());
         }
-        if (style.getRenderBold() != null && isAllowed.test("RenderBold")) {
-            HyUIPlugin.getLog().logFinest("Setting Style RenderBold: " + style.getRenderBold() + " for " + prefix);
+        if (style.getRenderBold() != null && filter.allows(StyleProperty.RenderBold)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style RenderBold: " + style.getRenderBold() + " for " + prefix);
+            }
             doc.set("RenderBold", style.getRenderBold());
         }
-        if (style.getRenderUppercase() != null && isAllowed.test("RenderUppercase")) {
-            HyUIPlugin.getLog().logFinest("Setting Style RenderUppercase: " + style.getRenderUppercase() + " for " + prefix);
+        if (style.getRenderUppercase() != null && filter.allows(StyleProperty.RenderUppercase)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style RenderUppercase: " + style.getRenderUppercase() + " for " + prefix);
+            }
             doc.set("RenderUppercase", style.getRenderUppercase());
         }
-        if (style.getRenderItalics() != null && isAllowed.test("RenderItalics")) {
-            HyUIPlugin.getLog().logFinest("Setting Style RenderItalics: " + style.getRenderItalics() + " for " + prefix);
+        if (style.getRenderItalics() != null && filter.allows(StyleProperty.RenderItalics)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style RenderItalics: " + style.getRenderItalics() + " for " + prefix);
+            }
             doc.set("RenderItalics", style.getRenderItalics());
         }
-        if (style.getTextColor() != null && isAllowed.test("TextColor")) {
-            HyUIPlugin.getLog().logFinest("Setting Style TextColor: " + style.getTextColor() + " for " + prefix);
+        if (style.getTextColor() != null && filter.allows(StyleProperty.TextColor)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style TextColor: " + style.getTextColor() + " for " + prefix);
+            }
             doc.set("TextColor", style.getTextColor());
         }
-        if (style.getLetterSpacing() != null && isAllowed.test("LetterSpacing")) {
-            HyUIPlugin.getLog().logFinest("Setting Style LetterSpacing: " + style.getLetterSpacing() + " for " + prefix);
+        if (style.getLetterSpacing() != null && filter.allows(StyleProperty.LetterSpacing)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style LetterSpacing: " + style.getLetterSpacing() + " for " + prefix);
+            }
             doc.set("LetterSpacing", style.getLetterSpacing());
         }
-        if (style.getWrap() != null && isAllowed.test("Wrap")) {
-            HyUIPlugin.getLog().logFinest("Setting Style Wrap: " + style.getWrap() + " for " + prefix);
+        if (style.getWrap() != null && filter.allows(StyleProperty.Wrap)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style Wrap: " + style.getWrap() + " for " + prefix);
+            }
             doc.set("Wrap", style.getWrap());
         }
-        if (style.getFontName() != null && isAllowed.test("FontName")) {
-            HyUIPlugin.getLog().logFinest("Setting Style FontName: " + style.getFontName() + " for " + prefix);
+        if (style.getFontName() != null && filter.allows(StyleProperty.FontName)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style FontName: " + style.getFontName() + " for " + prefix);
+            }
             doc.set("FontName", style.getFontName());
         }
-        if (style.getOutlineColor() != null && isAllowed.test("OutlineColor")) {
-            HyUIPlugin.getLog().logFinest("Setting Style OutlineColor: " + style.getOutlineColor() + " for " + prefix);
+        if (style.getOutlineColor() != null && filter.allows(StyleProperty.OutlineColor)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style OutlineColor: " + style.getOutlineColor() + " for " + prefix);
+            }
             doc.set("OutlineColor", style.getOutlineColor());
         }
-        if (style.getHorizontalAlignment() != null && isAllowed.test("HorizontalAlignment")) {
-            HyUIPlugin.getLog().logFinest("Setting Style HorizontalAlignment: " + style.getHorizontalAlignment() + " for " + prefix);
+        if (style.getHorizontalAlignment() != null && filter.allows(StyleProperty.HorizontalAlignment)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style HorizontalAlignment: " + style.getHorizontalAlignment() + " for " + prefix);
+            }
             doc.set("HorizontalAlignment", style.getHorizontalAlignment().name());
         }
-        if (style.getVerticalAlignment() != null && isAllowed.test("VerticalAlignment")) {
-            HyUIPlugin.getLog().logFinest("Setting Style VerticalAlignment: " + style.getVerticalAlignment() + " for " + prefix);
+        if (style.getVerticalAlignment() != null && filter.allows(StyleProperty.VerticalAlignment)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style VerticalAlignment: " + style.getVerticalAlignment() + " for " + prefix);
+            }
             doc.set("VerticalAlignment", style.getVerticalAlignment().name());
         }
-        if (style.getAlignment() != null && isAllowed.test("Alignment")) {
-            HyUIPlugin.getLog().logFinest("Setting Style Alignment: " + style.getAlignment() + " for " + prefix);
+        if (style.getAlignment() != null && filter.allows(StyleProperty.Alignment)) {
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style Alignment: " + style.getAlignment() + " for " + prefix);
+            }
             doc.set("Alignment", style.getAlignment().name());
         }
     }
     
+    private void collectRawStyleProperties(HyUIStyle style, BsonDocumentHelper doc) {
+        StylePropertyFilter filter = getStyleFilter();
+        style.getRawProperties().forEach((key, value) -> {
+            if (filter.allows(key)) {
+                doc.setRaw(key, value);
+            }
+        });
+    }
+
     protected void applyRawStyleProperties(UICommandBuilder commands, String prefix, HyUIStyle style) {
-        boolean whitelist = isStyleWhitelist();
-        Set<String> supported = whitelist ? getSupportedStyleProperties() : Set.of();
-        Set<String> unsupported = whitelist ? Set.of() : getUnsupportedStyleProperties();
-        java.util.function.Predicate<String> isAllowed = property -> {
-            if (whitelist) {
-                return supported.contains(property);
-            }
-            return !unsupported.contains(property);
-        };
+        if (rawStylePaths == null || !rawStylePaths.selector().equals(prefix)) {
+            rawStylePaths = resolvePaths(prefix);
+        }
+        applyRawStyleProperties(commands, rawStylePaths, style);
+    }
+
+    /**
+     * Returns the handle for a selector or property path, shared with this element's own paths when it lies
+     * below them. Any other selector keeps its handle until a different one is asked for.
+     */
+    PropertyPaths resolvePaths(String prefix) {
+        PropertyPaths own = paths();
+        String selector = own.selector();
+        if (prefix.equals(selector)) {
+            return own;
+        }
+        if (prefix.length() > selector.length() + 1 && prefix.startsWith(selector)
+                && prefix.charAt(selector.length()) == '.') {
+            return own.child(prefix.substring(selector.length() + 1));
+        }
+        if (foreignPaths == null || !foreignPaths.selector().equals(prefix)) {
+            foreignPaths = new PropertyPaths(prefix);
+        }
+        return foreignPaths;
+    }
+
+    private void applyRawStyleProperties(UICommandBuilder commands, PropertyPaths stylePaths, HyUIStyle style) {
+        StylePropertyFilter filter = getStyleFilter();
         style.getRawProperties().forEach((key, value) -> {
-            if (!isAllowed.test(key)) {
+            if (!filter.allows(key)) {
                 return;
             }
-            var fullPrefix = prefix + "." + key;
-            HyUIPlugin.getLog().logFinest("Setting Style Raw Property: " + key + "=" + value + " for " + prefix);
+            var fullPrefix = stylePaths.path(key);
+            if (!shouldSend(fullPrefix, value)) {
+                return;
+            }
+            if (HyUIPluginLogger.IS_DEV) {
+                HyUIPlugin.getLog().logFinest("Setting Style Raw Property: " + key + "=" + value + " for " + stylePaths.selector());
+            }
             switch (value) {
                 case String s -> commands.set(fullPrefix, s);
                 case Boolean b -> commands.set(fullPrefix, b);
@@ -740,6 +1271,9 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
         String selector = getSelector();
         if (selector != null) {
             for (UIElementBuilder<?> child : children) {
+                if (updateOnly && child.isClean()) {
+                    continue;
+                }
                 String originalParent = child.parentSelector;
                 child.inside(selector).build(commands, events, updateOnly);
                 child.inside(originalParent);
@@ -749,22 +1283,88 @@ public abstract class UIElementBuilder<T extends UIElementBuilder<T>> {
 
     private void executeBuild(UICommandBuilder commands, UIEventBuilder events, boolean updateOnly) {
         this.isUpdateOnly = updateOnly;
+        // Cleared before anything is read: reading the flag makes the fields changed before it visible, and
+        // a change made while building sets it again. A clean element only passes the update on to its dirty
+        // children.
+        boolean wasDirty = (boolean) DIRTY.getAndSet(this, false);
+        boolean buildSelf = !updateOnly || wasDirty || hasVolatileState();
+        String selector = getSelector();
 
-        buildBase(commands, events, updateOnly);
+        if (buildSelf) {
+            buildBase(commands, events, updateOnly);
 
-        String selector = getSelector();
-        for (BiConsumer<UICommandBuilder, String> callback : editBeforeCallbacks) {
-            callback.accept(commands, selector);
+            for (BiConsumer<UICommandBuilder, String> callback : editBeforeCallbacks) {
+                callback.accept(commands, selector);
+            }
+
+            onBuild(commands, events);
         }
-        
-        onBuild(commands, events);
+
+        if (updateOnly) {
+            for (String removed : pendingRemovals) {
+                commands.remove(removed);
+            }
+        }
+        pendingRemovals.clear();
+
+        for (UIElementBuilder<?> child : children) {
+            child.parent = this;
+        }
+        // Cleared before the children are built, so a child changed meanwhile flags this element again.
+        dirtyDescendant = false;
         buildChildren(commands, events, updateOnly);
 
-        for (BiConsumer<UICommandBuilder, String> callback : editAfterCallbacks) {
-            callback.accept(commands, selector);
+        if (buildSelf) {
+            for (BiConsumer<UICommandBuilder, String> callback : editAfterCallbacks) {
+                callback.accept(commands, selector);
+            }
+        }
+
+        for (UIElementBuilder<?> child : children) {
+            if (child.needsUpdate()) {
+                dirtyDescendant = true;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Flags this element as changed, so the next update pass sends it. Every {@code with*} method calls
+     * this; call it yourself after changing an object the builder holds in place, such as
+     * {@code getAnchor().setWidth(100)}.
+     */
+    public void markDirty() {
+        dirty = true;
+        changeCount++;
+        for (UIElementBuilder<?> ancestor = parent; ancestor != null && !ancestor.dirtyDescendant; ancestor = ancestor.parent) {
+            ancestor.dirtyDescendant = true;
         }
     }
 
+    /**
+     * @return true if the next update pass has to visit this element.
+     */
+    public boolean needsUpdate() {
+        return dirty || dirtyDescendant || hasVolatileState();
+    }
+
+    /**
+     * @return true if this element is already on the client where it belongs and an update pass can skip it.
+     */
+    boolean isClean() {
+        return built && !pendingInsert && !needsUpdate();
+    }
+
+    /**
+     * Elements whose commands depend on more than their own fields are rebuilt on every update pass.
+     * By default these are elements with edit callbacks, which may send anything.
+     *
+     * @return true if this element must be rebuilt on every update pass
+     */
+    protected boolean hasVolatileState() {
+        return !editBeforeCallbacks.isEmpty() || !editAfterCallbacks.isEmpty();
+    }
+
     private String generateUniqueId() {
         String base = elementPath;
         if (base != null) {
@@ -0,0 +1,195 @@
+package au.ellie.hyui.html;
+
+import au.ellie.hyui.builders.UIElementBuilder;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A cache of the parsed and styled document of a HyUIML page, turned into fresh builders for every player that
+ * opens it.
+ *
+ * <p>If the page only uses {@code {{$variable}}} placeholders in text and attribute values, it is parsed with
+ * the placeholders in place. Opening it copies the parsed document, fills in the placeholders and runs the
+ * tag handlers, without rendering the template, parsing HTML or applying CSS again. Builders are not cached:
+ * they carry per-instance IDs, listeners and state, so every open still walks the whole document. Pages with
+ * {@code {{#each}}}, {@code {{#if}}} or components, and placeholders that decide structure or styling
+ * (inside {@code <style>}, attribute names, {@code class} or {@code id}), are rendered and parsed as usual.</p>
+ *
+ * <p>Create instances with {@link HyUIML#compile(String)} or {@link HyUIML#compileHtml(String)}. A compiled
+ * page is a snapshot of the file at compile time and is safe to share between threads.</p>
+ */
+public final class CompiledPage {
+
+    private final String html;
+    private final String sourcePath;
+    private final CompiledTemplate template;
+    private final ParsedDocument document;
+
+    private CompiledPage(String html, String sourcePath, CompiledTemplate template, ParsedDocument document) {
+        this.html = html;
+        this.sourcePath = sourcePath;
+        this.template = template;
+        this.document = document;
+    }
+
+    static CompiledPage compile(String html, String sourcePath) {
+        String source = html != null ? html : "";
+        CompiledTemplate template = TemplateCache.getTemplate(sourcePath, source);
+        ParsedDocument document = null;
+        if (canBindDirectly(template, source)) {
+            document = HtmlParser.parseDocument(source);
+            if (hasStructuralPlaceholders(document.document())) {
+                document = null;
+            }
+        }
+        return new CompiledPage(source, sourcePath, template, document);
+    }
+
+    /**
+     * @return The HyUIML source of this page.
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * @return The resource file this page was loaded from, or null for inline HyUIML.
+     */
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    /**
+     * @return true if opening this page skips template rendering, HTML parsing and CSS.
+     */
+    public boolean isDirect() {
+        return document != null;
+    }
+
+    /**
+     * Creates new builders for this page.
+     *
+     * @param processor The template processor holding the variables, or null for none
+     * @return The top-level builders
+     */
+    public List<UIElementBuilder<?>> instantiate(TemplateProcessor processor) {
+        if (document != null) {
+            ParsedDocument copy = document.copy();
+            if (template.isStatic() || bind(copy.document(), processor)) {
+                return new HtmlParser().parseChildren(copy);
+            }
+        }
+
+        HtmlParser parser = new HtmlParser();
+        parser.setTemplateProcessor(processor);
+        parser.setSourcePath(sourcePath);
+        return parser.parse(html);
+    }
+
+    private static boolean canBindDirectly(CompiledTemplate template, String html) {
+        for (CompiledTemplate.Node node : template.nodes()) {
+            if (!(node instanceof CompiledTemplate.Literal) && !(node instanceof CompiledTemplate.Variable)) {
+                return false;
+            }
+        }
+        // Styles are applied while compiling, so they cannot depend on variables.
+        String lower = html.toLowerCase(Locale.ROOT);
+        int styleStart = lower.indexOf("<style");
+        while (styleStart >= 0) {
+            int styleEnd = lower.indexOf("</style", styleStart);
+            if (styleEnd < 0) {
+                styleEnd = lower.length();
+            }
+            String style = lower.substring(styleStart, styleEnd);
+            if (style.contains("{{") || !hasOnlySimpleSelectors(style.substring(style.indexOf('>') + 1))) {
+                return false;
+            }
+            styleStart = lower.indexOf("<style", styleEnd);
+        }
+        return true;
+    }
+
+    /**
+     * Tag, class and id selectors (plus {@code :hover}) cannot match differently once placeholders are filled
+     * in; attribute and text selectors could.
+     */
+    private static boolean hasOnlySimpleSelectors(String css) {
+        int depth = 0;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth = Math.max(0, depth - 1);
+            } else if (depth == 0) {
+                if (css.startsWith(":hover", i)) {
+                    i += ":hover".length() - 1;
+                } else if (!Character.isLetterOrDigit(c) && " \t\r\n.#*,>+~-_@".indexOf(c) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasStructuralPlaceholders(Document document) {
+        for (Element element : document.getAllElements()) {
+            for (Attribute attribute : element.attributes()) {
+                if (attribute.getKey().contains("{{") || attribute.getKey().contains("}}")) {
+                    return true;
+                }
+                // CSS rules were matched against these when the page was compiled.
+                if (("class".equals(attribute.getKey()) || "id".equals(attribute.getKey()))
+                        && attribute.getValue().contains("{{")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills in the placeholders of a copied document. Returns false if a value contains markup or entities,
+     * which only the regular render and parse would interpret the same way.
+     */
+    private static boolean bind(Document copy, TemplateProcessor processor) {
+        TemplateProcessor values = processor != null ? processor : new TemplateProcessor();
+        for (Element element : copy.getAllElements()) {
+            for (Attribute attribute : element.attributes()) {
+                String value = attribute.getValue();
+                if (value.contains(CompiledTemplate.VARIABLE_START)) {
+                    String bound = values.process(values.compile(value));
+                    if (containsAny(bound, "\"'&")) {
+                        return false;
+                    }
+                    attribute.setValue(bound);
+                }
+            }
+            for (Node child : element.childNodes()) {
+                if (child instanceof TextNode text && text.getWholeText().contains(CompiledTemplate.VARIABLE_START)) {
+                    String bound = values.process(values.compile(text.getWholeText()));
+                    if (containsAny(bound, "<&")) {
+                        return false;
+                    }
+                    text.text(bound);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAny(String value, String characters) {
+        for (int i = 0; i < characters.length(); i++) {
+            if (value.indexOf(characters.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,286 @@
+package au.ellie.hyui.html;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The contents of a {@code <style>} block parsed once into rules.
+ *
+ * <p>Every rule keeps its selector, its specificity and its declarations already split into properties.
+ * Rules are bucketed by the id, class or tag of the rightmost part of their selector, so matching an element
+ * only tests the rules that could apply to it.</p>
+ *
+ * <p>Compiled stylesheets are immutable and shared through {@link TemplateCache}, so the same stylesheet
+ * included by several pages is only parsed once. The jsoup evaluators of the selectors are not part of it:
+ * some of them remember the elements they matched, so each {@link RuleMatcher} builds its own and is dropped
+ * with the document it matched.</p>
+ */
+final class CompiledStylesheet {
+
+    private static final Pattern COMMENT = Pattern.compile("//.*|/\\*([\\s\\S]*?)\\*/");
+    // DOTALL (?s) lets rules span multiple lines and use any brace placement.
+    private static final Pattern RULE = Pattern.compile("(?s)\\s*([^{]+)\\s*\\{\\s*([^}]+)\\s*\\}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String HOVER = ":hover";
+
+    private final Map<String, List<Rule>> rulesById = new HashMap<>();
+    private final Map<String, List<Rule>> rulesByClass = new HashMap<>();
+    private final Map<String, List<Rule>> rulesByTag = new HashMap<>();
+    private final List<Rule> universalRules = new ArrayList<>();
+    private final Map<String, String> definitions = new LinkedHashMap<>();
+    private boolean siblingRules;
+    private int ruleCount;
+
+    /**
+     * A single selector with its declarations. A selector list such as {@code a, b} produces one rule per
+     * selector.
+     *
+     * @param selector     The selector without {@code :hover}
+     * @param order        Position of the rule in the stylesheet, used to break specificity ties
+     * @param hover        Whether the rule applies to the hover state
+     * @param declarations The normalized declaration text
+     * @param properties   The declarations split into properties, in declaration order
+     */
+    record Rule(String selector, int specificity, int order, boolean hover,
+                String declarations, Map<String, String> properties) {}
+
+    private CompiledStylesheet(String css) {
+        Matcher matcher = RULE.matcher(COMMENT.matcher(css).replaceAll(""));
+        int order = 0;
+        while (matcher.find()) {
+            String declarations = WHITESPACE.matcher(matcher.group(2).trim()).replaceAll(" ").trim();
+            for (String selector : matcher.group(1).trim().split(",")) {
+                selector = selector.trim();
+                if (!selector.isEmpty()) {
+                    addRule(selector, declarations, order++);
+                }
+            }
+        }
+        ruleCount = order;
+    }
+
+    static CompiledStylesheet compile(String css) {
+        return new CompiledStylesheet(css != null ? css : "");
+    }
+
+    /**
+     * @return The {@code @Name} style definitions, with the declarations of repeated names joined.
+     */
+    Map<String, String> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * @return A matcher for a single pass over one document
+     */
+    RuleMatcher matcher() {
+        return new RuleMatcher();
+    }
+
+    boolean hasClassRules() {
+        return !rulesByClass.isEmpty();
+    }
+
+    /**
+     * @return true if a rule may match depending on an element's siblings or contents, such as
+     *         {@code a + b} or {@code :first-child}. Restyling a replaced element alone could then leave the
+     *         styles of the elements around it out of date.
+     */
+    boolean hasSiblingRules() {
+        return siblingRules;
+    }
+
+    /**
+     * Matches the rules of the stylesheet against the elements of one document, parsing each selector the
+     * first time a rule is tested. Not thread-safe; use one per pass and do not keep it.
+     */
+    final class RuleMatcher {
+        private final Evaluator[] evaluators = new Evaluator[ruleCount];
+
+        private RuleMatcher() {
+        }
+
+        /**
+         * Adds every rule whose selector matches the element to {@code matches}.
+         *
+         * @param root       The document the selectors are evaluated against
+         * @param element    The element to match
+         * @param classNames The element's class names in lower case
+         */
+        void collectMatches(Element root, Element element, List<String> classNames, List<Rule> matches) {
+            if (!rulesById.isEmpty()) {
+                String id = element.id();
+                if (!id.isEmpty()) {
+                    matchBucket(root, element, rulesById.get(id), matches);
+                }
+            }
+            if (!rulesByClass.isEmpty()) {
+                for (String className : classNames) {
+                    matchBucket(root, element, rulesByClass.get(className), matches);
+                }
+            }
+            if (!rulesByTag.isEmpty()) {
+                matchBucket(root, element, rulesByTag.get(element.normalName()), matches);
+            }
+            matchBucket(root, element, universalRules, matches);
+        }
+
+        private void matchBucket(Element root, Element element, List<Rule> rules, List<Rule> matches) {
+            if (rules == null) {
+                return;
+            }
+            for (Rule rule : rules) {
+                Evaluator evaluator = evaluators[rule.order()];
+                if (evaluator == null) {
+                    evaluator = QueryParser.parse(rule.selector());
+                    evaluators[rule.order()] = evaluator;
+                }
+                if (evaluator.matches(root, element)) {
+                    matches.add(rule);
+                }
+            }
+        }
+    }
+
+    private void addRule(String selector, String declarations, int order) {
+        if (selector.startsWith("@")) {
+            String name = selector.substring(1).trim();
+            if (!name.isEmpty()) {
+                // Repeated definitions are joined, later declarations winning.
+                definitions.merge(name, declarations,
+                        (existing, added) -> existing + (existing.endsWith(";") ? "" : ";") + added);
+            }
+            return;
+        }
+
+        boolean hover = selector.endsWith(HOVER);
+        String baseSelector = hover ? selector.substring(0, selector.length() - HOVER.length()).trim() : selector;
+        if (baseSelector.isEmpty()) {
+            baseSelector = "*";
+        }
+
+        try {
+            // Only checks the selector; every RuleMatcher parses it again for itself.
+            QueryParser.parse(baseSelector);
+        } catch (RuntimeException ignored) {
+            // Ignore invalid selectors
+            return;
+        }
+
+        Rule rule = new Rule(baseSelector, specificity(baseSelector), order, hover, declarations,
+                StyleDeclarations.parse(declarations));
+        bucketFor(baseSelector).add(rule);
+        if (baseSelector.indexOf('+') >= 0 || baseSelector.indexOf('~') >= 0 || baseSelector.indexOf(':') >= 0) {
+            siblingRules = true;
+        }
+    }
+
+    /**
+     * Picks the bucket from the rightmost compound selector: its id, else its first class, else its tag.
+     * Selectors this cannot reliably split go to the universal bucket and are tested against every element.
+     */
+    private List<Rule> bucketFor(String selector) {
+        for (int i = 0; i < selector.length(); i++) {
+            if ("[]()'\"\\|".indexOf(selector.charAt(i)) >= 0) {
+                return universalRules;
+            }
+        }
+        int start = 0;
+        for (int i = selector.length() - 1; i >= 0; i--) {
+            if (" \t\r\n>+~".indexOf(selector.charAt(i)) >= 0) {
+                start = i + 1;
+                break;
+            }
+        }
+        String compound = selector.substring(start);
+
+        int tagEnd = nameEnd(compound, 0);
+        String tag = compound.substring(0, tagEnd);
+        String firstClass = null;
+        for (int i = tagEnd; i < compound.length(); ) {
+            char c = compound.charAt(i);
+            int end = nameEnd(compound, i + 1);
+            String name = compound.substring(i + 1, end);
+            if (c == '#' && !name.isEmpty()) {
+                return rulesById.computeIfAbsent(name, k -> new ArrayList<>());
+            } else if (c == '.' && !name.isEmpty() && firstClass == null) {
+                firstClass = name.toLowerCase(Locale.ROOT);
+            } else if (c != '.' && c != '#' && c != ':') {
+                return universalRules;
+            }
+            i = Math.max(end, i + 1);
+        }
+        if (firstClass != null) {
+            return rulesByClass.computeIfAbsent(firstClass, k -> new ArrayList<>());
+        }
+        if (!tag.isEmpty() && !tag.equals("*")) {
+            return rulesByTag.computeIfAbsent(tag.toLowerCase(Locale.ROOT), k -> new ArrayList<>());
+        }
+        return universalRules;
+    }
+
+    private static int nameEnd(String value, int start) {
+        int i = start;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '*') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Computes the CSS specificity of a selector as a single number: ids, then classes, attributes and
+     * pseudo-classes, then tags.
+     */
+    static int specificity(String selector) {
+        int ids = 0;
+        int classes = 0;
+        int tags = 0;
+        boolean compoundStart = true;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '#') {
+                ids++;
+                i = nameEnd(selector, i + 1) - 1;
+                compoundStart = false;
+            } else if (c == '.') {
+                classes++;
+                i = nameEnd(selector, i + 1) - 1;
+                compoundStart = false;
+            } else if (c == '[') {
+                classes++;
+                int end = selector.indexOf(']', i);
+                i = end < 0 ? selector.length() : end;
+                compoundStart = false;
+            } else if (c == ':') {
+                classes++;
+                i = nameEnd(selector, i + 1) - 1;
+                if (i + 1 < selector.length() && selector.charAt(i + 1) == '(') {
+                    int end = selector.indexOf(')', i);
+                    i = end < 0 ? selector.length() : end;
+                }
+                compoundStart = false;
+            } else if (" \t\r\n>+~".indexOf(c) >= 0) {
+                compoundStart = true;
+            } else if (compoundStart && Character.isLetter(c)) {
+                tags++;
+                i = nameEnd(selector, i) - 1;
+                compoundStart = false;
+            }
+        }
+        return Math.min(ids, 99) * 10_000 + Math.min(classes, 99) * 100 + Math.min(tags, 99);
+    }
+}
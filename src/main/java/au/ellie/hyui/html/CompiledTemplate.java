@@ -0,0 +1,365 @@
+package au.ellie.hyui.html;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A HyUIML template that has been parsed once into a tree of nodes.
+ *
+ * <p>Compiling splits the source into literal text, {@code {{$variable}}} placeholders,
+ * {@code {{#each}}} and {@code {{#if}}} blocks and {@code {{&#64;component}}} inclusions.
+ * A {@link TemplateProcessor} can then render the same tree many times into a single
+ * {@link StringBuilder} without re-scanning the source or running any regular expressions.</p>
+ *
+ * <p>Compiled templates are immutable and can be shared between processors and threads.</p>
+ */
+public final class CompiledTemplate {
+
+    static final String EACH_START = "{{#each";
+    static final String EACH_END = "{{/each}}";
+    static final String IF_START = "{{#if";
+    static final String IF_END = "{{/if}}";
+    static final String ELSE_TAG = "{{else}}";
+    static final String COMPONENT_START = "{{@";
+    static final String VARIABLE_START = "{{$";
+
+    private static final CompiledTemplate EMPTY = new CompiledTemplate("", List.of());
+
+    private final String source;
+    private final List<Node> nodes;
+
+    sealed interface Node permits Literal, Variable, Each, If, Component {}
+
+    /**
+     * Text copied to the output as-is.
+     */
+    record Literal(String text) implements Node {}
+
+    /**
+     * A {@code {{$name}}} or {@code {{$name|filterOrDefault}}} placeholder.
+     */
+    record Variable(String name, String filterOrDefault) implements Node {}
+
+    /**
+     * A {@code {{#each listName}}...{{/each}}} block.
+     */
+    record Each(String listName, CompiledTemplate body) implements Node {}
+
+    /**
+     * A {@code {{#if condition}}...{{else}}...{{/if}}} block.
+     */
+    record If(TemplateCondition condition, CompiledTemplate whenTrue, CompiledTemplate whenFalse) implements Node {}
+
+    /**
+     * A {@code {{&#64;name:key=value,...}}} component inclusion. Parameter values are templates themselves.
+     */
+    record Component(String name, Map<String, CompiledTemplate> params) implements Node {}
+
+    private CompiledTemplate(String source, List<Node> nodes) {
+        this.source = source;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Compiles the given template source.
+     *
+     * @param template The raw template string
+     * @return The compiled template
+     */
+    public static CompiledTemplate compile(String template) {
+        if (template == null || template.isEmpty()) {
+            return EMPTY;
+        }
+        return new CompiledTemplate(template, Collections.unmodifiableList(parseNodes(template)));
+    }
+
+    /**
+     * @return The source this template was compiled from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return true if this template contains no placeholders, blocks or components.
+     */
+    public boolean isStatic() {
+        return nodes.isEmpty() || (nodes.size() == 1 && nodes.get(0) instanceof Literal);
+    }
+
+    List<Node> nodes() {
+        return nodes;
+    }
+
+    private static List<Node> parseNodes(String template) {
+        List<Node> nodes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        int length = template.length();
+
+        while (index < length) {
+            int open = template.indexOf("{{", index);
+            if (open < 0) {
+                literal.append(template, index, length);
+                break;
+            }
+            literal.append(template, index, open);
+
+            int next = -1;
+            if (template.startsWith(EACH_START, open)) {
+                next = parseEach(template, open, nodes, literal);
+            } else if (template.startsWith(IF_START, open)) {
+                next = parseIf(template, open, nodes, literal);
+            } else if (template.startsWith(COMPONENT_START, open)) {
+                next = parseComponent(template, open, nodes, literal);
+            } else if (template.startsWith(VARIABLE_START, open)) {
+                next = parseVariable(template, open, nodes, literal);
+            }
+
+            if (next < 0) {
+                // Not a tag we understand, keep the brace and rescan from the next character.
+                literal.append('{');
+                index = open + 1;
+            } else {
+                index = next;
+            }
+        }
+
+        flushLiteral(nodes, literal);
+        return nodes;
+    }
+
+    private static void flushLiteral(List<Node> nodes, StringBuilder literal) {
+        if (literal.length() > 0) {
+            nodes.add(new Literal(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    private static int parseEach(String template, int start, List<Node> nodes, StringBuilder literal) {
+        int startClose = template.indexOf("}}", start);
+        if (startClose < 0) {
+            return -1;
+        }
+        int end = findMatchingEnd(template, startClose + 2, EACH_START, EACH_END);
+        if (end < 0) {
+            return -1;
+        }
+
+        String listName = template.substring(start + EACH_START.length(), startClose).trim();
+        CompiledTemplate body = compile(template.substring(startClose + 2, end));
+
+        flushLiteral(nodes, literal);
+        nodes.add(new Each(listName, body));
+        return end + EACH_END.length();
+    }
+
+    private static int parseIf(String template, int start, List<Node> nodes, StringBuilder literal) {
+        int startClose = template.indexOf("}}", start);
+        if (startClose < 0) {
+            return -1;
+        }
+        int end = findMatchingEnd(template, startClose + 2, IF_START, IF_END);
+        if (end < 0) {
+            return -1;
+        }
+
+        String condition = template.substring(start + IF_START.length(), startClose).trim();
+        int elseIndex = findElseIndex(template, startClose + 2, end);
+        CompiledTemplate whenTrue;
+        CompiledTemplate whenFalse = EMPTY;
+        if (elseIndex >= 0) {
+            whenTrue = compile(template.substring(startClose + 2, elseIndex));
+            whenFalse = compile(template.substring(elseIndex + ELSE_TAG.length(), end));
+        } else {
+            whenTrue = compile(template.substring(startClose + 2, end));
+        }
+
+        flushLiteral(nodes, literal);
+        nodes.add(new If(TemplateCondition.parse(condition), whenTrue, whenFalse));
+        return end + IF_END.length();
+    }
+
+    private static int parseComponent(String template, int start, List<Node> nodes, StringBuilder literal) {
+        int cursor = start + COMPONENT_START.length();
+        int depth = 1;
+
+        while (cursor < template.length()) {
+            if (template.startsWith("{{", cursor)) {
+                depth++;
+                cursor += 2;
+                continue;
+            }
+            if (template.startsWith("}}", cursor)) {
+                depth--;
+                if (depth == 0) {
+                    break;
+                }
+                cursor += 2;
+                continue;
+            }
+            cursor++;
+        }
+
+        if (depth != 0) {
+            return -1;
+        }
+
+        String content = template.substring(start + COMPONENT_START.length(), cursor).trim();
+        String componentName;
+        String paramsStr = null;
+        int colonIndex = content.indexOf(':');
+        if (colonIndex >= 0) {
+            componentName = content.substring(0, colonIndex).trim();
+            paramsStr = content.substring(colonIndex + 1).trim();
+        } else {
+            componentName = content;
+        }
+
+        Map<String, CompiledTemplate> params = new LinkedHashMap<>();
+        if (paramsStr != null && !paramsStr.isEmpty()) {
+            for (String param : paramsStr.split(",")) {
+                String[] parts = param.trim().split("=", 2);
+                if (parts.length == 2) {
+                    params.put(parts[0].trim(), compile(parts[1].trim()));
+                }
+            }
+        }
+
+        flushLiteral(nodes, literal);
+        nodes.add(new Component(componentName, Collections.unmodifiableMap(params)));
+        return cursor + 2;
+    }
+
+    /**
+     * Matches {@code {{$name(.name)*}}} or {@code {{$name(.name)*|text}}} where the text contains no '}'.
+     */
+    private static int parseVariable(String template, int start, List<Node> nodes, StringBuilder literal) {
+        int length = template.length();
+        int cursor = start + VARIABLE_START.length();
+
+        int nameEnd = scanIdentifier(template, cursor);
+        if (nameEnd < 0) {
+            return -1;
+        }
+        while (nameEnd < length && template.charAt(nameEnd) == '.') {
+            int segmentEnd = scanIdentifier(template, nameEnd + 1);
+            if (segmentEnd < 0) {
+                break;
+            }
+            nameEnd = segmentEnd;
+        }
+
+        String name = template.substring(cursor, nameEnd);
+        String filterOrDefault = null;
+        cursor = nameEnd;
+        if (cursor < length && template.charAt(cursor) == '|') {
+            int close = template.indexOf('}', cursor + 1);
+            if (close < 0) {
+                return -1;
+            }
+            filterOrDefault = template.substring(cursor + 1, close);
+            cursor = close;
+        }
+        if (!template.startsWith("}}", cursor)) {
+            return -1;
+        }
+
+        flushLiteral(nodes, literal);
+        nodes.add(new Variable(name, filterOrDefault));
+        return cursor + 2;
+    }
+
+    private static int scanIdentifier(String template, int start) {
+        if (start >= template.length() || !isIdentifierStart(template.charAt(start))) {
+            return -1;
+        }
+        int cursor = start + 1;
+        while (cursor < template.length() && isIdentifierPart(template.charAt(cursor))) {
+            cursor++;
+        }
+        return cursor;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+
+    private static int findMatchingEnd(String template, int searchFrom, String startTag, String endTag) {
+        int depth = 1;
+        int index = searchFrom;
+
+        while (index < template.length()) {
+            int nextStart = template.indexOf(startTag, index);
+            int nextEnd = template.indexOf(endTag, index);
+
+            if (nextEnd < 0) {
+                return -1;
+            }
+
+            if (nextStart != -1 && nextStart < nextEnd) {
+                depth++;
+                index = nextStart + startTag.length();
+            } else {
+                depth--;
+                if (depth == 0) {
+                    return nextEnd;
+                }
+                index = nextEnd + endTag.length();
+            }
+        }
+
+        return -1;
+    }
+
+    private static int findElseIndex(String template, int searchFrom, int endIndex) {
+        int depth = 1;
+        int index = searchFrom;
+
+        while (index < endIndex) {
+            int nextStart = template.indexOf(IF_START, index);
+            int nextEnd = template.indexOf(IF_END, index);
+            int nextElse = template.indexOf(ELSE_TAG, index);
+
+            int next = minPositive(nextStart, nextEnd, nextElse);
+            if (next < 0 || next >= endIndex) {
+                return -1;
+            }
+
+            if (next == nextStart) {
+                depth++;
+                index = nextStart + IF_START.length();
+            } else if (next == nextEnd) {
+                depth--;
+                if (depth == 0) {
+                    return -1;
+                }
+                index = nextEnd + IF_END.length();
+            } else {
+                if (depth == 1) {
+                    return nextElse;
+                }
+                index = nextElse + ELSE_TAG.length();
+            }
+        }
+
+        return -1;
+    }
+
+    private static int minPositive(int... values) {
+        int min = Integer.MAX_VALUE;
+        for (int value : values) {
+            if (value >= 0 && value < min) {
+                min = value;
+            }
+        }
+        return min == Integer.MAX_VALUE ? -1 : min;
+    }
+}
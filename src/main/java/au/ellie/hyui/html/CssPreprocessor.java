@@ -4,99 +4,163 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Preprocesses HTML by extracting styles from &lt;style&gt; tags and applying them to elements.
+ *
+ * <p>Each stylesheet is compiled once per distinct content (see {@link CompiledStylesheet}) and all rules
+ * are matched in a single walk over the document. Matching rules are applied in order of specificity, then
+ * source order, and the element's own {@code style} attribute always wins.</p>
  */
 public class CssPreprocessor {
 
+    static final String STYLE_ATTR = "style";
+    static final String HOVER_STYLE_ATTR = "data-hyui-hover-style";
+    private static final String STYLE_DEF_ATTR_PREFIX = "data-hyui-style-def-";
+
+    private record Match(CompiledStylesheet.Rule rule, int sheet) {}
+
+    private static final Comparator<Match> APPLY_ORDER = Comparator
+            .comparingInt((Match match) -> match.rule().specificity())
+            .thenComparingInt(Match::sheet)
+            .thenComparingInt(match -> match.rule().order());
+
     public void process(Document doc) {
-        Elements styleElements = doc.getElementsByTag("style");
-        Map<String, String> cssRules = new HashMap<>();
+        process(doc, new StyleIndex());
+    }
 
+    /**
+     * Applies the document's stylesheets and records the merged properties of every attribute written.
+     *
+     * @return The stylesheets that were applied, which are removed from the document
+     */
+    List<CompiledStylesheet> process(Document doc, StyleIndex styles) {
+        Elements styleElements = doc.getElementsByTag("style");
+        if (styleElements.isEmpty()) {
+            return List.of();
+        }
+        List<CompiledStylesheet> stylesheets = new ArrayList<>(styleElements.size());
         for (Element styleElement : styleElements) {
-            parseCss(styleElement.data(), cssRules);
+            stylesheets.add(TemplateCache.getStylesheet(styleElement.data()));
             styleElement.remove();
         }
 
-        applyRules(doc, cssRules);
+        applyDefinitions(doc, stylesheets);
+        applyRules(doc, doc.getAllElements(), stylesheets, styles);
+        return stylesheets;
     }
 
-    private void parseCss(String css, Map<String, String> cssRules) {
-        // Remove comments
-        css = css.replaceAll("//.*|/\\*([\\s\\S]*?)\\*/", "");
-
-        // Updated regex to handle multi-line and different brace placements
-        // Use DOTALL (?s) to allow . to match newlines
-        Pattern pattern = Pattern.compile("(?s)\\s*([^{]+)\\s*\\{\\s*([^}]+)\\s*\\}");
-        Matcher matcher = pattern.matcher(css);
-
-        while (matcher.find()) {
-            String selectors = matcher.group(1).trim();
-            String properties = matcher.group(2).trim();
-
-            for (String selector : selectors.split(",")) {
-                selector = selector.trim();
-                if (!selector.isEmpty()) {
-                    // Normalize properties: replace newlines/tabs with spaces and trim
-                    String normalizedProperties = properties.replaceAll("\\s+", " ").trim();
-
-                    // If multiple rules for same selector, append properties
-                    String existing = cssRules.getOrDefault(selector, "");
-                    if (!existing.isEmpty() && !existing.endsWith(";")) {
-                        existing += ";";
-                    }
-                    cssRules.put(selector, existing + normalizedProperties);
-                }
-            }
+    /**
+     * Applies stylesheets returned by an earlier {@link #process(Document, StyleIndex)} to an element that
+     * replaced part of the same document, and records the merged properties of every attribute written.
+     *
+     * @param element The new element, already in the document so selectors see its ancestors
+     */
+    void process(Element element, List<CompiledStylesheet> stylesheets, StyleIndex styles) {
+        if (!stylesheets.isEmpty()) {
+            applyRules(element.ownerDocument(), element.getAllElements(), stylesheets, styles);
         }
     }
 
-    private void applyRules(Document doc, Map<String, String> cssRules) {
-        for (Map.Entry<String, String> entry : cssRules.entrySet()) {
-            String selector = entry.getKey();
-            String properties = entry.getValue();
-
-            try {
-                if (selector.startsWith("@")) {
-                    String name = selector.substring(1).trim();
-                    if (!name.isEmpty()) {
-                        doc.body().attr("data-hyui-style-def-" + name, properties);
-                    }
-                    continue;
-                }
+    private void applyDefinitions(Document doc, List<CompiledStylesheet> stylesheets) {
+        Map<String, String> definitions = new LinkedHashMap<>();
+        for (CompiledStylesheet stylesheet : stylesheets) {
+            stylesheet.getDefinitions().forEach((name, declarations) -> definitions.merge(name, declarations,
+                    (existing, added) -> existing + (existing.endsWith(";") ? "" : ";") + added));
+        }
+        for (Map.Entry<String, String> definition : definitions.entrySet()) {
+            doc.body().attr(STYLE_DEF_ATTR_PREFIX + definition.getKey(), definition.getValue());
+        }
+    }
+
+    private void applyRules(Document doc, List<Element> elements, List<CompiledStylesheet> stylesheets,
+                            StyleIndex styles) {
+        boolean needsClassNames = false;
+        for (CompiledStylesheet stylesheet : stylesheets) {
+            needsClassNames |= stylesheet.hasClassRules();
+        }
+
+        // Evaluators are built per pass, as jsoup's remember the elements they matched.
+        List<CompiledStylesheet.RuleMatcher> matchers = new ArrayList<>(stylesheets.size());
+        for (CompiledStylesheet stylesheet : stylesheets) {
+            matchers.add(stylesheet.matcher());
+        }
 
-                // Handle :hover pseudo-class
-                if (selector.endsWith(":hover")) {
-                    String baseSelector = selector.substring(0, selector.length() - 6);
-                    Elements elements = doc.select(baseSelector.isEmpty() ? "*" : baseSelector);
-                    for (Element element : elements) {
-                        String existingHover = element.attr("data-hyui-hover-style");
-                        if (!existingHover.isEmpty() && !existingHover.endsWith(";")) {
-                            existingHover += ";";
-                        }
-                        element.attr("data-hyui-hover-style", properties + (properties.endsWith(";") ? "" : ";") + existingHover);
-                    }
-                    continue;
+        List<CompiledStylesheet.Rule> sheetMatches = new ArrayList<>();
+        List<Match> matches = new ArrayList<>();
+        List<String> classNames = new ArrayList<>();
+        for (Element element : elements) {
+            if (element == doc) {
+                continue;
+            }
+            classNames.clear();
+            if (needsClassNames && element.hasAttr("class")) {
+                for (String className : element.classNames()) {
+                    classNames.add(className.toLowerCase(Locale.ROOT));
                 }
+            }
 
-                Elements elements = doc.select(selector);
-                for (Element element : elements) {
-                    String existingStyle = element.attr("style");
-                    if (!existingStyle.isEmpty() && !existingStyle.endsWith(";")) {
-                        existingStyle += ";";
-                    }
-                    // CSS properties from style attribute should override CSS rules (specificity)
-                    // So we prepend the CSS rules to the existing style
-                    element.attr("style", properties + (properties.endsWith(";") ? "" : ";") + existingStyle);
+            matches.clear();
+            for (int sheet = 0; sheet < stylesheets.size(); sheet++) {
+                sheetMatches.clear();
+                matchers.get(sheet).collectMatches(doc, element, classNames, sheetMatches);
+                for (CompiledStylesheet.Rule rule : sheetMatches) {
+                    matches.add(new Match(rule, sheet));
                 }
-            } catch (Exception ignored) {
-                // Ignore invalid selectors
             }
+            if (matches.isEmpty()) {
+                continue;
+            }
+            matches.sort(APPLY_ORDER);
+
+            applyMatches(element, STYLE_ATTR, matches, false, styles);
+            applyMatches(element, HOVER_STYLE_ATTR, matches, true, styles);
+        }
+    }
+
+    /**
+     * Writes the declarations of the matching rules in front of the element's own declarations, so the
+     * element's attribute overrides the stylesheet, and records the merged properties for the tag handlers.
+     */
+    private void applyMatches(Element element, String attribute, List<Match> matches, boolean hover,
+                              StyleIndex styles) {
+        StringBuilder declarations = new StringBuilder();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (Match match : matches) {
+            CompiledStylesheet.Rule rule = match.rule();
+            if (rule.hover() != hover) {
+                continue;
+            }
+            declarations.append(rule.declarations());
+            if (!rule.declarations().endsWith(";")) {
+                declarations.append(';');
+            }
+            putAll(properties, rule.properties());
+        }
+        if (declarations.isEmpty()) {
+            return;
+        }
+
+        String existing = element.attr(attribute);
+        declarations.append(existing);
+        putAll(properties, StyleDeclarations.parse(existing));
+
+        String merged = declarations.toString();
+        element.attr(attribute, merged);
+        styles.put(element, attribute, merged, properties);
+    }
+
+    private static void putAll(Map<String, String> target, Map<String, String> properties) {
+        // Re-insert so the map keeps the order in which the winning declarations appear.
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            target.remove(property.getKey());
+            target.put(property.getKey(), property.getValue());
         }
     }
 }
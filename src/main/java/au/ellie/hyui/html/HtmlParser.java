@@ -1,25 +1,36 @@
 package au.ellie.hyui.html;
 
 import au.ellie.hyui.HyUIPlugin;
+import au.ellie.hyui.HyUIPluginLogger;
 import au.ellie.hyui.builders.LabelBuilder;
 import au.ellie.hyui.builders.InterfaceBuilder;
 import au.ellie.hyui.builders.UIElementBuilder;
 import au.ellie.hyui.html.handlers.*;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Parser;
 
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A modular parser that converts HTML/XML-like language to HyUI builders.
  */
 public class HtmlParser {
     private final List<TagHandler> handlers = new ArrayList<>();
+    private final Map<String, List<TagHandler>> handlersByTag = new HashMap<>();
     private TemplateProcessor templateProcessor;
+    private String sourcePath;
+    private StyleIndex styles = new StyleIndex();
+    private Map<Element, UIElementBuilder<?>> parsedElements;
+
+    static final int BODY_OFFSET = BodyReader.PREFIX.length();
     
     public HtmlParser() {
         // Register default handlers
@@ -48,6 +59,7 @@ public class HtmlParser {
      */
     public void registerHandler(TagHandler handler) {
         handlers.add(handler);
+        handlersByTag.clear();
     }
 
     /**
@@ -68,6 +80,15 @@ public class HtmlParser {
         return templateProcessor;
     }
     
+    /**
+     * Sets the resource path the parsed HTML was loaded from. Used to key the {@link TemplateCache}.
+     *
+     * @param sourcePath The resource path, or null for inline HTML.
+     */
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+
     /**
      * Parses the HTML string and adds elements to the InterfaceBuilder.
      *
@@ -89,15 +110,83 @@ public class HtmlParser {
      */
     public List<UIElementBuilder<?>> parse(String html) {
         // Apply template processing if a processor is set
-        String processedHtml = html;
         if (templateProcessor != null) {
-            processedHtml = templateProcessor.process(html);
-            HyUIPlugin.getLog().logFinest("Processed template: " + processedHtml);
+            CompiledTemplate compiled = templateProcessor.compile(sourcePath, html);
+            if (!compiled.isStatic()) {
+                // The rendered output is read by jsoup straight from the buffer it was rendered into.
+                StringBuilder processedHtml = new StringBuilder(html.length());
+                templateProcessor.process(compiled, processedHtml);
+                if (HyUIPluginLogger.IS_DEV) {
+                    HyUIPlugin.getLog().logFinest("Processed template: " + processedHtml);
+                }
+                return parseChildren(parseDocument(processedHtml));
+            }
         }
-        Document doc = Jsoup.parseBodyFragment(processedHtml);
-        new CssPreprocessor().process(doc);
-        HyUIPlugin.getLog().logFinest("Document elements after preprocessing: " + doc.body().html());
-        return parseChildren(doc.body());
+        // Only resource pages whose output cannot vary are worth keeping; rendered output would just churn the cache.
+        ParsedDocument doc = sourcePath != null
+                ? TemplateCache.getParsedDocument(sourcePath, html, HtmlParser::parseDocument)
+                : parseDocument(html);
+        return parseChildren(doc);
+    }
+
+    static ParsedDocument parseDocument(CharSequence html) {
+        Document doc = parseBody(html, false);
+        StyleIndex styles = new StyleIndex();
+        new CssPreprocessor().process(doc, styles);
+        if (HyUIPluginLogger.IS_DEV) {
+            HyUIPlugin.getLog().logFinest("Document elements after preprocessing: " + doc.body().html());
+        }
+        return new ParsedDocument(doc, styles);
+    }
+
+    /**
+     * Parses the given HTML as the body of a new document, without preprocessing it.
+     *
+     * @param trackPosition Whether to record where each node starts and ends. Positions are offset by
+     *                      {@link #BODY_OFFSET} from the given HTML.
+     */
+    static Document parseBody(CharSequence html, boolean trackPosition) {
+        // Parsing "<body>" + html as a document yields the same body as Jsoup.parseBodyFragment,
+        // but lets jsoup read the input in chunks instead of needing it as a single String.
+        return Parser.htmlParser().setTrackPosition(trackPosition).parseInput(new BodyReader(html), "");
+    }
+
+    /**
+     * Parses the body of a preprocessed document, reusing the style properties merged into it.
+     */
+    List<UIElementBuilder<?>> parseChildren(ParsedDocument doc) {
+        styles = doc.styles();
+        return parseChildren(doc.document().body());
+    }
+
+    /**
+     * Parses a single element of a preprocessed document, e.g. one that replaced part of a document parsed
+     * earlier with {@link #parseChildren(ParsedDocument)}.
+     */
+    UIElementBuilder<?> parseElement(Element element, StyleIndex styles) {
+        this.styles = styles;
+        return handleElement(element);
+    }
+
+    /**
+     * Records the builder created for every element from now on, including nested ones a handler folds into
+     * its own builder.
+     *
+     * @param parsedElements The map to record into, or null to stop recording
+     */
+    void recordElements(Map<Element, UIElementBuilder<?>> parsedElements) {
+        this.parsedElements = parsedElements;
+    }
+
+    /**
+     * Returns the properties of a style attribute of an element being parsed.
+     *
+     * @param element   The element
+     * @param attribute The attribute holding the declarations, e.g. {@code style}
+     * @return The properties in declaration order, immutable.
+     */
+    Map<String, String> getStyleDeclarations(Element element, String attribute) {
+        return styles.get(element, attribute);
     }
 
     /**
@@ -130,11 +219,84 @@ public class HtmlParser {
     }
 
     public UIElementBuilder<?> handleElement(Element element) {
-        for (TagHandler handler : handlers) {
+        for (TagHandler handler : handlersByTag.computeIfAbsent(element.normalName(), this::findHandlers)) {
             if (handler.canHandle(element)) {
-                return handler.handle(element, this);
+                UIElementBuilder<?> builder = handler.handle(element, this);
+                if (builder != null) {
+                    // Rows of a list usually share their styles.
+                    builder.internStyles();
+                    if (parsedElements != null) {
+                        parsedElements.put(element, builder);
+                    }
+                }
+                return builder;
             }
         }
         return null;
     }
+
+    /**
+     * Collects the handlers that may serve a tag, in registration order: those declaring the tag name and
+     * those declaring no tag names at all.
+     */
+    private List<TagHandler> findHandlers(String tagName) {
+        List<TagHandler> candidates = new ArrayList<>();
+        for (TagHandler handler : handlers) {
+            Set<String> tagNames = handler.getTagNames();
+            if (tagNames.isEmpty() || tagNames.contains(tagName)) {
+                candidates.add(handler);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Reads {@code <body>} followed by the given characters without copying them. Supports mark/reset,
+     * which jsoup requires.
+     */
+    private static final class BodyReader extends Reader {
+        private static final String PREFIX = "<body>";
+
+        private final CharSequence content;
+        private int position;
+        private int mark;
+
+        private BodyReader(CharSequence content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            int total = PREFIX.length() + content.length();
+            if (position >= total) {
+                return -1;
+            }
+            int count = Math.min(length, total - position);
+            for (int i = 0; i < count; i++, position++) {
+                buffer[offset + i] = position < PREFIX.length()
+                        ? PREFIX.charAt(position)
+                        : content.charAt(position - PREFIX.length());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readAheadLimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() {
+            position = mark;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
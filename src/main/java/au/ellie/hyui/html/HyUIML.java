@@ -0,0 +1,99 @@
+package au.ellie.hyui.html;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Entry point for loading and compiling HyUIML files.
+ *
+ * <pre>
+ * private static final CompiledPage SHOP = HyUIML.compile("Pages/Shop.html");
+ *
+ * PageBuilder.pageForPlayer(playerRef)
+ *     .fromCompiledPage(SHOP, Map.of("balance", balance))
+ *     .open(store);
+ * </pre>
+ */
+public final class HyUIML {
+
+    private HyUIML() {}
+
+    /**
+     * Loads a HyUIML file from resources under Common/UI/Custom and parses it once for repeated use, see
+     * {@link CompiledPage}.
+     *
+     * @param resourcePath Path relative to Common/UI/Custom (e.g. "Pages/Something.html")
+     * @return The compiled page
+     */
+    public static CompiledPage compile(String resourcePath) {
+        String resourceFileName = resolveResourcePath(resourcePath);
+        return CompiledPage.compile(readResource(resourceFileName), resourceFileName);
+    }
+
+    /**
+     * Parses inline HyUIML once for repeated use, see {@link CompiledPage}.
+     *
+     * @param html The HyUIML, optionally containing template syntax
+     * @return The compiled page
+     */
+    public static CompiledPage compileHtml(String html) {
+        return CompiledPage.compile(html, null);
+    }
+
+    /**
+     * Resolves a path relative to Common/UI/Custom to its resource file name.
+     *
+     * @param resourcePath Path relative to Common/UI/Custom (e.g. "Pages/Something.html")
+     * @return The resource file name
+     */
+    public static String resolveResourcePath(String resourcePath) {
+        if (resourcePath == null || resourcePath.isBlank()) {
+            throw new IllegalArgumentException("Resource path cannot be null or blank.");
+        }
+        String trimmed = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        return "/Common/UI/Custom/" + trimmed;
+    }
+
+    /**
+     * Reads a resource file. Files in the development source and build directories take precedence,
+     * so edits are picked up without a restart.
+     *
+     * @param resourceFileName The resource file name, as returned by {@link #resolveResourcePath(String)}
+     * @return The file contents
+     */
+    public static String readResource(String resourceFileName) {
+        String normalized = resourceFileName.startsWith("/") ? resourceFileName.substring(1) : resourceFileName;
+        List<Path> candidatePaths = List.of(
+                Paths.get("src/main/resources").resolve(normalized),
+                Paths.get("..", "src", "main", "resources").resolve(normalized),
+                Paths.get("build/resources/main").resolve(normalized),
+                Paths.get("..", "build", "resources", "main").resolve(normalized),
+                Paths.get(normalized)
+        );
+        for (Path path : candidatePaths) {
+            if (Files.isRegularFile(path)) {
+                try {
+                    return Files.readString(path, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to load HTML from file: " + path, e);
+                }
+            }
+        }
+        // Packaged resources cannot change at runtime, so they are only read once.
+        return TemplateCache.getResource(resourceFileName, () -> {
+            try (InputStream inputStream = HyUIML.class.getResourceAsStream(resourceFileName)) {
+                if (inputStream == null) {
+                    throw new IllegalArgumentException("Resource not found: " + resourceFileName);
+                }
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load HTML from resource: " + resourceFileName, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package au.ellie.hyui.html;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the properties of template model objects through method handles resolved once per class.
+ *
+ * <p>Properties are looked up in this order, the first match winning: public fields, public
+ * {@code getX()}/{@code isX()} methods, record components, declared fields and declared getters.
+ * Members that cannot be made accessible are skipped, and a getter that throws falls through to the
+ * next member of the same name.</p>
+ */
+final class ModelAccessor {
+
+    private static final ClassValue<ModelAccessor> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected ModelAccessor computeValue(Class<?> type) {
+            return new ModelAccessor(type);
+        }
+    };
+
+    private static final MethodType INSTANCE_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType STATIC_GETTER = MethodType.methodType(Object.class);
+
+    /**
+     * Returned by {@link #get(Object, String)} when the property does not exist or every member providing it
+     * threw, so the caller can keep looking elsewhere.
+     */
+    static final Object MISSING = new Object();
+
+    private final Map<String, MethodHandle[]> properties;
+
+    private ModelAccessor(Class<?> type) {
+        Resolved resolved = new Resolved();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Field field : type.getFields()) {
+            addField(resolved, lookup, field);
+        }
+        for (Method method : type.getMethods()) {
+            addGetter(resolved, lookup, method);
+        }
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                addMethod(resolved, lookup, component.getName(), component.getAccessor());
+            }
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (!field.isSynthetic()) {
+                addField(resolved, lookup, field);
+            }
+        }
+        for (Method method : type.getDeclaredMethods()) {
+            addGetter(resolved, lookup, method);
+        }
+
+        Map<String, MethodHandle[]> properties = new LinkedHashMap<>();
+        resolved.handles.forEach((name, handles) -> properties.put(name, handles.toArray(new MethodHandle[0])));
+        this.properties = Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * @param type The model class
+     * @return The shared accessor for the class.
+     */
+    static ModelAccessor of(Class<?> type) {
+        return ACCESSORS.get(type);
+    }
+
+    /**
+     * Reads a property.
+     *
+     * @return The value, or {@link #MISSING} if the property does not exist or every getter for it threw.
+     */
+    Object get(Object target, String property) {
+        MethodHandle[] handles = properties.get(property);
+        if (handles == null) {
+            return MISSING;
+        }
+        for (MethodHandle handle : handles) {
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable ignored) {
+                // Try the next member of the same name.
+            }
+        }
+        return MISSING;
+    }
+
+    Set<String> propertyNames() {
+        return properties.keySet();
+    }
+
+    private static void addField(Resolved resolved, MethodHandles.Lookup lookup, Field field) {
+        if (!resolved.claim(field.getName(), field)) {
+            return;
+        }
+        try {
+            trySetAccessible(field);
+            MethodHandle handle = lookup.unreflectGetter(field);
+            resolved.add(field.getName(), adapt(handle, Modifier.isStatic(field.getModifiers())));
+        } catch (IllegalAccessException ignored) {
+            // Skip inaccessible fields.
+        }
+    }
+
+    private static void addGetter(Resolved resolved, MethodHandles.Lookup lookup, Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+            return;
+        }
+        String name = method.getName();
+        if (name.equals("getClass")) {
+            return;
+        }
+
+        String suffix = null;
+        if (name.startsWith("get") && name.length() > 3) {
+            suffix = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            suffix = name.substring(2);
+        }
+
+        if (suffix != null) {
+            addMethod(resolved, lookup, decapitalize(suffix), method);
+            // getXCoord() is XCoord to JavaBeans, but templates may write xCoord or XCoord.
+            addMethod(resolved, lookup, suffix, method);
+            addMethod(resolved, lookup, Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1), method);
+        }
+    }
+
+    private static void addMethod(Resolved resolved, MethodHandles.Lookup lookup,
+                                  String propName, Method method) {
+        if (!resolved.claim(propName, method)) {
+            return;
+        }
+        try {
+            trySetAccessible(method);
+            MethodHandle handle = lookup.unreflect(method);
+            resolved.add(propName, adapt(handle, Modifier.isStatic(method.getModifiers())));
+        } catch (IllegalAccessException ignored) {
+            // Skip inaccessible getters.
+        }
+    }
+
+    private static void trySetAccessible(java.lang.reflect.AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException ignored) {
+            // Not open to us; public members of exported types can still be read.
+        }
+    }
+
+    private static MethodHandle adapt(MethodHandle handle, boolean isStatic) {
+        if (isStatic) {
+            return MethodHandles.dropArguments(handle.asType(STATIC_GETTER), 0, Object.class);
+        }
+        return handle.asType(INSTANCE_GETTER);
+    }
+
+    /**
+     * The members found for each property name, in lookup order, each member at most once per name.
+     */
+    private static final class Resolved {
+        private final Map<String, List<MethodHandle>> handles = new LinkedHashMap<>();
+        private final Set<List<Object>> claimed = new HashSet<>();
+
+        boolean claim(String name, Member member) {
+            return claimed.add(List.of(name, member));
+        }
+
+        void add(String name, MethodHandle handle) {
+            handles.computeIfAbsent(name, n -> new ArrayList<>(1)).add(handle);
+        }
+    }
+
+    private static String decapitalize(String value) {
+        if (value.length() > 1 && Character.isUpperCase(value.charAt(0)) && Character.isUpperCase(value.charAt(1))) {
+            return value;
+        }
+        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,20 @@
+package au.ellie.hyui.html;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * A preprocessed document together with the style properties merged into it.
+ */
+record ParsedDocument(Document document, StyleIndex styles) {
+
+    /**
+     * @return A deep copy the caller owns.
+     */
+    ParsedDocument copy() {
+        // Cloning lazily initialises child lists on the source, so copies are not made concurrently.
+        synchronized (document) {
+            Document copy = document.clone();
+            return new ParsedDocument(copy, styles.copyFor(document, copy));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package au.ellie.hyui.html;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits CSS declaration text such as {@code color: #fff; font-size: 18} into properties.
+ *
+ * <p>Style attributes written by {@link CssPreprocessor} are not split again; their merged properties are
+ * kept in the {@link StyleIndex} of the document.</p>
+ */
+final class StyleDeclarations {
+
+    private StyleDeclarations() {}
+
+    /**
+     * @param declarations The declaration text
+     * @return The properties in declaration order, immutable; a repeated property takes the value and
+     *         position of its last declaration.
+     */
+    static Map<String, String> parse(String declarations) {
+        if (declarations == null || declarations.isBlank()) {
+            return Map.of();
+        }
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String declaration : declarations.split(";")) {
+            String[] parts = declaration.split(":", 2);
+            if (parts.length == 2) {
+                String property = parts[0].trim();
+                properties.remove(property);
+                properties.put(property, parts[1].trim());
+            }
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+}
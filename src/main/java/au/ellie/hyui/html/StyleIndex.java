@@ -0,0 +1,84 @@
+package au.ellie.hyui.html;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The style properties {@link CssPreprocessor} merged for the elements of one document, so tag handlers do not
+ * split the attributes it wrote again.
+ *
+ * <p>Entries are keyed by element identity and belong to a single document; {@link #copyFor} carries them over
+ * to a copy of it. An entry is only used while the element's attribute still holds the text it was merged
+ * into.</p>
+ */
+final class StyleIndex {
+
+    private record Entry(String declarations, Map<String, String> properties) {}
+
+    private final Map<Element, Entry> styles = new IdentityHashMap<>();
+    private final Map<Element, Entry> hoverStyles = new IdentityHashMap<>();
+
+    void put(Element element, String attribute, String declarations, Map<String, String> properties) {
+        entries(attribute).put(element, new Entry(declarations, Collections.unmodifiableMap(properties)));
+    }
+
+    /**
+     * @return The properties of the element's attribute, immutable.
+     */
+    Map<String, String> get(Element element, String attribute) {
+        String declarations = element.attr(attribute);
+        Map<Element, Entry> entries = entries(attribute);
+        Entry entry = entries == null ? null : entries.get(element);
+        if (entry != null && entry.declarations().equals(declarations)) {
+            return entry.properties();
+        }
+        return StyleDeclarations.parse(declarations);
+    }
+
+    /**
+     * Forgets the entries of an element and its descendants, once they are no longer part of the document.
+     */
+    void removeAll(Element element) {
+        for (Element removed : element.getAllElements()) {
+            styles.remove(removed);
+            hoverStyles.remove(removed);
+        }
+    }
+
+    /**
+     * Returns the entries of this index for a structurally identical copy of the document they were made for.
+     */
+    StyleIndex copyFor(Document source, Document copy) {
+        StyleIndex index = new StyleIndex();
+        if (styles.isEmpty() && hoverStyles.isEmpty()) {
+            return index;
+        }
+        List<Element> sourceElements = source.getAllElements();
+        List<Element> copyElements = copy.getAllElements();
+        for (int i = 0; i < sourceElements.size(); i++) {
+            Element element = sourceElements.get(i);
+            Entry style = styles.get(element);
+            if (style != null) {
+                index.styles.put(copyElements.get(i), style);
+            }
+            Entry hoverStyle = hoverStyles.get(element);
+            if (hoverStyle != null) {
+                index.hoverStyles.put(copyElements.get(i), hoverStyle);
+            }
+        }
+        return index;
+    }
+
+    private Map<Element, Entry> entries(String attribute) {
+        return switch (attribute) {
+            case CssPreprocessor.STYLE_ATTR -> styles;
+            case CssPreprocessor.HOVER_STYLE_ATTR -> hoverStyles;
+            default -> null;
+        };
+    }
+}
@@ -9,8 +9,9 @@ import au.ellie.hyui.utils.StyleUtils;
 import com.hypixel.hytale.server.core.Message;
 import org.jsoup.nodes.Element;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface for handling a specific HTML tag and converting it to a HyUI builder.
@@ -24,6 +25,16 @@ public interface TagHandler {
      */
     boolean canHandle(Element element);
 
+    /**
+     * Lists the lowercase tag names this handler can serve, so the parser only asks it about those elements.
+     * {@link #canHandle(Element)} still makes the final decision, e.g. for class checks.
+     *
+     * @return The tag names, or an empty set to be asked about every element.
+     */
+    default Set<String> getTagNames() {
+        return Set.of();
+    }
+
     /**
      * Handles the conversion of the HTML element to a UIElementBuilder.
      *
@@ -40,10 +51,26 @@ public interface TagHandler {
      * @param element The HTML element containing the attributes.
      */
     default void applyCommonAttributes(UIElementBuilder<?> builder, Element element) {
+        applyCommonAttributes(builder, element, null);
+    }
+
+    /**
+     * Applies common attributes like id, style, data-*, etc. to the builder, reusing the style properties the
+     * parser already merged from the page's stylesheets.
+     *
+     * @param builder The builder to apply attributes to.
+     * @param element The HTML element containing the attributes.
+     * @param parser  The parser handling the element, or null.
+     */
+    default void applyCommonAttributes(UIElementBuilder<?> builder, Element element, HtmlParser parser) {
         if (element.hasAttr("id")) {
             builder.withId(element.attr("id"));
         }
 
+        if (element.hasAttr("key")) {
+            builder.withKey(element.attr("key"));
+        }
+
         if (element.hasAttr("data-hyui-tooltiptext")) {
             builder.withTooltipTextSpan(Message.raw(element.attr("data-hyui-tooltiptext")));
         }
@@ -55,12 +82,12 @@ public interface TagHandler {
         }
 
         if (element.hasAttr("style")) {
-            Map<String, Object> styles = parseStyleAttribute(element.attr("style"));
+            Map<String, Object> styles = parseStyleAttribute(element, "style", parser);
             applyStyles(builder, styles);
         }
 
         if (element.hasAttr("data-hyui-hover-style")) {
-            Map<String, Object> hoverStyles = parseStyleAttribute(element.attr("data-hyui-hover-style"));
+            Map<String, Object> hoverStyles = parseStyleAttribute(element, "data-hyui-hover-style", parser);
             ParsedStyles parsed = getStylesAnchorsPadding(hoverStyles, builder);
             if (parsed.hasStyle) {
                 HyUIStyle currentStyle = builder.getHyUIStyle();
@@ -74,7 +101,7 @@ public interface TagHandler {
         }
 
         if (element.hasAttr("data-hyui-style")) {
-            Map<String, Object> rawStyles = parseStyleAttribute(element.attr("data-hyui-style"));
+            Map<String, Object> rawStyles = parseStyleAttribute(element, "data-hyui-style", parser);
             if (!rawStyles.isEmpty()) {
                 HyUIStyle currentStyle = builder.getHyUIStyle();
                 if (currentStyle == null) {
@@ -134,14 +161,13 @@ public interface TagHandler {
         return trimmed;
     }
 
-    private Map<String, Object> parseStyleAttribute(String styleAttr) {
-        Map<String, Object> styles = new HashMap<>();
-        String[] declarations = styleAttr.split(";");
-        for (String declaration : declarations) {
-            String[] parts = declaration.split(":", 2);
-            if (parts.length == 2) {
-                styles.put(parts[0].trim(), parseStyleValue(parts[1].trim()));
-            }
+    private Map<String, Object> parseStyleAttribute(Element element, String attribute, HtmlParser parser) {
+        Map<String, String> declarations = parser != null
+                ? parser.getStyleDeclarations(element, attribute)
+                : StyleDeclarations.parse(element.attr(attribute));
+        Map<String, Object> styles = new LinkedHashMap<>(declarations.size() * 2);
+        for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+            styles.put(declaration.getKey(), parseStyleValue(declaration.getValue()));
         }
         return styles;
     }
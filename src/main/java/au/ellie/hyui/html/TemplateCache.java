@@ -0,0 +1,234 @@
+package au.ellie.hyui.html;
+
+import org.jsoup.nodes.Document;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache for HyUIML sources, compiled templates, stylesheets and preprocessed documents.
+ *
+ * <p>Entries are keyed by resource path (when known) plus a hash of the content, so the same page opened
+ * by many players is only read, compiled and parsed once. The cache is bounded by entry count and by an
+ * approximate size in bytes, evicting the least recently used entries first.</p>
+ *
+ * <p>Cached documents are never handed out directly; callers receive a deep copy they are free to mutate.</p>
+ */
+public final class TemplateCache {
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private static final Map<Key, CacheEntry> CACHE = new LinkedHashMap<>(64, 0.75f, true);
+
+    private static int maxEntries = DEFAULT_MAX_ENTRIES;
+    private static long maxBytes = DEFAULT_MAX_BYTES;
+    private static long currentBytes;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private TemplateCache() {}
+
+    private enum Kind {
+        RESOURCE,
+        TEMPLATE,
+        STYLESHEET,
+        DOCUMENT
+    }
+
+    private record Key(Kind kind, String path, int hash, int length) {}
+
+    private record CacheEntry(String source, Object value, long bytes) {}
+
+    /**
+     * A point-in-time snapshot of the cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) {}
+
+    /**
+     * Returns the contents of a resource that cannot change while the server is running (e.g. a classpath
+     * resource), loading it on the first request.
+     *
+     * @param path   The resource path
+     * @param loader Loads the resource when it is not cached
+     * @return The resource contents
+     */
+    public static String getResource(String path, Supplier<String> loader) {
+        Key key = new Key(Kind.RESOURCE, path, 0, 0);
+        CacheEntry entry = lookup(key, null);
+        if (entry != null) {
+            return (String) entry.value();
+        }
+        String contents = loader.get();
+        store(key, new CacheEntry(null, contents, estimateBytes(contents)));
+        return contents;
+    }
+
+    /**
+     * Returns the compiled form of a template, compiling it on the first request.
+     *
+     * @param path   The resource path the template was loaded from, or null for inline templates
+     * @param source The template source
+     * @return The compiled template
+     */
+    public static CompiledTemplate getTemplate(String path, String source) {
+        Key key = keyFor(Kind.TEMPLATE, path, source);
+        CacheEntry entry = lookup(key, source);
+        if (entry != null) {
+            return (CompiledTemplate) entry.value();
+        }
+        CompiledTemplate compiled = CompiledTemplate.compile(source);
+        store(key, new CacheEntry(source, compiled, estimateBytes(source)));
+        return compiled;
+    }
+
+    /**
+     * Returns the compiled form of the contents of a {@code <style>} block, compiling it on the first request.
+     * Stylesheets are keyed by content only, so pages that include the same stylesheet share it.
+     *
+     * @param css The stylesheet source
+     * @return The compiled stylesheet
+     */
+    static CompiledStylesheet getStylesheet(String css) {
+        Key key = keyFor(Kind.STYLESHEET, null, css);
+        CacheEntry entry = lookup(key, css);
+        if (entry != null) {
+            return (CompiledStylesheet) entry.value();
+        }
+        CompiledStylesheet compiled = CompiledStylesheet.compile(css);
+        store(key, new CacheEntry(css, compiled, estimateBytes(css) * 2));
+        return compiled;
+    }
+
+    /**
+     * Returns a copy of the document produced for the given HTML, parsing it on the first request.
+     *
+     * @param path   The resource path the HTML was loaded from, or null if unknown
+     * @param html   The HTML to parse
+     * @param parser Parses and preprocesses the HTML when it is not cached
+     * @return A document the caller owns
+     */
+    public static Document getDocument(String path, String html, Function<String, Document> parser) {
+        return getParsedDocument(path, html, source -> new ParsedDocument(parser.apply(source), new StyleIndex()))
+                .document();
+    }
+
+    /**
+     * Returns a copy of the document produced for the given HTML, together with its merged styles, parsing it on
+     * the first request.
+     */
+    static ParsedDocument getParsedDocument(String path, String html, Function<String, ParsedDocument> parser) {
+        Key key = keyFor(Kind.DOCUMENT, path, html);
+        CacheEntry entry = lookup(key, html);
+        if (entry != null) {
+            return ((ParsedDocument) entry.value()).copy();
+        }
+        ParsedDocument parsed = parser.apply(html);
+        // Jsoup nodes take several times the size of their source text.
+        store(key, new CacheEntry(html, parsed.copy(), estimateBytes(html) * 4));
+        return parsed;
+    }
+
+    /**
+     * Sets the maximum number of cached entries, evicting immediately if needed.
+     *
+     * @param entries The maximum number of entries, or 0 to disable caching
+     */
+    public static void setMaxEntries(int entries) {
+        synchronized (CACHE) {
+            maxEntries = Math.max(0, entries);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Sets the approximate maximum size of the cache in bytes, evicting immediately if needed.
+     *
+     * @param bytes The maximum size, or 0 to disable caching
+     */
+    public static void setMaxBytes(long bytes) {
+        synchronized (CACHE) {
+            maxBytes = Math.max(0, bytes);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Removes every entry. Counters are kept.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            currentBytes = 0;
+        }
+    }
+
+    public static Stats getStats() {
+        synchronized (CACHE) {
+            return new Stats(hits, misses, evictions, CACHE.size(), currentBytes);
+        }
+    }
+
+    public static long getHits() {
+        synchronized (CACHE) {
+            return hits;
+        }
+    }
+
+    public static long getMisses() {
+        synchronized (CACHE) {
+            return misses;
+        }
+    }
+
+    public static long getEvictions() {
+        synchronized (CACHE) {
+            return evictions;
+        }
+    }
+
+    private static Key keyFor(Kind kind, String path, String content) {
+        return new Key(kind, path, content.hashCode(), content.length());
+    }
+
+    private static CacheEntry lookup(Key key, String source) {
+        synchronized (CACHE) {
+            CacheEntry entry = CACHE.get(key);
+            // The key only carries a hash, so make sure the content really matches.
+            if (entry != null && (source == null || source.equals(entry.source()))) {
+                hits++;
+                return entry;
+            }
+            misses++;
+            return null;
+        }
+    }
+
+    private static void store(Key key, CacheEntry entry) {
+        synchronized (CACHE) {
+            CacheEntry previous = CACHE.put(key, entry);
+            if (previous != null) {
+                currentBytes -= previous.bytes();
+            }
+            currentBytes += entry.bytes();
+            evictIfNeeded();
+        }
+    }
+
+    private static void evictIfNeeded() {
+        Iterator<CacheEntry> iterator = CACHE.values().iterator();
+        while ((CACHE.size() > maxEntries || currentBytes > maxBytes) && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            currentBytes -= eldest.bytes();
+            evictions++;
+        }
+    }
+
+    private static long estimateBytes(String content) {
+        return content == null ? 0 : (long) content.length() * 2;
+    }
+}
@@ -0,0 +1,310 @@
+package au.ellie.hyui.html;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code {{#if}}} condition parsed once into an expression tree.
+ *
+ * <p>Supports {@code ||}, {@code &&}, {@code !}, parentheses, {@code contains} and the comparison
+ * operators {@code ==, !=, >=, <=, >, <}. Literal operands (quoted strings, numbers, booleans and
+ * {@code null}) are converted when the condition is parsed; everything else is looked up in the
+ * template scope when the condition is evaluated by a {@link TemplateProcessor}.</p>
+ *
+ * <p>Parsed conditions are immutable and cached per condition string.</p>
+ */
+public final class TemplateCondition {
+
+    private static final int MAX_CACHED_CONDITIONS = 1024;
+    private static final Map<String, TemplateCondition> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TemplateCondition> eldest) {
+            return size() > MAX_CACHED_CONDITIONS;
+        }
+    };
+
+    private final String source;
+    private final Expression expression;
+
+    sealed interface Expression permits Or, And, Not, Comparison, Contains, Truthy {}
+
+    record Or(List<Expression> operands) implements Expression {}
+
+    record And(List<Expression> operands) implements Expression {}
+
+    record Not(Expression operand) implements Expression {}
+
+    record Comparison(Operand left, Operator operator, Operand right) implements Expression {}
+
+    record Contains(Operand left, Operand right) implements Expression {}
+
+    /**
+     * A single operand tested on its own, e.g. {@code {{#if isAdmin}}}.
+     */
+    record Truthy(Operand operand) implements Expression {}
+
+    sealed interface Operand permits Constant, Reference {}
+
+    /**
+     * A literal value: a quoted string, number, boolean, {@code null} or the empty string.
+     */
+    record Constant(Object value) implements Operand {}
+
+    /**
+     * A variable path. Resolves to the name itself if no such variable exists.
+     */
+    record Reference(String name) implements Operand {}
+
+    enum Operator {
+        EQUALS("=="),
+        NOT_EQUALS("!="),
+        GREATER_OR_EQUAL(">="),
+        LESS_OR_EQUAL("<="),
+        GREATER(">"),
+        LESS("<");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        String symbol() {
+            return symbol;
+        }
+    }
+
+    private TemplateCondition(String source, Expression expression) {
+        this.source = source;
+        this.expression = expression;
+    }
+
+    /**
+     * Parses a condition, reusing a previously parsed tree for the same string.
+     *
+     * @param condition The condition text, e.g. {@code score >= 10}
+     * @return The parsed condition
+     */
+    public static TemplateCondition parse(String condition) {
+        String trimmed = condition != null ? condition.trim() : "";
+        synchronized (CACHE) {
+            TemplateCondition cached = CACHE.get(trimmed);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        TemplateCondition parsed = new TemplateCondition(trimmed, new Parser(trimmed).parse());
+        synchronized (CACHE) {
+            CACHE.put(trimmed, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * @return The condition text this tree was parsed from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    Expression expression() {
+        return expression;
+    }
+
+    private static final class Parser {
+        private final String input;
+        private boolean groups = true;
+        private int pos;
+        private int depth;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        private Expression parse() {
+            if (input.isEmpty()) {
+                return new Truthy(new Constant(""));
+            }
+            Expression expression = parseOr();
+            if (pos < input.length()) {
+                // Something like "(a) == b"; read parentheses as plain text instead.
+                groups = false;
+                pos = 0;
+                expression = parseOr();
+            }
+            return expression;
+        }
+
+        private Expression parseOr() {
+            List<Expression> operands = new ArrayList<>();
+            operands.add(parseAnd());
+            while (input.startsWith("||", pos)) {
+                pos += 2;
+                operands.add(parseAnd());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(Collections.unmodifiableList(operands));
+        }
+
+        private Expression parseAnd() {
+            List<Expression> operands = new ArrayList<>();
+            operands.add(parseUnary());
+            while (input.startsWith("&&", pos)) {
+                pos += 2;
+                operands.add(parseUnary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(Collections.unmodifiableList(operands));
+        }
+
+        private Expression parseUnary() {
+            skipWhitespace();
+            if (pos < input.length() && input.charAt(pos) == '!' && !input.startsWith("!=", pos)) {
+                pos++;
+                return new Not(parseUnary());
+            }
+            if (groups && pos < input.length() && input.charAt(pos) == '(') {
+                int groupStart = pos;
+                pos++;
+                depth++;
+                Expression group = parseOr();
+                skipWhitespace();
+                depth--;
+                if (pos < input.length() && input.charAt(pos) == ')') {
+                    pos++;
+                    skipWhitespace();
+                    return group;
+                }
+                // Unbalanced, so the parenthesis is just part of the operand.
+                pos = groupStart;
+            }
+            return parseComparison();
+        }
+
+        private Expression parseComparison() {
+            int start = pos;
+
+            // contains binds looser than the comparison operators, as it did when conditions were split with
+            // regular expressions: "a == b contains c" tests whether "a == b" contains c.
+            int containsAt = operandEnd(start, false, true);
+            if (startsWithContains(containsAt)) {
+                String left = input.substring(start, containsAt);
+                pos = input.indexOf("contains", containsAt) + "contains".length();
+                int rightStart = pos;
+                pos = operandEnd(pos, false, false);
+                return new Contains(toOperand(left), toOperand(input.substring(rightStart, pos)));
+            }
+
+            pos = operandEnd(start, true, false);
+            String left = input.substring(start, pos);
+            for (Operator operator : Operator.values()) {
+                if (input.startsWith(operator.symbol(), pos)) {
+                    pos += operator.symbol().length();
+                    int rightStart = pos;
+                    pos = operandEnd(pos, false, false);
+                    return new Comparison(toOperand(left), operator, toOperand(input.substring(rightStart, pos)));
+                }
+            }
+
+            return new Truthy(toOperand(left));
+        }
+
+        /**
+         * Finds the end of the operand starting at {@code start}. An operand extends to the next logical
+         * operator or closing parenthesis, and optionally stops earlier at the first comparison operator or
+         * {@code contains}.
+         */
+        private int operandEnd(int start, boolean atComparison, boolean atContains) {
+            int index = start;
+            char quote = 0;
+            while (index < input.length()) {
+                char c = input.charAt(index);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                    index++;
+                    continue;
+                }
+                if (c == '"' || c == '\'') {
+                    quote = c;
+                    index++;
+                    continue;
+                }
+                if (input.startsWith("&&", index) || input.startsWith("||", index)) {
+                    return index;
+                }
+                if (c == ')' && depth > 0) {
+                    return index;
+                }
+                if (index > start && ((atComparison && isComparisonOperator(index))
+                        || (atContains && startsWithContains(index)))) {
+                    return index;
+                }
+                index++;
+            }
+            return index;
+        }
+
+        private boolean isComparisonOperator(int index) {
+            char c = input.charAt(index);
+            return c == '>' || c == '<'
+                    || ((c == '=' || c == '!') && index + 1 < input.length() && input.charAt(index + 1) == '=');
+        }
+
+        /**
+         * Matches whitespace, {@code contains}, then whitespace.
+         */
+        private boolean startsWithContains(int index) {
+            if (index >= input.length() || !Character.isWhitespace(input.charAt(index))) {
+                return false;
+            }
+            int cursor = index;
+            while (cursor < input.length() && Character.isWhitespace(input.charAt(cursor))) {
+                cursor++;
+            }
+            int end = cursor + "contains".length();
+            return input.startsWith("contains", cursor)
+                    && end < input.length()
+                    && Character.isWhitespace(input.charAt(end));
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static Operand toOperand(String token) {
+            String trimmed = token.trim();
+            if (trimmed.isEmpty()) {
+                return new Constant("");
+            }
+
+            if (trimmed.length() > 1 && ((trimmed.startsWith("\"") && trimmed.endsWith("\""))
+                    || (trimmed.startsWith("'") && trimmed.endsWith("'")))) {
+                return new Constant(trimmed.substring(1, trimmed.length() - 1));
+            }
+
+            if ("null".equalsIgnoreCase(trimmed)) {
+                return new Constant(null);
+            }
+
+            if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+                return new Constant(Boolean.parseBoolean(trimmed));
+            }
+
+            try {
+                if (trimmed.contains(".")) {
+                    return new Constant(Double.parseDouble(trimmed));
+                }
+                return new Constant(Long.parseLong(trimmed));
+            } catch (NumberFormatException ignored) {
+                // Not a number literal.
+            }
+
+            return new Reference(trimmed);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package au.ellie.hyui.html;
+
+import au.ellie.hyui.builders.UIElementBuilder;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.Range;
+import org.jsoup.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The parsed output of a runtime-updated template, kept between refreshes so a refresh only parses the
+ * elements whose output changed.
+ *
+ * <p>{@link #parse} parses the whole output and remembers where each element with a builder starts and ends
+ * in it. After the next render with a {@link TemplateRenderCache}, {@link #update} finds the innermost such
+ * element around every range the cache reported as changed, parses that element's new markup in its place and
+ * lets a {@link Merger} merge the result into the element's existing builder. Everything outside those
+ * elements is neither parsed nor visited.</p>
+ *
+ * <p>An update is refused, and the caller has to {@link #parse} the whole output again, when a change is not
+ * inside an element with a builder, when the new markup is not a single element of the same tag or adds a
+ * stylesheet, when a stylesheet has rules that depend on an element's siblings, or when the merger cannot
+ * merge an element in place.</p>
+ *
+ * <p>A document belongs to a single interface and is not thread-safe.</p>
+ */
+public final class TemplateDocument {
+
+    /**
+     * Merges the builder parsed for an element's new markup into the builder created for it before.
+     */
+    public interface Merger {
+
+        /**
+         * @return true if {@code updated} can be merged into {@code current} without moving it on the client
+         */
+        boolean canMerge(UIElementBuilder<?> current, UIElementBuilder<?> updated);
+
+        /**
+         * Merges {@code updated} and its children into {@code current}.
+         *
+         * @return Maps every builder parsed for the new markup to the builder it ended up as, or to null if it
+         *         did not end up in the interface
+         */
+        UnaryOperator<UIElementBuilder<?>> merge(UIElementBuilder<?> current, UIElementBuilder<?> updated);
+    }
+
+    /**
+     * The builder of an element and where the element starts and ends in the last output.
+     */
+    private static final class Binding {
+        final UIElementBuilder<?> builder;
+        int start;
+        int end;
+
+        Binding(UIElementBuilder<?> builder, int start, int end) {
+            this.builder = builder;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * An element being replaced by its new markup.
+     */
+    private record Replacement(Element target, Binding binding, Element element, UIElementBuilder<?> builder,
+                               Map<Element, UIElementBuilder<?>> parsed, int start) {}
+
+    private final HtmlParser parser = new HtmlParser();
+    private final Map<Element, Binding> bindings = new IdentityHashMap<>();
+    private Map<Element, UIElementBuilder<?>> parsed = new IdentityHashMap<>();
+    private Document document;
+    private StyleIndex styles;
+    private List<CompiledStylesheet> stylesheets = List.of();
+    private int length;
+
+    /**
+     * Parses the whole output of a template. Call {@link #bind} once the builders are merged into the
+     * interface.
+     *
+     * @param html The rendered template
+     * @return The top-level builders
+     */
+    public List<UIElementBuilder<?>> parse(String html) {
+        clear();
+        Document doc = HtmlParser.parseBody(html, true);
+        StyleIndex styles = new StyleIndex();
+        List<CompiledStylesheet> stylesheets = new CssPreprocessor().process(doc, styles);
+
+        parser.recordElements(parsed);
+        List<UIElementBuilder<?>> builders;
+        try {
+            builders = parser.parseChildren(new ParsedDocument(doc, styles));
+        } finally {
+            parser.recordElements(null);
+        }
+        this.document = doc;
+        this.styles = styles;
+        this.stylesheets = stylesheets;
+        this.length = html.length();
+        return builders;
+    }
+
+    /**
+     * Records which builder every element parsed by the last {@link #parse} ended up as.
+     *
+     * @param resolver Maps a parsed builder to the builder it was merged into, or to null if it did not end up
+     *                 in the interface
+     */
+    public void bind(UnaryOperator<UIElementBuilder<?>> resolver) {
+        bind(parsed, resolver, -HtmlParser.BODY_OFFSET);
+        parsed = new IdentityHashMap<>();
+    }
+
+    /**
+     * Parses the elements around the ranges that changed in the last render and merges them into their
+     * builders. Either every change is applied or none is.
+     *
+     * @param html   The new output of the template
+     * @param cache  The cache the output was rendered with
+     * @param merger Merges the new builders into the existing ones
+     * @return false if nothing was changed and the whole output has to be parsed again
+     */
+    public boolean update(String html, TemplateRenderCache cache, Merger merger) {
+        int[] changes = cache.getChanges();
+        if (document == null || changes == null || changes.length == 0 || hasSiblingRules()) {
+            return false;
+        }
+        int difference = 0;
+        for (int i = 0; i < changes.length; i += 4) {
+            difference += (changes[i + 3] - changes[i + 2]) - (changes[i + 1] - changes[i]);
+        }
+        if (length + difference != html.length()) {
+            return false;
+        }
+
+        List<Element> targets = findTargets(changes);
+        if (targets == null) {
+            return false;
+        }
+        List<Replacement> replacements = new ArrayList<>(targets.size());
+        for (Element target : targets) {
+            Replacement replacement = replace(target, html, changes, merger);
+            if (replacement == null) {
+                for (Replacement applied : replacements) {
+                    applied.element().replaceWith(applied.target());
+                    styles.removeAll(applied.element());
+                }
+                return false;
+            }
+            replacements.add(replacement);
+        }
+
+        for (Replacement replacement : replacements) {
+            for (Element removed : replacement.target().getAllElements()) {
+                bindings.remove(removed);
+            }
+            styles.removeAll(replacement.target());
+        }
+        for (Binding binding : bindings.values()) {
+            binding.start = mapStart(binding.start, changes);
+            binding.end = mapEnd(binding.end, changes);
+        }
+        for (Replacement replacement : replacements) {
+            UnaryOperator<UIElementBuilder<?>> resolver = merger.merge(replacement.binding().builder,
+                    replacement.builder());
+            bind(replacement.parsed(), resolver, replacement.start());
+        }
+        length = html.length();
+        return true;
+    }
+
+    /**
+     * Forgets the parsed output. The next refresh has to {@link #parse} it again.
+     */
+    public void clear() {
+        bindings.clear();
+        parsed.clear();
+        document = null;
+        styles = null;
+        stylesheets = List.of();
+        length = 0;
+    }
+
+    private void bind(Map<Element, UIElementBuilder<?>> parsed, UnaryOperator<UIElementBuilder<?>> resolver,
+                      int offset) {
+        for (Map.Entry<Element, UIElementBuilder<?>> entry : parsed.entrySet()) {
+            UIElementBuilder<?> builder = resolver.apply(entry.getValue());
+            if (builder == null) {
+                continue;
+            }
+            Element element = entry.getKey();
+            Range start = element.sourceRange();
+            Range end = element.endSourceRange();
+            // Only elements closed by an end tag of their own have a known end.
+            if (start.isTracked() && end.isTracked() && end.end().pos() > end.start().pos()) {
+                bindings.put(element, new Binding(builder, start.start().pos() + offset, end.end().pos() + offset));
+            }
+        }
+    }
+
+    private boolean hasSiblingRules() {
+        for (CompiledStylesheet stylesheet : stylesheets) {
+            if (stylesheet.hasSiblingRules()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the innermost bound element around each change, dropping elements inside another picked one.
+     *
+     * @return The elements in no particular order, or null if a change is not inside any bound element
+     */
+    private List<Element> findTargets(int[] changes) {
+        List<Element> targets = new ArrayList<>();
+        for (int i = 0; i < changes.length; i += 4) {
+            int start = changes[i];
+            int end = changes[i + 1];
+            Element innermost = null;
+            Binding innermostBinding = null;
+            for (Map.Entry<Element, Binding> entry : bindings.entrySet()) {
+                Binding binding = entry.getValue();
+                // A change reaching the element's first or last character replaces the element itself, and text
+                // inserted right before or after it belongs to its parent.
+                boolean contains = binding.start < start && end < binding.end;
+                if (contains && (innermostBinding == null
+                        || binding.end - binding.start < innermostBinding.end - innermostBinding.start)) {
+                    innermost = entry.getKey();
+                    innermostBinding = binding;
+                }
+            }
+            if (innermost == null) {
+                return null;
+            }
+            targets.add(innermost);
+        }
+
+        List<Element> outermost = new ArrayList<>(targets.size());
+        for (Element target : targets) {
+            Binding binding = bindings.get(target);
+            boolean nested = false;
+            for (Element other : targets) {
+                Binding otherBinding = bindings.get(other);
+                if (other != target && otherBinding.start <= binding.start && binding.end <= otherBinding.end) {
+                    nested = true;
+                    break;
+                }
+            }
+            if (!nested && !outermost.contains(target)) {
+                outermost.add(target);
+            }
+        }
+        return outermost;
+    }
+
+    /**
+     * Parses the new markup of an element and puts it in the element's place, or returns null and leaves the
+     * document unchanged if it cannot be merged in place.
+     */
+    private Replacement replace(Element target, String html, int[] changes, Merger merger) {
+        Binding binding = bindings.get(target);
+        int start = mapStart(binding.start, changes);
+        int end = mapEnd(binding.end, changes);
+        String markup = html.substring(start, end);
+
+        List<Node> nodes = Parser.htmlParser().setTrackPosition(true)
+                .parseFragmentInput(markup, target.parent(), "");
+        if (nodes.size() != 1 || !(nodes.get(0) instanceof Element element)
+                || !element.normalName().equals(target.normalName())) {
+            return null;
+        }
+        Range startTag = element.sourceRange();
+        Range endTag = element.endSourceRange();
+        if (!startTag.isTracked() || startTag.start().pos() != 0
+                || !endTag.isTracked() || endTag.end().pos() != markup.length()
+                || !element.getElementsByTag("style").isEmpty()) {
+            return null;
+        }
+
+        target.replaceWith(element);
+        new CssPreprocessor().process(element, stylesheets, styles);
+        Map<Element, UIElementBuilder<?>> parsed = new IdentityHashMap<>();
+        parser.recordElements(parsed);
+        UIElementBuilder<?> builder;
+        try {
+            builder = parser.parseElement(element, styles);
+        } finally {
+            parser.recordElements(null);
+        }
+        if (builder == null || !merger.canMerge(binding.builder, builder)) {
+            element.replaceWith(target);
+            styles.removeAll(element);
+            return null;
+        }
+        return new Replacement(target, binding, element, builder, parsed, start);
+    }
+
+    /**
+     * Maps where an element starts in the previous output to the new output. Text inserted right at the start
+     * goes in front of the element.
+     */
+    private static int mapStart(int position, int[] changes) {
+        int mapped = position;
+        for (int i = 0; i < changes.length && changes[i + 1] <= position; i += 4) {
+            mapped += (changes[i + 3] - changes[i + 2]) - (changes[i + 1] - changes[i]);
+        }
+        return mapped;
+    }
+
+    /**
+     * Maps where an element ends in the previous output to the new output. Text inserted right at the end
+     * goes after the element.
+     */
+    private static int mapEnd(int position, int[] changes) {
+        int mapped = position;
+        for (int i = 0; i < changes.length && changes[i] < position; i += 4) {
+            mapped += (changes[i + 3] - changes[i + 2]) - (changes[i + 1] - changes[i]);
+        }
+        return mapped;
+    }
+}
@@ -5,16 +5,16 @@ import au.ellie.hyui.events.UIContext;
 import au.ellie.hyui.builders.UIElementBuilder;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 /**
  * Preprocessor for HyUIML templates that supports variable interpolation and component inclusion.
@@ -48,24 +48,16 @@ import java.util.regex.Pattern;
  */
 public class TemplateProcessor {
 
-    // Pattern for {{$variable}} or {{$variable|default}} or {{$variable|filter}}
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile(
-            "\\{\\{\\$([a-zA-Z_][a-zA-Z0-9_]*(?:\\.[a-zA-Z_][a-zA-Z0-9_]*)*)(?:\\|([^}]*))?\\}\\}"
-    );
-
-    private static final String EACH_START = "{{#each";
-    private static final String EACH_END = "{{/each}}";
-    private static final String IF_START = "{{#if";
-    private static final String IF_END = "{{/if}}";
-    private static final String ELSE_TAG = "{{else}}";
     private static final int MAX_COMPONENT_DEPTH = 20;
 
     private final Map<String, Object> variables = new HashMap<>();
-    private final Map<String, String> components = new HashMap<>();
+    private final Map<String, CompiledTemplate> components = new HashMap<>();
     private final Map<String, Function<String, String>> filters = new HashMap<>();
     private ValueResolver valueResolver;
     private static final Object NULL_SENTINEL = new Object();
+    private static final Object MISSING = new Object();
     private boolean preferDynamicValues;
+    private int version;
 
     @FunctionalInterface
     public interface ValueResolver {
@@ -127,7 +119,8 @@ public class TemplateProcessor {
      * @return This processor for chaining
      */
     public TemplateProcessor registerComponent(String name, String template) {
-        components.put(name, template);
+        components.put(name, compile(template));
+        version++;
         return this;
     }
 
@@ -140,9 +133,35 @@ public class TemplateProcessor {
      */
     public TemplateProcessor registerFilter(String name, Function<String, String> filter) {
         filters.put(name, filter);
+        version++;
         return this;
     }
 
+    /**
+     * Compiles the template, reusing a previously compiled tree from the {@link TemplateCache}.
+     *
+     * @param template The template string
+     * @return The compiled template
+     */
+    public CompiledTemplate compile(String template) {
+        return compile(null, template);
+    }
+
+    /**
+     * Compiles a template loaded from the given resource path, reusing a previously compiled tree from the
+     * {@link TemplateCache}.
+     *
+     * @param path     The resource path the template was loaded from, or null for inline templates
+     * @param template The template string
+     * @return The compiled template
+     */
+    public CompiledTemplate compile(String path, String template) {
+        if (template == null || template.isEmpty()) {
+            return CompiledTemplate.compile(template);
+        }
+        return TemplateCache.getTemplate(path, template);
+    }
+
     /**
      * Processes the template, substituting variables and including components.
      *
@@ -150,7 +169,29 @@ public class TemplateProcessor {
      * @return Processed HTML string
      */
     public String process(String template) {
-        return processTemplate(template, new HashMap<>(variables), 0);
+        return process(compile(template));
+    }
+
+    /**
+     * Renders a compiled template, substituting variables and including components.
+     *
+     * @param template The compiled template
+     * @return Processed HTML string
+     */
+    public String process(CompiledTemplate template) {
+        StringBuilder out = new StringBuilder(template.getSource().length());
+        process(template, out);
+        return out.toString();
+    }
+
+    /**
+     * Renders a compiled template into an existing buffer, substituting variables and including components.
+     *
+     * @param template The compiled template
+     * @param out      The buffer to append the output to
+     */
+    public void process(CompiledTemplate template, StringBuilder out) {
+        render(template, out, TemplateScope.of(variables), 0);
     }
 
     /**
@@ -161,6 +202,35 @@ public class TemplateProcessor {
      * @return Processed HTML string
      */
     public String process(String template, UIContext context) {
+        return process(compile(template), context);
+    }
+
+    /**
+     * Renders a compiled template using the provided UI context to resolve element IDs.
+     *
+     * @param template The compiled template
+     * @param context The UI context for runtime values
+     * @return Processed HTML string
+     */
+    public String process(CompiledTemplate template, UIContext context) {
+        return withContext(context, () -> process(template));
+    }
+
+    /**
+     * Renders a compiled template using the provided UI context, re-evaluating only the blocks whose variables
+     * or element values changed since the previous render with the same cache. The cache also records which
+     * ranges of the output changed.
+     *
+     * @param template The compiled template
+     * @param context The UI context for runtime values
+     * @param cache The cache holding the previous render's block output
+     * @return Processed HTML string
+     */
+    public String process(CompiledTemplate template, UIContext context, TemplateRenderCache cache) {
+        return withContext(context, () -> renderIncremental(template, cache));
+    }
+
+    private String withContext(UIContext context, Supplier<String> action) {
         ValueResolver previousResolver = this.valueResolver;
         boolean previousPreferDynamic = this.preferDynamicValues;
         this.valueResolver = name -> {
@@ -173,361 +243,407 @@ public class TemplateProcessor {
             }
             return hasElement(context, name) ? Optional.of(NULL_SENTINEL) : Optional.empty();
         };
-            this.preferDynamicValues = true;
+        this.preferDynamicValues = true;
         try {
-            return processTemplate(template, new HashMap<>(variables), 0);
+            return action.get();
         } finally {
             this.valueResolver = previousResolver;
             this.preferDynamicValues = previousPreferDynamic;
         }
     }
 
-    private String processTemplate(String template, Map<String, Object> scope, int componentDepth) {
-        String result = template;
-
-        // Process control structures first so false branches aren't expanded.
-        result = processEachBlocks(result, scope, componentDepth);
-        result = processIfBlocks(result, scope, componentDepth);
-
-        // Expand components with the current scope.
-        result = processComponents(result, scope, componentDepth);
-
-        // Process control structures again for blocks inside component templates.
-        result = processEachBlocks(result, scope, componentDepth);
-        result = processIfBlocks(result, scope, componentDepth);
-
-        // Then process variables.
-        result = processVariables(result, scope);
-
-        return result;
-    }
-
-    private String processVariables(String template, Map<String, Object> scope) {
-        Matcher matcher = VARIABLE_PATTERN.matcher(template);
-        StringBuilder result = new StringBuilder();
-
-        while (matcher.find()) {
-            String varName = matcher.group(1);
-            String filterOrDefault = matcher.group(2);
-
-            Object rawValue = resolveVariable(scope, varName);
-            String value = rawValue != null ? String.valueOf(rawValue) : "";
-
-            // Apply filter or use default value
-            if (filterOrDefault != null && !filterOrDefault.isEmpty()) {
-                if (filters.containsKey(filterOrDefault)) {
-                    // It's a filter
-                    value = filters.get(filterOrDefault).apply(value);
-                } else if (value.isEmpty()) {
-                    // It's a default value
-                    value = filterOrDefault;
-                }
-            }
-
-            HyUIPlugin.getLog().logFinest("Template variable: $" + varName + " = " + value);
-            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+    private String renderIncremental(CompiledTemplate template, TemplateRenderCache cache) {
+        boolean tracked = cache.matches(template, version);
+        if (!tracked) {
+            cache.reset(template, version);
         }
-        matcher.appendTail(result);
+        cache.beginRender(tracked);
 
-        return result.toString();
+        StringBuilder out = new StringBuilder(template.getSource().length());
+        renderFragment(template, cache.root, out, TemplateScope.of(variables), 0, cache, tracked ? 0 : -1);
+        return out.toString();
     }
 
-    private String processEachBlocks(String template, Map<String, Object> scope, int componentDepth) {
-        StringBuilder result = new StringBuilder();
-        int index = 0;
-
-        while (true) {
-            int start = template.indexOf(EACH_START, index);
-            if (start < 0) {
-                result.append(template.substring(index));
-                break;
-            }
-
-            result.append(template, index, start);
-
-            int startClose = template.indexOf("}}", start);
-            if (startClose < 0) {
-                result.append(template.substring(start));
-                break;
-            }
-
-            String listName = template.substring(start + EACH_START.length(), startClose).trim();
-            int end = findMatchingEnd(template, startClose + 2, EACH_START, EACH_END);
-            if (end < 0) {
-                result.append(template.substring(start));
-                break;
+    /**
+     * Renders a template, block body or row, reusing the blocks whose inputs did not change.
+     *
+     * @param oldStart Where the fragment started in the previous output, or -1 if the whole fragment is already
+     *                 reported as changed
+     */
+    private void renderFragment(CompiledTemplate template, TemplateRenderCache.Fragment fragment, StringBuilder out,
+                                TemplateScope scope, int componentDepth, TemplateRenderCache cache, int oldStart) {
+        int start = out.length();
+        int oldPosition = oldStart;
+        List<CompiledTemplate.Node> nodes = template.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            CompiledTemplate.Node node = nodes.get(i);
+            if (node instanceof CompiledTemplate.Literal literal) {
+                out.append(literal.text());
+                oldPosition += literal.text().length();
+                continue;
             }
-
-            String inner = template.substring(startClose + 2, end);
-            Object listObj = resolveVariable(scope, listName);
-            Iterable<?> items = toIterable(listObj);
-
-            for (Object item : items) {
-                Map<String, Object> childScope = new HashMap<>(scope);
-                childScope.putAll(extractModelVariables(item));
-                childScope.put("item", item);
-                result.append(processTemplate(inner, childScope, componentDepth));
+            TemplateRenderCache.Block block = fragment.blocks[i];
+            if (block == null) {
+                block = new TemplateRenderCache.Block();
+                fragment.blocks[i] = block;
             }
-
-            index = end + EACH_END.length();
+            int oldLength = block.length;
+            renderBlock(node, block, out, scope, componentDepth, cache, oldStart < 0 ? -1 : oldPosition);
+            oldPosition += oldLength;
         }
-
-        return result.toString();
+        fragment.length = out.length() - start;
     }
 
-    private String processIfBlocks(String template, Map<String, Object> scope, int componentDepth) {
-        StringBuilder result = new StringBuilder();
-        int index = 0;
-
-        while (true) {
-            int start = template.indexOf(IF_START, index);
-            if (start < 0) {
-                result.append(template.substring(index));
-                break;
-            }
-
-            result.append(template, index, start);
+    private void renderBlock(CompiledTemplate.Node node, TemplateRenderCache.Block block, StringBuilder out,
+                             TemplateScope scope, int componentDepth, TemplateRenderCache cache, int oldStart) {
+        Object[] inputs = snapshotInputs(scope, getDependencies(node, cache));
+        if (inputs != null && block.output != null && Arrays.equals(inputs, block.inputs)) {
+            out.append(block.output);
+            cache.countReused();
+            return;
+        }
 
-            int startClose = template.indexOf("}}", start);
-            if (startClose < 0) {
-                result.append(template.substring(start));
-                break;
+        int start = out.length();
+        int oldLength = block.length;
+        switch (node) {
+            case CompiledTemplate.Literal literal -> out.append(literal.text());
+            case CompiledTemplate.Variable variable -> {
+                renderVariable(variable, out, scope);
+                if (!contentEquals(out, start, block.output)) {
+                    reportChange(cache, oldStart, oldLength, start, out.length());
+                }
             }
-
-            String conditionName = template.substring(start + IF_START.length(), startClose).trim();
-            int end = findMatchingEnd(template, startClose + 2, IF_START, IF_END);
-            if (end < 0) {
-                result.append(template.substring(start));
-                break;
+            case CompiledTemplate.Each each -> renderRows(each, block, out, scope, componentDepth, cache, oldStart);
+            case CompiledTemplate.If conditional -> {
+                boolean branch = evaluateCondition(conditional.condition().expression(), scope);
+                CompiledTemplate body = branch ? conditional.whenTrue() : conditional.whenFalse();
+                renderBody(body, block, branch, out, scope, componentDepth, cache, oldStart);
+            }
+            case CompiledTemplate.Component component -> {
+                CompiledTemplate componentTemplate = components.get(component.name());
+                if (componentTemplate == null || componentDepth >= MAX_COMPONENT_DEPTH) {
+                    renderComponent(component, out, scope, componentDepth);
+                    if (!contentEquals(out, start, block.output)) {
+                        reportChange(cache, oldStart, oldLength, start, out.length());
+                    }
+                } else {
+                    renderBody(componentTemplate, block, true, out, componentScope(component, scope, componentDepth),
+                            componentDepth + 1, cache, oldStart);
+                }
             }
+        }
+        block.inputs = inputs;
+        block.output = inputs != null || node instanceof CompiledTemplate.Variable ? out.substring(start) : null;
+        block.length = out.length() - start;
+        cache.countRendered();
+    }
 
-            int elseIndex = findElseIndex(template, startClose + 2, end);
-            String trueBlock;
-            String falseBlock = "";
+    /**
+     * Renders the body of an {@code {{#if}}} branch or a component, starting over when the branch flipped.
+     */
+    private void renderBody(CompiledTemplate body, TemplateRenderCache.Block block, boolean branch,
+                            StringBuilder out, TemplateScope scope, int componentDepth, TemplateRenderCache cache,
+                            int oldStart) {
+        if (block.body != null && block.branch == branch) {
+            renderFragment(body, block.body, out, scope, componentDepth, cache, oldStart);
+            return;
+        }
+        int start = out.length();
+        block.branch = branch;
+        block.body = new TemplateRenderCache.Fragment(body.nodes().size());
+        renderFragment(body, block.body, out, scope, componentDepth, cache, -1);
+        reportChange(cache, oldStart, block.length, start, out.length());
+    }
 
-            if (elseIndex >= 0) {
-                trueBlock = template.substring(startClose + 2, elseIndex);
-                falseBlock = template.substring(elseIndex + ELSE_TAG.length(), end);
+    /**
+     * Renders the rows of an {@code {{#each}}} block. Rows are matched to the previous render by position, so
+     * a changed row only reports its own changes; rows added or removed at the end are reported together.
+     */
+    private void renderRows(CompiledTemplate.Each each, TemplateRenderCache.Block block, StringBuilder out,
+                            TemplateScope scope, int componentDepth, TemplateRenderCache cache, int oldStart) {
+        if (block.rows == null) {
+            block.rows = new ArrayList<>();
+        }
+        List<TemplateRenderCache.Fragment> rows = block.rows;
+        int previousRows = rows.size();
+        int oldPosition = oldStart;
+        int tailStart = -1;
+        int row = 0;
+        for (Object item : toIterable(resolveVariable(scope, each.listName()))) {
+            TemplateScope rowScope = scope.withItem(item);
+            if (row < previousRows) {
+                TemplateRenderCache.Fragment fragment = rows.get(row);
+                int oldLength = fragment.length;
+                renderFragment(each.body(), fragment, out, rowScope, componentDepth, cache,
+                        oldStart < 0 ? -1 : oldPosition);
+                oldPosition += oldLength;
             } else {
-                trueBlock = template.substring(startClose + 2, end);
+                if (tailStart < 0) {
+                    tailStart = out.length();
+                }
+                TemplateRenderCache.Fragment fragment = new TemplateRenderCache.Fragment(each.body().nodes().size());
+                rows.add(fragment);
+                renderFragment(each.body(), fragment, out, rowScope, componentDepth, cache, -1);
             }
-
-            boolean conditionResult = evaluateCondition(conditionName, scope);
-            String chosen = conditionResult ? trueBlock : falseBlock;
-            result.append(processTemplate(chosen, scope, componentDepth));
-
-            index = end + IF_END.length();
+            row++;
+        }
+        if (row < previousRows) {
+            rows.subList(row, previousRows).clear();
+        }
+        if (row != previousRows && oldStart >= 0) {
+            cache.change(oldPosition, oldStart + block.length, tailStart < 0 ? out.length() : tailStart, out.length());
         }
-
-        return result.toString();
     }
 
-    private String processComponents(String template, Map<String, Object> scope, int componentDepth) {
-        StringBuilder result = new StringBuilder();
-        int index = 0;
+    private void reportChange(TemplateRenderCache cache, int oldStart, int oldLength, int newStart, int newEnd) {
+        if (oldStart >= 0) {
+            cache.change(oldStart, oldStart + oldLength, newStart, newEnd);
+        }
+    }
 
-        while (true) {
-            int start = template.indexOf("{{@", index);
-            if (start < 0) {
-                result.append(template.substring(index));
-                break;
+    private static boolean contentEquals(StringBuilder out, int start, String previous) {
+        if (previous == null || previous.length() != out.length() - start) {
+            return false;
+        }
+        for (int i = 0; i < previous.length(); i++) {
+            if (out.charAt(start + i) != previous.charAt(i)) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            result.append(template, index, start);
-            int cursor = start + 3;
-            int depth = 1;
+    private String[] getDependencies(CompiledTemplate.Node node, TemplateRenderCache cache) {
+        String[] names = cache.getDependencies(node);
+        if (names == null) {
+            Set<String> collected = new LinkedHashSet<>();
+            collectDependencies(node, collected, 0);
+            names = collected.toArray(new String[0]);
+            cache.putDependencies(node, names);
+        }
+        return names;
+    }
 
-            while (cursor < template.length()) {
-                if (template.startsWith("{{", cursor)) {
-                    depth++;
-                    cursor += 2;
-                    continue;
-                }
-                if (template.startsWith("}}", cursor)) {
-                    depth--;
-                    if (depth == 0) {
-                        break;
-                    }
-                    cursor += 2;
-                    continue;
-                }
-                cursor++;
+    /**
+     * Captures the current value of every name a block reads, or null if any of them is not
+     * an immutable value and the block therefore has to be rendered again.
+     */
+    private Object[] snapshotInputs(TemplateScope scope, String[] names) {
+        Object[] inputs = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Object value = hasVariable(scope, names[i]) ? resolveVariable(scope, names[i]) : MISSING;
+            if (!isImmutableValue(value)) {
+                return null;
             }
+            inputs[i] = value;
+        }
+        return inputs;
+    }
 
-            if (depth != 0) {
-                result.append(template.substring(start));
-                break;
-            }
+    private boolean isImmutableValue(Object value) {
+        return value == null || value == MISSING || value == NULL_SENTINEL
+                || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?>;
+    }
 
-            String content = template.substring(start + 3, cursor).trim();
-            String componentName;
-            String paramsStr = null;
-            int colonIndex = content.indexOf(':');
-            if (colonIndex >= 0) {
-                componentName = content.substring(0, colonIndex).trim();
-                paramsStr = content.substring(colonIndex + 1).trim();
-            } else {
-                componentName = content.trim();
+    private void collectDependencies(CompiledTemplate.Node node, Set<String> names, int componentDepth) {
+        switch (node) {
+            case CompiledTemplate.Literal ignored -> {
             }
-
-            String componentHtml = components.get(componentName);
-            if (componentHtml == null) {
-                HyUIPlugin.getLog().logFinest("Unknown component: @" + componentName);
-                result.append("<!-- Unknown component: ").append(componentName).append(" -->");
-                index = cursor + 2;
-                continue;
+            case CompiledTemplate.Variable variable -> names.add(variable.name());
+            case CompiledTemplate.Each each -> {
+                names.add(each.listName());
+                collectDependencies(each.body(), names, componentDepth);
             }
-
-            if (paramsStr != null && !paramsStr.isEmpty()) {
-                Map<String, String> params = parseParams(paramsStr);
-                for (Map.Entry<String, String> param : params.entrySet()) {
-                    String rawValue = param.getValue();
-                    String value = processVariables(rawValue, scope);
-                    HyUIPlugin.getLog().logFinest("Component param @" + componentName + " " + param.getKey()
-                            + " raw=" + rawValue + " -> " + value + " scope=" + scope.keySet());
-                    componentHtml = componentHtml.replace("{{$" + param.getKey() + "}}", value);
-                }
+            case CompiledTemplate.If conditional -> {
+                collectDependencies(conditional.condition().expression(), names);
+                collectDependencies(conditional.whenTrue(), names, componentDepth);
+                collectDependencies(conditional.whenFalse(), names, componentDepth);
             }
-
-            HyUIPlugin.getLog().logFinest("Including component: @" + componentName);
-            if (componentDepth >= MAX_COMPONENT_DEPTH) {
-                HyUIPlugin.getLog().logFinest("Component recursion limit hit for @" + componentName);
-                result.append("<!-- Component recursion limit hit for: ").append(componentName).append(" -->");
-            } else {
-                result.append(processTemplate(componentHtml, scope, componentDepth + 1));
+            case CompiledTemplate.Component component -> {
+                for (CompiledTemplate param : component.params().values()) {
+                    collectDependencies(param, names, componentDepth);
+                }
+                CompiledTemplate componentTemplate = components.get(component.name());
+                if (componentTemplate != null && componentDepth < MAX_COMPONENT_DEPTH) {
+                    collectDependencies(componentTemplate, names, componentDepth + 1);
+                }
             }
-            index = cursor + 2;
         }
-
-        return result.toString();
     }
 
-    private Map<String, String> parseParams(String paramsStr) {
-        Map<String, String> params = new HashMap<>();
-        for (String param : paramsStr.split(",")) {
-            String[] parts = param.trim().split("=", 2);
-            if (parts.length == 2) {
-                params.put(parts[0].trim(), parts[1].trim());
-            }
+    private void collectDependencies(CompiledTemplate template, Set<String> names, int componentDepth) {
+        for (CompiledTemplate.Node node : template.nodes()) {
+            collectDependencies(node, names, componentDepth);
         }
-        return params;
     }
 
-    private boolean evaluateCondition(String rawCondition, Map<String, Object> scope) {
-        String condition = rawCondition != null ? rawCondition.trim() : "";
-        if (condition.isEmpty()) {
-            return false;
+    private void collectDependencies(TemplateCondition.Expression expression, Set<String> names) {
+        switch (expression) {
+            case TemplateCondition.Or or -> or.operands().forEach(operand -> collectDependencies(operand, names));
+            case TemplateCondition.And and -> and.operands().forEach(operand -> collectDependencies(operand, names));
+            case TemplateCondition.Not not -> collectDependencies(not.operand(), names);
+            case TemplateCondition.Comparison comparison -> {
+                collectDependencies(comparison.left(), names);
+                collectDependencies(comparison.right(), names);
+            }
+            case TemplateCondition.Contains contains -> {
+                collectDependencies(contains.left(), names);
+                collectDependencies(contains.right(), names);
+            }
+            case TemplateCondition.Truthy truthy -> collectDependencies(truthy.operand(), names);
         }
-
-        return evaluateLogical(condition, scope);
     }
 
-    private boolean evaluateLogical(String condition, Map<String, Object> scope) {
-        for (String orPart : splitByOperator(condition, "||")) {
-            if (evaluateAnd(orPart, scope)) {
-                return true;
-            }
+    private void collectDependencies(TemplateCondition.Operand operand, Set<String> names) {
+        if (operand instanceof TemplateCondition.Reference reference) {
+            names.add(reference.name());
         }
-        return false;
     }
 
-    private boolean evaluateAnd(String condition, Map<String, Object> scope) {
-        for (String andPart : splitByOperator(condition, "&&")) {
-            if (!evaluateUnary(andPart, scope)) {
-                return false;
-            }
+    private void render(CompiledTemplate template, StringBuilder out, TemplateScope scope, int componentDepth) {
+        for (CompiledTemplate.Node node : template.nodes()) {
+            render(node, out, scope, componentDepth);
         }
-        return true;
     }
 
-    private boolean evaluateUnary(String condition, Map<String, Object> scope) {
-        String trimmed = condition.trim();
-        if (trimmed.startsWith("!")) {
-            return !evaluateUnary(trimmed.substring(1), scope);
+    private void render(CompiledTemplate.Node node, StringBuilder out, TemplateScope scope, int componentDepth) {
+        switch (node) {
+            case CompiledTemplate.Literal literal -> out.append(literal.text());
+            case CompiledTemplate.Variable variable -> renderVariable(variable, out, scope);
+            case CompiledTemplate.Each each -> renderEach(each, out, scope, componentDepth);
+            case CompiledTemplate.If conditional -> render(
+                    evaluateCondition(conditional.condition().expression(), scope) ? conditional.whenTrue() : conditional.whenFalse(),
+                    out, scope, componentDepth);
+            case CompiledTemplate.Component component -> renderComponent(component, out, scope, componentDepth);
         }
-
-        return evaluateComparison(trimmed, scope);
     }
 
-    private boolean evaluateComparison(String condition, Map<String, Object> scope) {
-        Matcher containsMatcher = Pattern.compile("(.+?)\\s+contains\\s+(.+)").matcher(condition);
-        if (containsMatcher.matches()) {
-            Object left = resolveOperand(containsMatcher.group(1).trim(), scope);
-            Object right = resolveOperand(containsMatcher.group(2).trim(), scope);
-            return containsValue(left, right);
-        }
+    private void renderVariable(CompiledTemplate.Variable variable, StringBuilder out, TemplateScope scope) {
+        Object rawValue = resolveVariable(scope, variable.name());
+        String value = rawValue != null ? String.valueOf(rawValue) : "";
 
-        Matcher matcher = Pattern.compile("(.+?)(==|!=|>=|<=|>|<)(.+)").matcher(condition);
-        if (matcher.matches()) {
-            Object left = resolveOperand(matcher.group(1).trim(), scope);
-            Object right = resolveOperand(matcher.group(3).trim(), scope);
-            String operator = matcher.group(2);
-            return compareValues(left, right, operator);
+        // Apply filter or use default value
+        String filterOrDefault = variable.filterOrDefault();
+        if (filterOrDefault != null && !filterOrDefault.isEmpty()) {
+            Function<String, String> filter = filters.get(filterOrDefault);
+            if (filter != null) {
+                // It's a filter
+                value = filter.apply(value);
+            } else if (value.isEmpty()) {
+                // It's a default value
+                value = filterOrDefault;
+            }
         }
 
-        Object value = resolveOperand(condition, scope);
-        return isTruthy(value);
+        out.append(value);
     }
 
-    private Object resolveOperand(String token, Map<String, Object> scope) {
-        if (token == null) {
-            return null;
-        }
-        String trimmed = token.trim();
-        if (trimmed.isEmpty()) {
-            return "";
-        }
+    private void renderEach(CompiledTemplate.Each each, StringBuilder out, TemplateScope scope, int componentDepth) {
+        Object listObj = resolveVariable(scope, each.listName());
+        Iterable<?> items = toIterable(listObj);
 
-        if ((trimmed.startsWith("\"") && trimmed.endsWith("\""))
-                || (trimmed.startsWith("'") && trimmed.endsWith("'"))) {
-            return trimmed.substring(1, trimmed.length() - 1);
+        for (Object item : items) {
+            render(each.body(), out, scope.withItem(item), componentDepth);
         }
+    }
 
-        if ("null".equalsIgnoreCase(trimmed)) {
-            return null;
+    private void renderComponent(CompiledTemplate.Component component, StringBuilder out,
+                                 TemplateScope scope, int componentDepth) {
+        String componentName = component.name();
+        CompiledTemplate componentTemplate = components.get(componentName);
+        if (componentTemplate == null) {
+            HyUIPlugin.getLog().logFinest("Unknown component: @" + componentName);
+            out.append("<!-- Unknown component: ").append(componentName).append(" -->");
+            return;
         }
 
-        if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
-            return Boolean.parseBoolean(trimmed);
+        HyUIPlugin.getLog().logFinest("Including component: @" + componentName);
+        if (componentDepth >= MAX_COMPONENT_DEPTH) {
+            HyUIPlugin.getLog().logFinest("Component recursion limit hit for @" + componentName);
+            out.append("<!-- Component recursion limit hit for: ").append(componentName).append(" -->");
+            return;
         }
 
-        try {
-            if (trimmed.contains(".")) {
-                return Double.parseDouble(trimmed);
-            }
-            return Long.parseLong(trimmed);
-        } catch (NumberFormatException ignored) {
-            // Not a number literal.
-        }
+        render(componentTemplate, out, componentScope(component, scope, componentDepth), componentDepth + 1);
+    }
 
-        if (hasVariable(scope, trimmed)) {
-            return resolveVariable(scope, trimmed);
-        }
+    /**
+     * Binds a component's parameters as plain strings on top of the caller's scope.
+     */
+    private TemplateScope componentScope(CompiledTemplate.Component component, TemplateScope scope,
+                                         int componentDepth) {
+        if (component.params().isEmpty()) {
+            return scope;
+        }
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder value = new StringBuilder();
+        for (Map.Entry<String, CompiledTemplate> param : component.params().entrySet()) {
+            value.setLength(0);
+            render(param.getValue(), value, scope, componentDepth);
+            params.put(param.getKey(), value.toString());
+        }
+        return scope.withValues(params);
+    }
+
+    private boolean evaluateCondition(TemplateCondition.Expression expression, TemplateScope scope) {
+        return switch (expression) {
+            case TemplateCondition.Or or -> {
+                for (TemplateCondition.Expression operand : or.operands()) {
+                    if (evaluateCondition(operand, scope)) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+            case TemplateCondition.And and -> {
+                for (TemplateCondition.Expression operand : and.operands()) {
+                    if (!evaluateCondition(operand, scope)) {
+                        yield false;
+                    }
+                }
+                yield true;
+            }
+            case TemplateCondition.Not not -> !evaluateCondition(not.operand(), scope);
+            case TemplateCondition.Comparison comparison -> compareValues(
+                    resolveOperand(comparison.left(), scope),
+                    resolveOperand(comparison.right(), scope),
+                    comparison.operator());
+            case TemplateCondition.Contains contains -> containsValue(
+                    resolveOperand(contains.left(), scope),
+                    resolveOperand(contains.right(), scope));
+            case TemplateCondition.Truthy truthy -> isTruthy(resolveOperand(truthy.operand(), scope));
+        };
+    }
 
-        return trimmed;
+    private Object resolveOperand(TemplateCondition.Operand operand, TemplateScope scope) {
+        return switch (operand) {
+            case TemplateCondition.Constant constant -> constant.value();
+            case TemplateCondition.Reference reference -> hasVariable(scope, reference.name())
+                    ? resolveVariable(scope, reference.name())
+                    : reference.name();
+        };
     }
 
-    private boolean compareValues(Object left, Object right, String operator) {
+    private boolean compareValues(Object left, Object right, TemplateCondition.Operator operator) {
         if (left == null || right == null) {
-            if ("==".equals(operator)) {
-                return left == right;
-            }
-            if ("!=".equals(operator)) {
-                return left != right;
-            }
-            return false;
+            return switch (operator) {
+                case EQUALS -> left == right;
+                case NOT_EQUALS -> left != right;
+                default -> false;
+            };
         }
 
         Double leftNum = toNumber(left);
         Double rightNum = toNumber(right);
         if (leftNum != null && rightNum != null) {
             return switch (operator) {
-                case "==" -> Double.compare(leftNum, rightNum) == 0;
-                case "!=" -> Double.compare(leftNum, rightNum) != 0;
-                case ">" -> leftNum > rightNum;
-                case "<" -> leftNum < rightNum;
-                case ">=" -> leftNum >= rightNum;
-                case "<=" -> leftNum <= rightNum;
+                case EQUALS -> Double.compare(leftNum, rightNum) == 0;
+                case NOT_EQUALS -> Double.compare(leftNum, rightNum) != 0;
+                case GREATER -> leftNum > rightNum;
+                case LESS -> leftNum < rightNum;
+                case GREATER_OR_EQUAL -> leftNum >= rightNum;
+                case LESS_OR_EQUAL -> leftNum <= rightNum;
                 default -> false;
             };
         }
@@ -536,8 +652,8 @@ public class TemplateProcessor {
             boolean leftVal = left instanceof Boolean ? (Boolean) left : Boolean.parseBoolean(left.toString());
             boolean rightVal = right instanceof Boolean ? (Boolean) right : Boolean.parseBoolean(right.toString());
             return switch (operator) {
-                case "==" -> leftVal == rightVal;
-                case "!=" -> leftVal != rightVal;
+                case EQUALS -> leftVal == rightVal;
+                case NOT_EQUALS -> leftVal != rightVal;
                 default -> false;
             };
         }
@@ -545,8 +661,8 @@ public class TemplateProcessor {
         String leftStr = String.valueOf(left);
         String rightStr = String.valueOf(right);
         return switch (operator) {
-            case "==" -> leftStr.equals(rightStr);
-            case "!=" -> !leftStr.equals(rightStr);
+            case EQUALS -> leftStr.equals(rightStr);
+            case NOT_EQUALS -> !leftStr.equals(rightStr);
             default -> false;
         };
     }
@@ -555,13 +671,22 @@ public class TemplateProcessor {
         if (value instanceof Number number) {
             return number.doubleValue();
         }
+        String text = value.toString().trim();
+        // Skip the exception for values that cannot be numbers; conditions run once per row.
+        if (text.isEmpty() || !isNumberStart(text.charAt(0))) {
+            return null;
+        }
         try {
-            return Double.parseDouble(value.toString());
+            return Double.parseDouble(text);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    private boolean isNumberStart(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'N' || c == 'I';
+    }
+
     private boolean containsValue(Object left, Object right) {
         if (left == null || right == null) {
             return false;
@@ -604,40 +729,12 @@ public class TemplateProcessor {
         return left.toString().contains(String.valueOf(right));
     }
 
-    private List<String> splitByOperator(String input, String operator) {
-        List<String> parts = new java.util.ArrayList<>();
-        boolean inSingle = false;
-        boolean inDouble = false;
-        int start = 0;
-
-        for (int i = 0; i < input.length(); i++) {
-            char c = input.charAt(i);
-            if (c == '"' && !inSingle) {
-                inDouble = !inDouble;
-                continue;
-            }
-            if (c == '\'' && !inDouble) {
-                inSingle = !inSingle;
-                continue;
-            }
-
-            if (!inSingle && !inDouble && input.startsWith(operator, i)) {
-                parts.add(input.substring(start, i));
-                start = i + operator.length();
-                i += operator.length() - 1;
-            }
-        }
-
-        parts.add(input.substring(start));
-        return parts;
-    }
-
-    private boolean hasVariable(Map<String, Object> scope, String name) {
+    private boolean hasVariable(TemplateScope scope, String name) {
         if (name == null || name.isBlank()) {
             return false;
         }
 
-        if (scope.containsKey(name)) {
+        if (scope.contains(name)) {
             return true;
         }
 
@@ -649,13 +746,13 @@ public class TemplateProcessor {
         int dotIndex = name.indexOf('.');
         if (dotIndex > 0) {
             String root = name.substring(0, dotIndex);
-            return scope.containsKey(root);
+            return scope.contains(root);
         }
 
         return false;
     }
 
-    private Object resolveVariable(Map<String, Object> scope, String name) {
+    private Object resolveVariable(TemplateScope scope, String name) {
         if (name == null || name.isBlank()) {
             return null;
         }
@@ -667,7 +764,7 @@ public class TemplateProcessor {
             }
         }
 
-        if (scope.containsKey(name)) {
+        if (scope.contains(name)) {
             return scope.get(name);
         }
 
@@ -683,7 +780,7 @@ public class TemplateProcessor {
         }
 
         String first = path[0];
-        if (!scope.containsKey(first)) {
+        if (!scope.contains(first)) {
             return null;
         }
 
@@ -728,152 +825,6 @@ public class TemplateProcessor {
         return List.of();
     }
 
-    private int findMatchingEnd(String template, int searchFrom, String startTag, String endTag) {
-        int depth = 1;
-        int index = searchFrom;
-
-        while (index < template.length()) {
-            int nextStart = template.indexOf(startTag, index);
-            int nextEnd = template.indexOf(endTag, index);
-
-            if (nextEnd < 0) {
-                return -1;
-            }
-
-            if (nextStart != -1 && nextStart < nextEnd) {
-                depth++;
-                index = nextStart + startTag.length();
-            } else {
-                depth--;
-                if (depth == 0) {
-                    return nextEnd;
-                }
-                index = nextEnd + endTag.length();
-            }
-        }
-
-        return -1;
-    }
-
-    private int findElseIndex(String template, int searchFrom, int endIndex) {
-        int depth = 1;
-        int index = searchFrom;
-
-        while (index < endIndex) {
-            int nextStart = template.indexOf(IF_START, index);
-            int nextEnd = template.indexOf(IF_END, index);
-            int nextElse = template.indexOf(ELSE_TAG, index);
-
-            int next = minPositive(nextStart, nextEnd, nextElse);
-            if (next < 0 || next >= endIndex) {
-                return -1;
-            }
-
-            if (next == nextStart) {
-                depth++;
-                index = nextStart + IF_START.length();
-            } else if (next == nextEnd) {
-                depth--;
-                if (depth == 0) {
-                    return -1;
-                }
-                index = nextEnd + IF_END.length();
-            } else {
-                if (depth == 1) {
-                    return nextElse;
-                }
-                index = nextElse + ELSE_TAG.length();
-            }
-        }
-
-        return -1;
-    }
-
-    private int minPositive(int... values) {
-        int min = Integer.MAX_VALUE;
-        for (int value : values) {
-            if (value >= 0 && value < min) {
-                min = value;
-            }
-        }
-        return min == Integer.MAX_VALUE ? -1 : min;
-    }
-
-    private Map<String, Object> extractModelVariables(Object item) {
-        Map<String, Object> values = new HashMap<>();
-        if (item == null) {
-            return values;
-        }
-
-        if (item instanceof Map<?, ?> map) {
-            for (Map.Entry<?, ?> entry : map.entrySet()) {
-                if (entry.getKey() instanceof String key) {
-                    values.put(key, entry.getValue());
-                }
-            }
-            return values;
-        }
-
-        for (Field field : item.getClass().getFields()) {
-            if (values.containsKey(field.getName())) {
-                continue;
-            }
-            extractVarsFromField(item, values, field);
-        }
-
-        for (Method method : item.getClass().getMethods()) {
-            extractVarsFromMethod(item, values, method);
-        }
-
-        for (Field field : item.getClass().getDeclaredFields()) {
-            if (field.isSynthetic() || values.containsKey(field.getName())) {
-                continue;
-            }
-            extractVarsFromField(item, values, field);
-        }
-
-        for (Method method : item.getClass().getDeclaredMethods()) {
-            extractVarsFromMethod(item, values, method);
-        }
-
-        return values;
-    }
-
-    private void extractVarsFromField(Object item, Map<String, Object> values, Field field) {
-        try {
-            field.setAccessible(true);
-            values.put(field.getName(), field.get(Modifier.isStatic(field.getModifiers()) ? null : item));
-        } catch (IllegalAccessException | IllegalArgumentException ignored ) {
-            // Skip inaccessible fields.
-        }
-    }
-
-    private void extractVarsFromMethod(Object item, Map<String, Object> values, Method method) {
-        if (method.getParameterCount() != 0) {
-            return;
-        }
-        String name = method.getName();
-        if (name.equals("getClass")) {
-            return;
-        }
-
-        String propName = null;
-        if (name.startsWith("get") && name.length() > 3) {
-            propName = decapitalize(name.substring(3));
-        } else if (name.startsWith("is") && name.length() > 2) {
-            propName = decapitalize(name.substring(2));
-        }
-
-        if (propName != null && !values.containsKey(propName)) {
-            try {
-                method.setAccessible(true);
-                values.put(propName, method.invoke(Modifier.isStatic(method.getModifiers()) ? null : item));
-            } catch (Exception ignored) {
-                // Skip static getters that throw.
-            }
-        }
-    }
-
     private Object getPropertyValue(Object target, String name) {
         if (target == null || name == null || name.isBlank()) {
             return null;
@@ -899,56 +850,8 @@ public class TemplateProcessor {
             return null;
         }
 
-        try {
-            Field field = target.getClass().getField(name);
-            if (!field.canAccess(target)) {
-                field.setAccessible(true);
-            }
-            return field.get(target);
-        } catch (NoSuchFieldException | IllegalAccessException ignored) {
-            // Fall back to getters.
-        }
-
-        String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
-        for (String prefix : new String[] {"get", "is"}) {
-            try {
-                Method method = target.getClass().getMethod(prefix + suffix);
-                if (method.getParameterCount() == 0) {
-                    if (!method.canAccess(target)) {
-                        method.setAccessible(true);
-                    }
-                    return method.invoke(target);
-                }
-            } catch (Exception ignored) {
-                // Try next getter.
-            }
-        }
-
-        try {
-            Field field = target.getClass().getDeclaredField(name);
-            if (!field.canAccess(target)) {
-                field.setAccessible(true);
-            }
-            return field.get(target);
-        } catch (NoSuchFieldException | IllegalAccessException ignored) {
-            // Ignore.
-        }
-
-        for (String prefix : new String[] {"get", "is"}) {
-            try {
-                Method method = target.getClass().getDeclaredMethod(prefix + suffix);
-                if (method.getParameterCount() == 0) {
-                    if (!method.canAccess(target)) {
-                        method.setAccessible(true);
-                    }
-                    return method.invoke(target);
-                }
-            } catch (Exception ignored) {
-                // Ignore.
-            }
-        }
-
-        return null;
+        Object value = ModelAccessor.of(target.getClass()).get(target, name);
+        return value == ModelAccessor.MISSING ? null : value;
     }
 
     private Integer parseIndex(String value) {
@@ -967,16 +870,6 @@ public class TemplateProcessor {
         }
     }
 
-    private String decapitalize(String value) {
-        if (value == null || value.isEmpty()) {
-            return value;
-        }
-        if (value.length() > 1 && Character.isUpperCase(value.charAt(0)) && Character.isUpperCase(value.charAt(1))) {
-            return value;
-        }
-        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
-    }
-
     private boolean isTruthy(Object value) {
         if (value == null) {
             return false;
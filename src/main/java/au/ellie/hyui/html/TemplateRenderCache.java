@@ -0,0 +1,156 @@
+package au.ellie.hyui.html;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the output of every block of a template between renders, together with the variables and element
+ * values the block read, so {@link TemplateProcessor} can skip blocks whose inputs did not change.
+ *
+ * <p>Blocks are tracked at every nesting level: the body of an {@code {{#if}}}, each row of an
+ * {@code {{#each}}} and the body of a component have their own entries. Inputs are the full names a block
+ * reads, such as {@code player.name}, so a block reading a property of a model object can be reused while the
+ * property keeps its value. Only immutable values (strings, numbers, booleans, characters, enums and null) are
+ * compared; a block reading anything else, such as the list of an {@code {{#each}}}, is evaluated again, but
+ * the blocks inside it are still reused where they can be.</p>
+ *
+ * <p>While rendering, the cache also records which ranges of the output changed, which
+ * {@link TemplateDocument} uses to parse only the elements around them.</p>
+ *
+ * <p>A cache belongs to a single interface and is not thread-safe.</p>
+ */
+public final class TemplateRenderCache {
+
+    /**
+     * The blocks of one rendered template, body or row, in the order of its nodes. Literals have no entry.
+     */
+    static final class Fragment {
+        final Block[] blocks;
+        int length;
+
+        Fragment(int size) {
+            this.blocks = new Block[size];
+        }
+    }
+
+    /**
+     * The state of one block from the previous render.
+     */
+    static final class Block {
+        Object[] inputs;
+        /**
+         * The previous output, kept for variables and for blocks that can be reused.
+         */
+        String output;
+        int length;
+        boolean branch;
+        Fragment body;
+        List<Fragment> rows;
+    }
+
+    CompiledTemplate template;
+    int processorVersion;
+    Fragment root;
+    private final Map<CompiledTemplate.Node, String[]> dependencies = new IdentityHashMap<>();
+    private int[] changes = new int[16];
+    private int changeCount;
+    private boolean tracked;
+    private int renderedBlocks;
+    private int reusedBlocks;
+
+    /**
+     * Forgets all cached output. The next render evaluates every block.
+     */
+    public void invalidate() {
+        this.template = null;
+        this.root = null;
+        this.dependencies.clear();
+        this.tracked = false;
+    }
+
+    /**
+     * @return How many blocks were evaluated during the last render.
+     */
+    public int getRenderedBlocks() {
+        return renderedBlocks;
+    }
+
+    /**
+     * @return How many blocks were reused from the previous render during the last render.
+     */
+    public int getReusedBlocks() {
+        return reusedBlocks;
+    }
+
+    boolean matches(CompiledTemplate template, int processorVersion) {
+        return this.template == template && this.processorVersion == processorVersion;
+    }
+
+    void reset(CompiledTemplate template, int processorVersion) {
+        this.template = template;
+        this.processorVersion = processorVersion;
+        this.root = new Fragment(template.nodes().size());
+        this.dependencies.clear();
+    }
+
+    /**
+     * Starts recording the changes of a render.
+     *
+     * @param tracked false if the previous output is unknown, so the whole output has to be treated as changed
+     */
+    void beginRender(boolean tracked) {
+        this.tracked = tracked;
+        this.changeCount = 0;
+        this.renderedBlocks = 0;
+        this.reusedBlocks = 0;
+    }
+
+    String[] getDependencies(CompiledTemplate.Node node) {
+        return dependencies.get(node);
+    }
+
+    void putDependencies(CompiledTemplate.Node node, String[] names) {
+        dependencies.put(node, names);
+    }
+
+    /**
+     * Records that the previous output between {@code oldStart} and {@code oldEnd} was replaced by the new
+     * output between {@code newStart} and {@code newEnd}. Changes are reported in output order; touching
+     * changes are merged.
+     */
+    void change(int oldStart, int oldEnd, int newStart, int newEnd) {
+        int last = (changeCount - 1) * 4;
+        if (changeCount > 0 && changes[last + 1] == oldStart && changes[last + 3] == newStart) {
+            changes[last + 1] = oldEnd;
+            changes[last + 3] = newEnd;
+            return;
+        }
+        if ((changeCount + 1) * 4 > changes.length) {
+            changes = Arrays.copyOf(changes, changes.length * 2);
+        }
+        int index = changeCount * 4;
+        changes[index] = oldStart;
+        changes[index + 1] = oldEnd;
+        changes[index + 2] = newStart;
+        changes[index + 3] = newEnd;
+        changeCount++;
+    }
+
+    /**
+     * @return The changes of the last render as {@code oldStart, oldEnd, newStart, newEnd} quadruples, or null
+     *         if the last render could not be compared with the one before it.
+     */
+    int[] getChanges() {
+        return tracked ? Arrays.copyOf(changes, changeCount * 4) : null;
+    }
+
+    void countRendered() {
+        renderedBlocks++;
+    }
+
+    void countReused() {
+        reusedBlocks++;
+    }
+}
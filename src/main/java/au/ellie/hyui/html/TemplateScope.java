@@ -0,0 +1,90 @@
+package au.ellie.hyui.html;
+
+import java.util.Map;
+
+/**
+ * Variables visible while rendering a template.
+ *
+ * <p>Scopes form a chain: a child frame only holds what it introduces (the current {@code {{#each}}}
+ * item or a component's parameters) and falls back to its parent for everything else, so entering a
+ * frame costs the same no matter how many variables are defined globally.</p>
+ */
+final class TemplateScope {
+
+    private final TemplateScope parent;
+    private final Map<String, ?> values;
+    private final boolean hasItem;
+    private final Object item;
+    private final ModelAccessor accessor;
+
+    private TemplateScope(TemplateScope parent, Map<String, ?> values, boolean hasItem, Object item) {
+        this.parent = parent;
+        this.values = values;
+        this.hasItem = hasItem;
+        this.item = item;
+        this.accessor = item == null || item instanceof Map<?, ?> ? null : ModelAccessor.of(item.getClass());
+    }
+
+    /**
+     * Creates a root scope backed by the given map. The map is read, not copied.
+     */
+    static TemplateScope of(Map<String, ?> values) {
+        return new TemplateScope(null, values, false, null);
+    }
+
+    /**
+     * Creates a frame for one {@code {{#each}}} row. Properties of the item are read on demand and take
+     * precedence over the enclosing scope; {@code item} refers to the item itself.
+     */
+    TemplateScope withItem(Object item) {
+        return new TemplateScope(this, null, true, item);
+    }
+
+    /**
+     * Creates a frame holding the given values on top of this scope.
+     */
+    TemplateScope withValues(Map<String, ?> values) {
+        return new TemplateScope(this, values, false, null);
+    }
+
+    boolean contains(String name) {
+        for (TemplateScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.hasItem && ("item".equals(name) || scope.readItemProperty(name) != ModelAccessor.MISSING)) {
+                return true;
+            }
+            if (scope.values != null && scope.values.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Object get(String name) {
+        for (TemplateScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.hasItem) {
+                if ("item".equals(name)) {
+                    return scope.item;
+                }
+                Object value = scope.readItemProperty(name);
+                if (value != ModelAccessor.MISSING) {
+                    return value;
+                }
+            }
+            if (scope.values != null && scope.values.containsKey(name)) {
+                return scope.values.get(name);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The item's property, or {@link ModelAccessor#MISSING} if it has none by that name or its getter
+     *         threw, in which case the enclosing scopes are searched.
+     */
+    private Object readItemProperty(String name) {
+        if (item instanceof Map<?, ?> map) {
+            return map.containsKey(name) ? map.get(name) : ModelAccessor.MISSING;
+        }
+        return accessor != null ? accessor.get(item, name) : ModelAccessor.MISSING;
+    }
+}
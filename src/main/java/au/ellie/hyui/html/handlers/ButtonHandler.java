@@ -15,8 +15,14 @@ import org.jsoup.nodes.Element;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class ButtonHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("button", "input");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         String tag = element.tagName().toLowerCase();
@@ -103,7 +109,7 @@ public class ButtonHandler implements TagHandler {
             applyCustomButtonStyleAttributes(customButtonBuilder, element, isCustomTextButton);
         }
         applyButtonStateAttributes(builder, element);
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
 
         return builder;
     }
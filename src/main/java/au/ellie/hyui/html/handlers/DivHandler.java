@@ -10,8 +10,14 @@ import org.jsoup.nodes.TextNode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class DivHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("div");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("div");
@@ -38,7 +44,7 @@ public class DivHandler implements TagHandler {
             builder = GroupBuilder.group();
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         applyScrollbarStyle(builder, element);
 
         for (Node childNode : element.childNodes()) {
@@ -8,7 +8,14 @@ import au.ellie.hyui.utils.HyvatarUtils;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class HyvatarHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("hyvatar");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("hyvatar");
@@ -41,7 +48,7 @@ public class HyvatarHandler implements TagHandler {
             builder.withCape(element.attr("cape"));
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
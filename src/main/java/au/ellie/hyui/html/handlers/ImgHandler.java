@@ -7,7 +7,14 @@ import au.ellie.hyui.html.HtmlParser;
 import au.ellie.hyui.html.TagHandler;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class ImgHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("img");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("img");
@@ -32,7 +39,7 @@ public class ImgHandler implements TagHandler {
             builder = image;
         }
         
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         
         return builder;
     }
@@ -6,7 +6,14 @@ import au.ellie.hyui.html.TagHandler;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class InputHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("input");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("input");
@@ -119,7 +126,7 @@ public class InputHandler implements TagHandler {
         }
 
         if (builder != null) {
-            applyCommonAttributes(builder, element);
+            applyCommonAttributes(builder, element, parser);
         }
 
         return builder;
@@ -10,7 +10,14 @@ import com.hypixel.hytale.server.core.ui.PatchStyle;
 import com.hypixel.hytale.server.core.ui.Value;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class ItemGridHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("div");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("div") && element.hasClass("item-grid");
@@ -45,7 +52,7 @@ public class ItemGridHandler implements TagHandler {
             } catch (NumberFormatException ignored) {}
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
 
         for (Element child : element.children()) {
             if (child.hasClass("item-grid-slot")) {
@@ -6,7 +6,14 @@ import au.ellie.hyui.html.HtmlParser;
 import au.ellie.hyui.html.TagHandler;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class ItemIconHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("span");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("span") && element.hasClass("item-icon");
@@ -22,7 +29,7 @@ public class ItemIconHandler implements TagHandler {
             builder.withItemId(element.attr("src"));
         }
         
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         
         return builder;
     }
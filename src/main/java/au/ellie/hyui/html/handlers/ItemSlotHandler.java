@@ -6,7 +6,14 @@ import au.ellie.hyui.html.HtmlParser;
 import au.ellie.hyui.html.TagHandler;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class ItemSlotHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("span");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("span") && element.hasClass("item-slot");
@@ -31,7 +38,7 @@ public class ItemSlotHandler implements TagHandler {
                     element.attr("data-hyui-show-quantity")));
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
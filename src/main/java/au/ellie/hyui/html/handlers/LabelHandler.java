@@ -6,7 +6,14 @@ import au.ellie.hyui.html.HtmlParser;
 import au.ellie.hyui.html.TagHandler;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class LabelHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("label", "p");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         String tag = element.tagName().toLowerCase();
@@ -16,7 +23,7 @@ public class LabelHandler implements TagHandler {
     @Override
     public UIElementBuilder<?> handle(Element element, HtmlParser parser) {
         LabelBuilder builder = LabelBuilder.label().withText(element.text());
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
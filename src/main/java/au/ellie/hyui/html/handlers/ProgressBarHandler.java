@@ -7,7 +7,14 @@ import au.ellie.hyui.html.TagHandler;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class ProgressBarHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("progress");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("progress");
@@ -63,7 +70,7 @@ public class ProgressBarHandler implements TagHandler {
             builder.withAlignment(element.attr("data-hyui-alignment"));
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
@@ -7,7 +7,14 @@ import au.ellie.hyui.html.TagHandler;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class SelectHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("select");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("select");
@@ -51,7 +58,7 @@ public class SelectHandler implements TagHandler {
             }
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
@@ -7,7 +7,14 @@ import au.ellie.hyui.html.TagHandler;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 public class SpriteHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("sprite");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("sprite");
@@ -35,7 +42,7 @@ public class SpriteHandler implements TagHandler {
                     .ifPresent(builder::withFramesPerSecond);
         }
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 }
@@ -9,7 +9,14 @@ import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
 
+import java.util.Set;
+
 public class TabContentHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("div");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("div") && element.hasClass("tab-content");
@@ -19,7 +26,7 @@ public class TabContentHandler implements TagHandler {
     public UIElementBuilder<?> handle(Element element, HtmlParser parser) {
         TabContentBuilder builder = TabContentBuilder.tabContent();
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
 
         if (element.hasAttr("data-hyui-tab-id")) {
             builder.withTabId(element.attr("data-hyui-tab-id"));
@@ -9,6 +9,7 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Handler for tab navigation elements in HYUIML.
@@ -39,6 +40,11 @@ import java.util.List;
  */
 public class TabNavigationHandler implements TagHandler {
 
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("nav", "div");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         String tagName = element.tagName().toLowerCase();
@@ -50,7 +56,7 @@ public class TabNavigationHandler implements TagHandler {
     public UIElementBuilder<?> handle(Element element, HtmlParser parser) {
         TabNavigationBuilder builder = TabNavigationBuilder.tabNavigation();
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
 
         String selectedTabId = element.hasAttr("data-selected") ? element.attr("data-selected").trim() : null;
         if (selectedTabId != null && selectedTabId.isBlank()) {
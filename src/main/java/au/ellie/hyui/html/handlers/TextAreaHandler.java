@@ -10,8 +10,14 @@ import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class TextAreaHandler implements TagHandler {
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("textarea");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("textarea");
@@ -21,7 +27,7 @@ public class TextAreaHandler implements TagHandler {
     public UIElementBuilder<?> handle(Element element, HtmlParser parser) {
         TextFieldBuilder builder = TextFieldBuilder.multilineTextField();
         applyTextAreaAttributes(builder, element);
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
         return builder;
     }
 
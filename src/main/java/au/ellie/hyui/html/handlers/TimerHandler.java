@@ -7,6 +7,8 @@ import au.ellie.hyui.html.TagHandler;
 import au.ellie.hyui.utils.ParseUtils;
 import org.jsoup.nodes.Element;
 
+import java.util.Set;
+
 /**
  * Handler for timer elements in HYUIML.
  *
@@ -23,6 +25,11 @@ import org.jsoup.nodes.Element;
  */
 public class TimerHandler implements TagHandler {
 
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of("timer", "span");
+    }
+
     @Override
     public boolean canHandle(Element element) {
         return element.tagName().equalsIgnoreCase("timer") ||
@@ -33,7 +40,7 @@ public class TimerHandler implements TagHandler {
     public UIElementBuilder<?> handle(Element element, HtmlParser parser) {
         TimerLabelBuilder builder = TimerLabelBuilder.timerLabel();
 
-        applyCommonAttributes(builder, element);
+        applyCommonAttributes(builder, element, parser);
 
         // Parse time value
         if (element.hasAttr("value")) {
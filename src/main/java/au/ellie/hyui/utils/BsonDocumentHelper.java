@@ -46,6 +46,38 @@ public final class BsonDocumentHelper {
         return this;
     }
 
+    /**
+     * Sets a raw style value. Strings, booleans and numbers keep their type; anything else is sent as its
+     * string form. A dotted key such as {@code Background.Color} is set inside nested documents.
+     */
+    public BsonDocumentHelper setRaw(String key, Object value) {
+        BsonValue bsonValue = switch (value) {
+            case String s -> new BsonString(s);
+            case Boolean b -> new BsonBoolean(b);
+            case Integer i -> new BsonInt32(i);
+            case Double d -> new BsonDouble(d);
+            case Float f -> new BsonDouble(f);
+            case null, default -> new BsonString(String.valueOf(value));
+        };
+
+        BsonDocument target = document;
+        int start = 0;
+        int dot;
+        while ((dot = key.indexOf('.', start)) >= 0) {
+            String part = key.substring(start, dot);
+            if (target.get(part) instanceof BsonDocument nested) {
+                target = nested;
+            } else {
+                BsonDocument nested = new BsonDocument();
+                target.put(part, nested);
+                target = nested;
+            }
+            start = dot + 1;
+        }
+        target.put(key.substring(start), bsonValue);
+        return this;
+    }
+
     public BsonDocument getDocument() {
         return document;
     }
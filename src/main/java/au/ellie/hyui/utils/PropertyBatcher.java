@@ -1,6 +1,7 @@
 package au.ellie.hyui.utils;
 
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import org.bson.BsonDocument;
 import org.bson.BsonValue;
 
 import java.lang.reflect.Method;
@@ -33,12 +34,19 @@ public final class PropertyBatcher {
      * Submits a collected batch of properties to the specified UI element.
      */
     public static void endSet(String targetSelector, BsonDocumentHelper helper, UICommandBuilder builder) {
+        set(targetSelector, helper.getDocument(), builder);
+    }
+
+    /**
+     * Submits an already built document to the specified UI element.
+     */
+    public static void set(String targetSelector, BsonDocument document, UICommandBuilder builder) {
         // Make sure to not set an empty doc.
-        if (helper.getDocument().isEmpty()) {
+        if (document.isEmpty()) {
             return;
         }
         try {
-            INTERNAL_SETTER.invoke(builder, targetSelector, helper.getDocument());
+            INTERNAL_SETTER.invoke(builder, targetSelector, document);
         } catch (Exception e) {
             throw new RuntimeException("Failed to apply BSON styles to " + targetSelector, e);
         }